@@ -0,0 +1,74 @@
+#!/usr/bin/env python3
+"""Compares two JMH JSON results and flags regressions.
+
+Usage: compare-benchmarks.py BASELINE.json CANDIDATE.json [--threshold PERCENT]
+
+A benchmark regresses when its score is worse than the baseline by more than the
+threshold (10% by default) and the two 99.9% confidence intervals do not overlap,
+so single noisy iterations are not reported. Throughput modes are better when higher,
+time modes when lower. Exits with status 1 if any benchmark regressed.
+"""
+import argparse
+import json
+import math
+import sys
+
+HIGHER_IS_BETTER = {"thrpt"}
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for result in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(result.get("params", {}).items()))
+            name = result["benchmark"].removeprefix("benchmarks.")
+            results[f"{name}({params})" if params else name] = result
+        return results
+
+
+def interval(metric):
+    low, high = (float(bound) for bound in metric["scoreConfidence"])
+    if math.isnan(low) or math.isnan(high):
+        return metric["score"], metric["score"]
+    return low, high
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flags JMH regressions between two result files.")
+    parser.add_argument("baseline")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=10.0, help="tolerated slowdown in percent")
+    args = parser.parse_args()
+
+    baseline, candidate = load(args.baseline), load(args.candidate)
+    regressions = 0
+    print(f"{'Benchmark':<70} {'Baseline':>14} {'Candidate':>14} {'Change':>9}")
+    for name in sorted(baseline.keys() | candidate.keys()):
+        if name not in candidate or name not in baseline:
+            print(f"{name:<70} {'only in ' + ('baseline' if name in baseline else 'candidate'):>39}")
+            continue
+        base, cand = baseline[name]["primaryMetric"], candidate[name]["primaryMetric"]
+        if base["scoreUnit"] != cand["scoreUnit"]:
+            print(f"{name:<70} units differ: {base['scoreUnit']} / {cand['scoreUnit']}")
+            continue
+        higher_is_better = candidate[name]["mode"] in HIGHER_IS_BETTER
+        change = (cand["score"] - base["score"]) / base["score"] * 100
+        worse_by = -change if higher_is_better else change
+        base_low, base_high = interval(base)
+        cand_low, cand_high = interval(cand)
+        overlap = cand_low <= base_high and base_low <= cand_high
+        regressed = worse_by > args.threshold and not overlap
+        regressions += regressed
+        unit = cand["scoreUnit"]
+        print(f"{name:<70} {base['score']:>8.3f} {unit:<5} {cand['score']:>8.3f} {unit:<5} {change:>+8.1f}%"
+              + ("  REGRESSION" if regressed else ""))
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        return 1
+    print(f"\nNo regression above {args.threshold:g}%")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
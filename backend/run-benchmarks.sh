@@ -0,0 +1,39 @@
+#!/bin/bash
+# Runs the JMH microbenchmarks and keeps their JSON results per commit.
+#
+# usage: ./run-benchmarks.sh [--against <git ref>] [JMH options, e.g. "ImageUrl -f 2"]
+# Results go to benchmark-results/<commit>.json. With --against, they are compared
+# to the results already recorded for that commit, and the script fails on a regression.
+set -e
+
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+cd "$(dirname "$0")"
+
+BASELINE=""
+if [ "$1" == "--against" ]; then
+  BASELINE=$(git rev-parse --short "$2")
+  shift 2
+fi
+
+COMMIT=$(git rev-parse --short HEAD)
+if [ -n "$(git status --porcelain -- src pom.xml)" ]; then
+  COMMIT="${COMMIT}-dirty"
+fi
+mkdir -p benchmark-results
+
+echo -e "${YELLOW}Exécution des benchmarks JMH pour ${COMMIT}...${NC}"
+./mvnw -B -q -Pjmh verify -Djmh.args="$*"
+cp target/jmh-result.json "benchmark-results/${COMMIT}.json"
+echo -e "${GREEN}✓ Résultats enregistrés dans benchmark-results/${COMMIT}.json${NC}"
+
+if [ -n "$BASELINE" ]; then
+  if [ ! -f "benchmark-results/${BASELINE}.json" ]; then
+    echo -e "${RED}Aucun résultat pour ${BASELINE}: lancer d'abord les benchmarks sur ce commit${NC}"
+    exit 1
+  fi
+  python3 compare-benchmarks.py "benchmark-results/${BASELINE}.json" "benchmark-results/${COMMIT}.json"
+fi
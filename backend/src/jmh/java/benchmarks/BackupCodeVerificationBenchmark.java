@@ -0,0 +1,83 @@
+package benchmarks;
+
+import com.example.exoExplorer.entities.TwoFactorBackupCode;
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.otp.BackupCodeTagger;
+import com.example.exoExplorer.repositories.TwoFactorBackupCodeRepository;
+import com.example.exoExplorer.services.PasswordHashingService;
+import com.example.exoExplorer.strategy.BackupCodeVerificationStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mindrot.jbcrypt.BCrypt;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Backup code verification with the production BCrypt cost: a code found by its lookup tag
+ * costs one check, a code generated before tags existed costs one check per untagged code
+ * scanned while such codes are still accepted. The repository is an in-memory stub, so only the verification itself is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BackupCodeVerificationBenchmark {
+
+    private static final int CODES = 10;
+
+    private BackupCodeVerificationStrategy strategy;
+    private PasswordHashingService passwordHashingService;
+    private User user;
+    private TwoFactorBackupCode taggedCode;
+    private List<TwoFactorBackupCode> untaggedCodes;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        BackupCodeTagger tagger = new BackupCodeTagger("BenchmarkSecretKeyWithAtLeast256BitsForHMACSHA256",
+                LocalDate.MAX, Clock.systemUTC());
+        passwordHashingService = new PasswordHashingService(0, 32, 2000, 1, new SimpleMeterRegistry());
+
+        taggedCode = new TwoFactorBackupCode(1, BCrypt.hashpw("12345678", BCrypt.gensalt()), false, user);
+        untaggedCodes = new ArrayList<>(CODES);
+        for (int i = 0; i < CODES; i++) {
+            untaggedCodes.add(new TwoFactorBackupCode(i + 2, BCrypt.hashpw("8765432" + i, BCrypt.gensalt()), false, user));
+        }
+
+        TwoFactorBackupCodeRepository repository = Mockito.mock(TwoFactorBackupCodeRepository.class);
+        when(repository.findByUserIdAndLookupTag(anyLong(), anyString())).thenReturn(Optional.empty());
+        when(repository.findByUserIdAndLookupTag(1L, tagger.tag(1L, "12345678"))).thenReturn(Optional.of(taggedCode));
+        when(repository.findUnusedUntaggedByUserId(1L)).thenReturn(untaggedCodes);
+        strategy = new BackupCodeVerificationStrategy(repository, tagger, passwordHashingService);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Benchmark
+    public void tagged() {
+        taggedCode.setUsed(false);
+        strategy.verify(user, "12345678");
+    }
+
+    @Benchmark
+    public void untaggedLastOfTen() {
+        untaggedCodes.get(CODES - 1).setUsed(false);
+        strategy.verify(user, "8765432" + (CODES - 1));
+    }
+}
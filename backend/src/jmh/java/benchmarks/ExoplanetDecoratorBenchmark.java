@@ -0,0 +1,49 @@
+package benchmarks;
+
+import com.example.exoExplorer.decorator.ExoplanetComponent;
+import com.example.exoExplorer.decorator.ExoplanetDecoratorFactory;
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detail view decoration: building the fully featured decorator chain, and its description,
+ * which each decorator extends with its own computed section.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExoplanetDecoratorBenchmark {
+
+    private static final int PLANETS = 1024;
+
+    private Exoplanet[] exoplanets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        exoplanets = new Exoplanet[PLANETS];
+        for (int i = 0; i < PLANETS; i++) {
+            exoplanets[i] = SyntheticExoplanetFactory.create(SyntheticExoplanetFactory.Distribution.REALISTIC, 42, i);
+        }
+    }
+
+    @Benchmark
+    public ExoplanetComponent createFullyFeatured() {
+        return ExoplanetDecoratorFactory.createFullyFeatured(nextExoplanet(), 0.1f);
+    }
+
+    @Benchmark
+    public String createFullyFeaturedAndDescribe() {
+        return ExoplanetDecoratorFactory.createFullyFeatured(nextExoplanet(), 0.1f).getDescription();
+    }
+
+    private Exoplanet nextExoplanet() {
+        return exoplanets[next++ & (PLANETS - 1)];
+    }
+}
@@ -0,0 +1,120 @@
+package benchmarks;
+
+import com.example.exoExplorer.entities.IdSequences;
+import jakarta.persistence.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting a block of rows with IDENTITY columns versus pooled sequences.
+ * IDENTITY forces one round trip per insert, so Hibernate cannot batch them;
+ * pooled sequences need one nextval per block and let inserts go out in JDBC batches.
+ * The statements each insert prepares are reported next to the time, as a secondary result.
+ * Runs on a standalone H2 persistence unit, outside the application context.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private static final int ROWS = 1_000;
+    private static final int BATCH_SIZE = IdSequences.ALLOCATION_SIZE;
+
+    @Entity(name = "IdentityRow")
+    public static class IdentityRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        Long id;
+        String name;
+    }
+
+    @Entity(name = "PooledRow")
+    public static class PooledRow {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pooled_row_seq")
+        @SequenceGenerator(name = "pooled_row_seq", sequenceName = "pooled_row_seq", allocationSize = BATCH_SIZE)
+        Long id;
+        String name;
+    }
+
+    /**
+     * Statements prepared by the last invocation; every invocation prepares the same number.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Param({"IDENTITY", "SEQUENCE"})
+    private String generation;
+
+    private LocalContainerEntityManagerFactoryBean factoryBean;
+    private EntityManagerFactory emf;
+    private Statistics statistics;
+
+    @Setup
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:idbench;DB_CLOSE_DELAY=-1", "sa", "");
+        factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(dataSource);
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setManagedTypes(PersistenceManagedTypes.of(IdentityRow.class.getName(), PooledRow.class.getName()));
+        factoryBean.setJpaPropertyMap(Map.of(
+                "hibernate.hbm2ddl.auto", "create-drop",
+                "hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE),
+                "hibernate.order_inserts", "true",
+                "hibernate.generate_statistics", "true",
+                "hibernate.session.events.log", "false"));
+        factoryBean.afterPropertiesSet();
+        emf = factoryBean.getObject();
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        factoryBean.destroy();
+    }
+
+    @Benchmark
+    public void insertRows(Statements counters) {
+        long before = statistics.getPrepareStatementCount();
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            for (int i = 0; i < ROWS; i++) {
+                em.persist(newRow("row-" + i));
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+        } finally {
+            em.close();
+        }
+        counters.statements = statistics.getPrepareStatementCount() - before;
+    }
+
+    private Object newRow(String name) {
+        if (generation.equals("IDENTITY")) {
+            IdentityRow row = new IdentityRow();
+            row.name = name;
+            return row;
+        }
+        PooledRow row = new PooledRow();
+        row.name = name;
+        return row;
+    }
+}
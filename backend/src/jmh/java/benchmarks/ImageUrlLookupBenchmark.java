@@ -0,0 +1,50 @@
+package benchmarks;
+
+import com.example.exoExplorer.services.ExoplanetImageService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Image URL lookups through the compiled index, for names it holds, names differing only
+ * by case, and unknown names.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageUrlLookupBenchmark {
+
+    private static final String[] KNOWN = {"Kepler-22b", "TRAPPIST-1e", "Proxima Centauri b", "K2-18b"};
+    private static final String[] OTHER_CASE = {"kepler-22b", "trappist-1E", "PROXIMA CENTAURI B", "k2-18B"};
+    private static final String[] UNKNOWN = {"Synth-42-1", "Kepler-0z", "Unknown planet", "TRAPPIST-1z"};
+
+    private ExoplanetImageService imageService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        imageService = new ExoplanetImageService();
+        imageService.loadImages();
+        if (imageService.getImageUrl(KNOWN[0]) == null) {
+            throw new IllegalStateException("Image mappings not loaded");
+        }
+    }
+
+    @Benchmark
+    public String hit() {
+        return imageService.getImageUrl(KNOWN[next++ & 3]);
+    }
+
+    @Benchmark
+    public String hitOtherCase() {
+        return imageService.getImageUrl(OTHER_CASE[next++ & 3]);
+    }
+
+    @Benchmark
+    public String miss() {
+        return imageService.getImageUrl(UNKNOWN[next++ & 3]);
+    }
+}
@@ -0,0 +1,73 @@
+package benchmarks;
+
+import com.example.exoExplorer.decorator.ExoplanetComponent;
+import com.example.exoExplorer.decorator.ExoplanetDecoratorFactory;
+import com.example.exoExplorer.dto.ExoplanetSummaryDTO;
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization with an object mapper configured like the application's:
+ * a page of exoplanet summaries, whose image URLs are expanded from the dictionary
+ * while writing, and the decorated detail view.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    /**
+     * A page of summaries, as returned by {@code GET /api/exoplanets/summary}.
+     */
+    @State(Scope.Benchmark)
+    public static class SummaryPage {
+        @Param({"10", "100"})
+        private int pageSize;
+
+        private Page<ExoplanetSummaryDTO> page;
+
+        @Setup
+        public void setUp() {
+            List<ExoplanetSummaryDTO> summaries = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                Exoplanet exoplanet = SyntheticExoplanetFactory.create(SyntheticExoplanetFactory.Distribution.REALISTIC, 42, i);
+                summaries.add(new ExoplanetSummaryDTO(i + 1, exoplanet.getName(), exoplanet.getImageExo()));
+            }
+            page = new PageImpl<>(summaries, PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id")), 5_000);
+        }
+    }
+
+    private ObjectMapper objectMapper;
+    private ExoplanetComponent detail;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        detail = ExoplanetDecoratorFactory.createFullyFeatured(
+                SyntheticExoplanetFactory.create(SyntheticExoplanetFactory.Distribution.REALISTIC, 42, 0), 0.1f);
+    }
+
+    @Benchmark
+    public byte[] summaryPage(SummaryPage summaryPage) throws Exception {
+        return objectMapper.writeValueAsBytes(summaryPage.page);
+    }
+
+    @Benchmark
+    public byte[] detailView() throws Exception {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+}
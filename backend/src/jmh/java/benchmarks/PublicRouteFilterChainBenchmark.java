@@ -0,0 +1,104 @@
+package benchmarks;
+
+import com.example.exoExplorer.ExoExplorerApplication;
+import com.example.exoExplorer.services.TokenService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.SecurityFilterChain;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Anonymous catalog reads carrying a bearer token. The main chain runs the resource-server
+ * filter, which decodes the token on every request; the public catalog chain defers that
+ * until the principal is read. Tokens rotate through a set larger than the verified token
+ * cache, shrunk for the run, so the main chain verifies every signature.
+ * Both chains come from the application context of the test profile and are driven with
+ * mock requests, without a servlet container.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublicRouteFilterChainBenchmark {
+
+    private static final String PATH = "/api/exoplanets/summary";
+    private static final int TOKENS = 4_096;
+
+    private static final HttpServlet ENDPOINT = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+            resp.setStatus(200);
+        }
+    };
+
+    private ConfigurableApplicationContext context;
+    private Filter[] mainChain;
+    private Filter[] publicCatalogChain;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Arguments override application.properties; security debug logging would dominate both chains
+        context = new SpringApplicationBuilder(ExoExplorerApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--jwt.cache.max-size=16",
+                        "--logging.level.org.springframework.security=INFO",
+                        "--logging.level.org.springframework.security.oauth2=INFO",
+                        "--logging.level.com.example.exoExplorer=INFO");
+        mainChain = filters("filterChain");
+        publicCatalogChain = filters("publicCatalogFilterChain");
+
+        TokenService tokenService = context.getBean(TokenService.class);
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = tokenService.generateToken(Map.of("roles", List.of("ROLE_USER")), "bench" + i + "@example.com");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int resourceServerChain() throws Exception {
+        return run(mainChain, nextToken());
+    }
+
+    @Benchmark
+    public int publicCatalogChain() throws Exception {
+        return run(publicCatalogChain, nextToken());
+    }
+
+    private Filter[] filters(String chain) {
+        return context.getBean(chain, SecurityFilterChain.class).getFilters().toArray(new Filter[0]);
+    }
+
+    private String nextToken() {
+        return tokens[next++ & (TOKENS - 1)];
+    }
+
+    private static int run(Filter[] chain, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(ENDPOINT, chain).doFilter(request, response);
+        return response.getStatus();
+    }
+}
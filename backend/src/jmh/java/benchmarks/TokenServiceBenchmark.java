@@ -0,0 +1,81 @@
+package benchmarks;
+
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.PrincipalCache;
+import com.example.exoExplorer.services.TokenService;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JWT issuance and parsing: {@link TokenService#generateToken(String)} with roles taken
+ * from a primed principal cache, and {@link TokenService#extractUsername(String)} for a
+ * token already verified and for tokens the verified token cache cannot hold, which are
+ * parsed and their signature checked on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenServiceBenchmark {
+
+    private static final String EMAIL = "bench@example.com";
+
+    private static final int UNCACHED_TOKENS = 8;
+
+    private TokenService tokenService;
+    private TokenService uncachedTokenService;
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        user.setPassword("hash");
+        PrincipalCache principalCache = new PrincipalCache(Mockito.mock(UserRepository.class), 3600, 16);
+        principalCache.put(user);
+
+        tokenService = tokenService(principalCache, 10_000);
+        token = tokenService.generateToken(EMAIL);
+
+        // A single cache slot for several tokens: every lookup misses
+        uncachedTokenService = tokenService(principalCache, 1);
+        uncachedTokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            uncachedTokens[i] = uncachedTokenService.generateToken(Map.of("n", i), EMAIL);
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(EMAIL);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return tokenService.extractUsername(token);
+    }
+
+    @Benchmark
+    public String extractUsernameUncached() {
+        return uncachedTokenService.extractUsername(uncachedTokens[next++ & (UNCACHED_TOKENS - 1)]);
+    }
+
+    private static TokenService tokenService(PrincipalCache principalCache, int cacheMaxSize) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "secretKey", "BenchmarkSecretKeyWithAtLeast256BitsForHMACSHA256");
+        ReflectionTestUtils.setField(service, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", cacheMaxSize);
+        ReflectionTestUtils.setField(service, "principalCache", principalCache);
+        return service;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.exoExplorer.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch over int keys.
+ * <p>
+ * {@code depth} rows of {@code width} counters; a key adds to one counter per row and its
+ * estimate is the smallest of them, which never undercounts and overcounts by about
+ * {@code total / width} in the worst row. Counters are atomic, so concurrent adds need no
+ * lock. Row hashes use fixed seeds, so sketches of the same dimensions built on different
+ * replicas can be merged by adding their counters.
+ */
+final class CountMinSketch {
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth Number of rows, at most 8
+     * @param width Counters per row, rounded up to a power of two
+     */
+    CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("Sketch depth must be between 1 and " + SEEDS.length);
+        }
+        this.depth = depth;
+        this.width = width <= 1 ? 2 : Integer.highestOneBit(width - 1) << 1;
+        this.mask = this.width - 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    /**
+     * Adds to the count of a key.
+     */
+    void add(int key, long count) {
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(index(row, key), count);
+        }
+    }
+
+    /**
+     * @return Estimated count of a key, never below the true count
+     */
+    long estimate(int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, key)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Resets every counter.
+     */
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    /**
+     * Adds this sketch's counters into an array laid out like {@link #toArray()}.
+     */
+    void addTo(long[] target) {
+        for (int i = 0; i < counters.length(); i++) {
+            target[i] += counters.get(i);
+        }
+    }
+
+    /**
+     * @return A copy of the counters, row after row
+     */
+    long[] toArray() {
+        long[] copy = new long[counters.length()];
+        addTo(copy);
+        return copy;
+    }
+
+    int depth() {
+        return depth;
+    }
+
+    int width() {
+        return width;
+    }
+
+    /**
+     * Estimates a key from counters laid out like {@link #toArray()}.
+     */
+    static long estimate(long[] counters, int depth, int width, int key) {
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + (hash(row, key) & (width - 1))]);
+        }
+        return estimate;
+    }
+
+    private int index(int row, int key) {
+        return row * width + (hash(row, key) & mask);
+    }
+
+    private static int hash(int row, int key) {
+        long h = (key ^ SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 31;
+        h *= 0x94D049BB133111EBL;
+        return (int) (h ^ (h >>> 29));
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.exoExplorer.analytics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Favorite added/removed counts per exoplanet, in a fixed-size open-addressing table.
+ * <p>
+ * Keys are claimed with a CAS on an empty slot and never removed, so lookups are a few
+ * array reads and counting never allocates. Once the table is full, exoplanets seen for the
+ * first time are not tracked and {@link #increment} reports it.
+ */
+final class ExoplanetCounters {
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int ADDED = 0;
+    private static final int REMOVED = 1;
+
+    private final AtomicIntegerArray keys;
+    private final AtomicLongArray counts;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * @param capacity Maximum exoplanets tracked, rounded up to a power of two
+     */
+    ExoplanetCounters(int capacity) {
+        int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.keys = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            keys.set(i, EMPTY);
+        }
+        this.counts = new AtomicLongArray(size * 2);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Counts a favorite added or removed.
+     *
+     * @return False if the exoplanet could not be tracked because the table is full
+     */
+    boolean increment(int exoplanetId, boolean added) {
+        int slot = slot(exoplanetId);
+        if (slot < 0) {
+            return false;
+        }
+        counts.incrementAndGet(slot * 2 + (added ? ADDED : REMOVED));
+        return true;
+    }
+
+    /**
+     * @return Counts of one exoplanet, zero if it was never seen
+     */
+    FavoriteCount get(int exoplanetId) {
+        int index = mix(exoplanetId) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            int key = keys.get(index);
+            if (key == exoplanetId) {
+                return new FavoriteCount(exoplanetId, counts.get(index * 2 + ADDED), counts.get(index * 2 + REMOVED));
+            }
+            if (key == EMPTY) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+        return new FavoriteCount(exoplanetId, 0, 0);
+    }
+
+    /**
+     * @param limit Maximum number of exoplanets returned
+     * @return The most added exoplanets, most added first
+     */
+    List<FavoriteCount> top(int limit) {
+        Comparator<FavoriteCount> byAdded = Comparator.comparingLong(FavoriteCount::added).thenComparingLong(count -> -count.exoplanetId());
+        PriorityQueue<FavoriteCount> heap = new PriorityQueue<>(Math.max(1, limit), byAdded);
+        for (int index = 0; index <= mask && limit > 0; index++) {
+            int key = keys.get(index);
+            if (key == EMPTY) {
+                continue;
+            }
+            FavoriteCount count = new FavoriteCount(key, counts.get(index * 2 + ADDED), counts.get(index * 2 + REMOVED));
+            if (heap.size() < limit) {
+                heap.add(count);
+            } else if (byAdded.compare(count, heap.peek()) > 0) {
+                heap.poll();
+                heap.add(count);
+            }
+        }
+        List<FavoriteCount> top = new ArrayList<>(heap);
+        top.sort(byAdded.reversed());
+        return top;
+    }
+
+    /**
+     * @return Number of exoplanets tracked
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * @return Maximum number of exoplanets tracked
+     */
+    int capacity() {
+        return mask + 1;
+    }
+
+    private int slot(int exoplanetId) {
+        int index = mix(exoplanetId) & mask;
+        for (int probe = 0; probe <= mask; probe++) {
+            int key = keys.get(index);
+            if (key == exoplanetId) {
+                return index;
+            }
+            if (key == EMPTY) {
+                if (keys.compareAndSet(index, EMPTY, exoplanetId)) {
+                    size.incrementAndGet();
+                    return index;
+                }
+                // Lost the slot to another id, or to the same one
+                if (keys.get(index) == exoplanetId) {
+                    return index;
+                }
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.exoExplorer.analytics;
+
+/**
+ * Favorite counts of one exoplanet.
+ *
+ * @param exoplanetId The exoplanet id
+ * @param added Times it was added to favorites
+ * @param removed Times it was removed from favorites
+ */
+public record FavoriteCount(int exoplanetId, long added, long removed) {
+}
@@ -0,0 +1,97 @@
+package com.example.exoExplorer.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-type event counts over a ring of time buckets.
+ * <p>
+ * Each slot of the ring remembers which bucket (time divided by the bucket width) it
+ * currently holds. The first increment of a new bucket claims the slot with a CAS on that
+ * stamp and zeroes it, so old buckets are recycled without a lock or a timer. An increment
+ * racing with the recycling of its own slot can be lost; events are recorded from a single
+ * observer thread, where that cannot happen.
+ */
+final class RollingCounters {
+    private final Rollup rollup;
+    private final int types;
+    private final AtomicLongArray stamps;
+    private final AtomicLongArray counts;
+
+    /**
+     * @param rollup Bucket width and count
+     * @param types Number of event types
+     */
+    RollingCounters(Rollup rollup, int types) {
+        this.rollup = rollup;
+        this.types = types;
+        this.stamps = new AtomicLongArray(rollup.buckets());
+        for (int i = 0; i < rollup.buckets(); i++) {
+            stamps.set(i, -1);
+        }
+        this.counts = new AtomicLongArray(rollup.buckets() * types);
+    }
+
+    /**
+     * Counts one event.
+     *
+     * @param type Event type index
+     * @param nowMillis Event time
+     */
+    void increment(int type, long nowMillis) {
+        long bucket = nowMillis / rollup.bucketMillis();
+        int slot = (int) (bucket % rollup.buckets());
+        while (true) {
+            long stamp = stamps.get(slot);
+            if (stamp == bucket) {
+                break;
+            }
+            if (stamp > bucket) {
+                // Older than anything this slot can still hold
+                return;
+            }
+            if (stamps.compareAndSet(slot, stamp, bucket)) {
+                for (int i = 0; i < types; i++) {
+                    counts.set(slot * types + i, 0);
+                }
+                break;
+            }
+        }
+        counts.incrementAndGet(slot * types + type);
+    }
+
+    /**
+     * Reads the ring, oldest bucket first, ending with the bucket containing {@code nowMillis}.
+     *
+     * @return Counts indexed by bucket then type, zero for buckets without events
+     */
+    long[][] read(long nowMillis) {
+        long current = nowMillis / rollup.bucketMillis();
+        long[][] series = new long[rollup.buckets()][types];
+        for (int i = 0; i < rollup.buckets(); i++) {
+            long bucket = current - rollup.buckets() + 1 + i;
+            if (bucket < 0) {
+                continue;
+            }
+            int slot = (int) (bucket % rollup.buckets());
+            if (stamps.get(slot) != bucket) {
+                continue;
+            }
+            for (int type = 0; type < types; type++) {
+                series[i][type] = counts.get(slot * types + type);
+            }
+            if (stamps.get(slot) != bucket) {
+                // Recycled while reading
+                series[i] = new long[types];
+            }
+        }
+        return series;
+    }
+
+    /**
+     * @return Start of the oldest bucket returned by {@link #read(long)}
+     */
+    long start(long nowMillis) {
+        long current = nowMillis / rollup.bucketMillis();
+        return (current - rollup.buckets() + 1) * rollup.bucketMillis();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.exoExplorer.analytics;
+
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Time resolutions of the analytics rollups, each kept as a ring of buckets.
+ */
+public enum Rollup {
+    MINUTE(60_000L, 60),
+    HOUR(3_600_000L, 48),
+    DAY(86_400_000L, 30);
+
+    private final long bucketMillis;
+    private final int buckets;
+
+    Rollup(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @return Width of one bucket
+     */
+    public long bucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return Number of buckets kept, the current one included
+     */
+    public int buckets() {
+        return buckets;
+    }
+
+    /**
+     * Parses a rollup name, ignoring case.
+     *
+     * @throws InvalidRequestException If no rollup has that name
+     */
+    public static Rollup parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Résolution inconnue : " + name + " (minute, hour ou day)");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.exoExplorer.analytics;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Heavy hitters over a sliding window: a ring of buckets, each a count-min sketch plus a
+ * fixed set of candidate keys.
+ * <p>
+ * Candidates follow the space-saving rule: a key that is not a candidate takes the place of
+ * the candidate with the smallest count once its own count is larger. Counts come from the
+ * bucket's sketch rather than from per-candidate counters, so a candidate swap is a single
+ * CAS on its slot. Each bucket caches a lower bound of its smallest candidate count, so most
+ * adds of keys that are not heavy stop after one comparison. Buckets are recycled like
+ * {@link RollingCounters}: the first add of a new bucket claims the slot and clears it, and
+ * adds racing with that clear may be lost, which only blurs an estimate.
+ */
+final class SlidingSketch {
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private static final class Bucket {
+        private final CountMinSketch sketch;
+        private final AtomicIntegerArray candidates;
+        private volatile long threshold;
+
+        private Bucket(int depth, int width, int candidateCount) {
+            this.sketch = new CountMinSketch(depth, width);
+            this.candidates = new AtomicIntegerArray(candidateCount);
+            clear();
+        }
+
+        private void clear() {
+            sketch.clear();
+            for (int i = 0; i < candidates.length(); i++) {
+                candidates.set(i, EMPTY);
+            }
+            threshold = 0;
+        }
+
+        private void add(int key, long weight) {
+            sketch.add(key, weight);
+            long estimate = sketch.estimate(key);
+            if (estimate <= threshold) {
+                return;
+            }
+
+            int minimumSlot = -1;
+            long minimum = Long.MAX_VALUE;
+            for (int i = 0; i < candidates.length(); i++) {
+                int candidate = candidates.get(i);
+                if (candidate == key) {
+                    return;
+                }
+                long count = candidate == EMPTY ? 0 : sketch.estimate(candidate);
+                if (count < minimum) {
+                    minimum = count;
+                    minimumSlot = i;
+                }
+            }
+            if (estimate > minimum) {
+                int evicted = candidates.get(minimumSlot);
+                // Losing the race to another key is fine, this one will be offered again on its next add
+                candidates.compareAndSet(minimumSlot, evicted, key);
+            } else {
+                threshold = minimum;
+            }
+        }
+    }
+
+    private final TrendingWindow window;
+    private final Bucket[] buckets;
+    private final AtomicLongArray stamps;
+
+    /**
+     * @param window Window length and bucket width
+     * @param depth Rows of each bucket sketch
+     * @param width Counters per row of each bucket sketch
+     * @param candidateCount Candidate keys kept per bucket
+     */
+    SlidingSketch(TrendingWindow window, int depth, int width, int candidateCount) {
+        this.window = window;
+        this.buckets = new Bucket[window.buckets()];
+        this.stamps = new AtomicLongArray(window.buckets());
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new Bucket(depth, width, candidateCount);
+            stamps.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds to the count of a key in the current bucket.
+     */
+    void add(int key, long weight, long nowMillis) {
+        long bucket = nowMillis / window.bucketMillis();
+        int slot = (int) (bucket % buckets.length);
+        while (true) {
+            long stamp = stamps.get(slot);
+            if (stamp == bucket) {
+                break;
+            }
+            if (stamp > bucket) {
+                return;
+            }
+            if (stamps.compareAndSet(slot, stamp, bucket)) {
+                buckets[slot].clear();
+                break;
+            }
+        }
+        buckets[slot].add(key, weight);
+    }
+
+    /**
+     * Empties every bucket. Adds racing with the clear may survive it.
+     */
+    void clear() {
+        for (int slot = 0; slot < buckets.length; slot++) {
+            stamps.set(slot, -1);
+            buckets[slot].clear();
+        }
+    }
+
+    /**
+     * Merges the buckets still inside the window.
+     */
+    TrendingSnapshot snapshot(long nowMillis) {
+        CountMinSketch first = buckets[0].sketch;
+        long[] counters = new long[first.depth() * first.width()];
+        Set<Integer> candidates = new LinkedHashSet<>();
+        long current = nowMillis / window.bucketMillis();
+        for (int slot = 0; slot < buckets.length; slot++) {
+            long stamp = stamps.get(slot);
+            if (stamp < 0 || stamp > current || stamp <= current - buckets.length) {
+                continue;
+            }
+            buckets[slot].sketch.addTo(counters);
+            for (int i = 0; i < buckets[slot].candidates.length(); i++) {
+                int candidate = buckets[slot].candidates.get(i);
+                if (candidate != EMPTY) {
+                    candidates.add(candidate);
+                }
+            }
+        }
+        return new TrendingSnapshot(window, first.depth(), first.width(), counters,
+                candidates.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
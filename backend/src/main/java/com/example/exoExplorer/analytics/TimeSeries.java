@@ -0,0 +1,14 @@
+package com.example.exoExplorer.analytics;
+
+import java.util.Map;
+
+/**
+ * Event counts per bucket of a rollup, oldest bucket first.
+ *
+ * @param rollup The rollup resolution
+ * @param startMillis Start of the first bucket, in epoch milliseconds
+ * @param bucketMillis Width of a bucket
+ * @param counts Counts per bucket for each event type
+ */
+public record TimeSeries(Rollup rollup, long startMillis, long bucketMillis, Map<String, long[]> counts) {
+}
@@ -0,0 +1,10 @@
+package com.example.exoExplorer.analytics;
+
+/**
+ * A trending exoplanet.
+ *
+ * @param exoplanetId The exoplanet id
+ * @param score Estimated weighted views and favorites over the window, never underestimated
+ */
+public record TrendingExoplanet(int exoplanetId, long score) {
+}
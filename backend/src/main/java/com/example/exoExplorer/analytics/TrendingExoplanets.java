@@ -0,0 +1,91 @@
+package com.example.exoExplorer.analytics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Trending exoplanets over the last hour, day and week.
+ * <p>
+ * Detail views and favorites added feed one {@link SlidingSketch} per window, a favorite
+ * weighing {@code app.trending.favorite-weight} views. Nothing is written to the database and
+ * memory is fixed by the sketch dimensions: with the defaults, 64 buckets of 4 x 1024
+ * counters, about 2 MB whatever the catalog size or traffic. Scores are estimates that may
+ * run high for exoplanets colliding with heavier ones, which only matters far below the top.
+ */
+@Component
+public class TrendingExoplanets {
+    private final SlidingSketch[] windows = new SlidingSketch[TrendingWindow.values().length];
+    private final long favoriteWeight;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TrendingExoplanets(@Value("${app.trending.sketch-depth:4}") int depth,
+                              @Value("${app.trending.sketch-width:1024}") int width,
+                              @Value("${app.trending.candidates:32}") int candidates,
+                              @Value("${app.trending.favorite-weight:5}") long favoriteWeight) {
+        this(depth, width, candidates, favoriteWeight, System::currentTimeMillis);
+    }
+
+    TrendingExoplanets(int depth, int width, int candidates, long favoriteWeight, LongSupplier clock) {
+        for (TrendingWindow window : TrendingWindow.values()) {
+            windows[window.ordinal()] = new SlidingSketch(window, depth, width, candidates);
+        }
+        this.favoriteWeight = favoriteWeight;
+        this.clock = clock;
+    }
+
+    /**
+     * Counts a view of an exoplanet's details.
+     *
+     * @param exoplanetId The exoplanet id
+     */
+    public void recordView(int exoplanetId) {
+        add(exoplanetId, 1);
+    }
+
+    /**
+     * Counts an exoplanet added to favorites.
+     *
+     * @param exoplanetId The exoplanet id
+     */
+    public void recordFavorite(int exoplanetId) {
+        add(exoplanetId, favoriteWeight);
+    }
+
+    /**
+     * @param window The window
+     * @param limit Maximum number of exoplanets returned
+     * @return The exoplanets with the highest scores over the window, highest first
+     */
+    public List<TrendingExoplanet> top(TrendingWindow window, int limit) {
+        return snapshot(window).top(limit);
+    }
+
+    /**
+     * @param window The window
+     * @return This instance's state for the window, to merge with other replicas'
+     */
+    public TrendingSnapshot snapshot(TrendingWindow window) {
+        return windows[window.ordinal()].snapshot(clock.getAsLong());
+    }
+
+    /**
+     * Forgets every score, for when the exoplanets they refer to are deleted.
+     */
+    public void clear() {
+        for (SlidingSketch window : windows) {
+            window.clear();
+        }
+    }
+
+    private void add(int exoplanetId, long weight) {
+        long now = clock.getAsLong();
+        for (SlidingSketch window : windows) {
+            window.add(exoplanetId, weight, now);
+        }
+    }
+}
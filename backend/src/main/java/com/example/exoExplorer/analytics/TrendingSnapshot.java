@@ -0,0 +1,64 @@
+package com.example.exoExplorer.analytics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Trending state of one window: the merged sketch counters and the candidate exoplanets.
+ * <p>
+ * Snapshots of the same window taken on different replicas merge by adding their counters
+ * and joining their candidates, which is what {@link #merge(List)} does.
+ *
+ * @param window The window
+ * @param depth Rows of the sketch
+ * @param width Counters per row of the sketch
+ * @param counters Sketch counters, row after row
+ * @param candidates Exoplanet ids that may be among the heaviest
+ */
+public record TrendingSnapshot(TrendingWindow window, int depth, int width, long[] counters, int[] candidates) {
+
+    /**
+     * @param limit Maximum number of exoplanets returned
+     * @return The candidates with the highest estimated scores, highest first
+     */
+    public List<TrendingExoplanet> top(int limit) {
+        return Arrays.stream(candidates)
+                .distinct()
+                .mapToObj(id -> new TrendingExoplanet(id, CountMinSketch.estimate(counters, depth, width, id)))
+                .filter(trending -> trending.score() > 0)
+                .sorted(Comparator.comparingLong(TrendingExoplanet::score).reversed()
+                        .thenComparingInt(TrendingExoplanet::exoplanetId))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Merges snapshots of the same window.
+     *
+     * @param snapshots Snapshots from every replica, at least one
+     * @return The combined snapshot
+     */
+    public static TrendingSnapshot merge(List<TrendingSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            throw new IllegalArgumentException("Aucun instantané à fusionner");
+        }
+        TrendingSnapshot first = snapshots.get(0);
+        long[] counters = new long[first.counters().length];
+        Set<Integer> candidates = new LinkedHashSet<>();
+        for (TrendingSnapshot snapshot : snapshots) {
+            if (snapshot.window() != first.window() || snapshot.depth() != first.depth()
+                    || snapshot.width() != first.width() || snapshot.counters().length != counters.length) {
+                throw new IllegalArgumentException("Instantanés de tendances incompatibles");
+            }
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] += snapshot.counters()[i];
+            }
+            Arrays.stream(snapshot.candidates()).forEach(candidates::add);
+        }
+        return new TrendingSnapshot(first.window(), first.depth(), first.width(), counters,
+                candidates.stream().mapToInt(Integer::intValue).toArray());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.exoExplorer.analytics;
+
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Sliding windows of the trending exoplanets, each split into buckets that expire one at a time.
+ */
+public enum TrendingWindow {
+    HOUR(300_000L, 12),
+    DAY(3_600_000L, 24),
+    WEEK(21_600_000L, 28);
+
+    private final long bucketMillis;
+    private final int buckets;
+
+    TrendingWindow(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = buckets;
+    }
+
+    /**
+     * @return Width of one bucket
+     */
+    public long bucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return Number of buckets in the window, the current one included
+     */
+    public int buckets() {
+        return buckets;
+    }
+
+    /**
+     * Parses a window name, ignoring case.
+     *
+     * @throws InvalidRequestException If no window has that name
+     */
+    public static TrendingWindow parse(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Période inconnue : " + name + " (hour, day ou week)");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.exoExplorer.analytics;
+
+import com.example.exoExplorer.observer.UserActionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-process product analytics over user action events.
+ * <p>
+ * Keeps a {@link LongAdder} total per event type, favorite added/removed counts per
+ * exoplanet, and per-type counts over the last minutes, hours and days. Recording an event
+ * only touches preallocated counters: no lock, no allocation, no database write. Totals are
+ * exported to the meter registry; per-exoplanet counts and rollups are read through
+ * {@link #series(Rollup)} and {@link #topFavorites(int)}. Everything lives in memory and
+ * starts from zero with the application; per-exoplanet counts also restart when the catalog
+ * is purged.
+ */
+@Component
+public class UserAnalytics {
+    private static final UserActionEvent[] EVENTS = UserActionEvent.values();
+
+    private final LongAdder[] totals = new LongAdder[EVENTS.length];
+    private final RollingCounters[] rollups = new RollingCounters[Rollup.values().length];
+    private final int maxExoplanets;
+    private volatile ExoplanetCounters exoplanets;
+    private final Counter untracked;
+    private final LongSupplier clock;
+
+    @Autowired
+    public UserAnalytics(@Value("${app.analytics.max-exoplanets:16384}") int maxExoplanets,
+                         MeterRegistry meterRegistry) {
+        this(maxExoplanets, meterRegistry, System::currentTimeMillis);
+    }
+
+    UserAnalytics(int maxExoplanets, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.clock = clock;
+        this.maxExoplanets = maxExoplanets;
+        this.exoplanets = new ExoplanetCounters(maxExoplanets);
+        for (Rollup rollup : Rollup.values()) {
+            rollups[rollup.ordinal()] = new RollingCounters(rollup, EVENTS.length);
+        }
+        for (UserActionEvent event : EVENTS) {
+            LongAdder total = new LongAdder();
+            totals[event.ordinal()] = total;
+            FunctionCounter.builder("analytics.events", total, LongAdder::sum)
+                    .description("User action events recorded by analytics")
+                    .tag("type", event.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        Gauge.builder("analytics.exoplanets.tracked", this, analytics -> analytics.exoplanets.size())
+                .description("Exoplanets with favorite counts")
+                .register(meterRegistry);
+        this.untracked = Counter.builder("analytics.exoplanets.untracked")
+                .description("Favorite events not counted per exoplanet because the table was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records an event.
+     *
+     * @param event The event type
+     */
+    public void record(UserActionEvent event) {
+        int type = event.ordinal();
+        totals[type].increment();
+        long now = clock.getAsLong();
+        for (RollingCounters counters : rollups) {
+            counters.increment(type, now);
+        }
+    }
+
+    /**
+     * Records a favorite added or removed, both as an event and for the exoplanet.
+     *
+     * @param exoplanetId The exoplanet id
+     * @param added True if added to favorites, false if removed
+     */
+    public void recordFavorite(int exoplanetId, boolean added) {
+        record(added ? UserActionEvent.USER_FAVORITE_ADDED : UserActionEvent.USER_FAVORITE_REMOVED);
+        if (!exoplanets.increment(exoplanetId, added)) {
+            untracked.increment();
+        }
+    }
+
+    /**
+     * @return Total events per type since startup
+     */
+    public Map<String, Long> totals() {
+        Map<String, Long> sums = new LinkedHashMap<>();
+        for (UserActionEvent event : EVENTS) {
+            sums.put(event.name(), totals[event.ordinal()].sum());
+        }
+        return sums;
+    }
+
+    /**
+     * @param rollup The resolution
+     * @return Counts per event type over the buckets of the rollup, ending with the current one
+     */
+    public TimeSeries series(Rollup rollup) {
+        long now = clock.getAsLong();
+        RollingCounters counters = rollups[rollup.ordinal()];
+        long[][] buckets = counters.read(now);
+
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        for (UserActionEvent event : EVENTS) {
+            long[] values = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                values[i] = buckets[i][event.ordinal()];
+            }
+            counts.put(event.name(), values);
+        }
+        return new TimeSeries(rollup, counters.start(now), rollup.bucketMillis(), counts);
+    }
+
+    /**
+     * @param limit Maximum number of exoplanets returned
+     * @return The most favorited exoplanets since startup, most added first
+     */
+    public List<FavoriteCount> topFavorites(int limit) {
+        return exoplanets.top(limit);
+    }
+
+    /**
+     * @param exoplanetId The exoplanet id
+     * @return Favorite counts of the exoplanet since startup
+     */
+    public FavoriteCount favorites(int exoplanetId) {
+        return exoplanets.get(exoplanetId);
+    }
+
+    /**
+     * Forgets the per-exoplanet counts, for when the exoplanets they refer to are deleted.
+     * Event totals and rollups are kept.
+     */
+    public void clearExoplanets() {
+        exoplanets = new ExoplanetCounters(maxExoplanets);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.exoExplorer.config;
+
+import com.example.exoExplorer.otp.BackupCodeTagger;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the backup code lookup index.
+ * <p>
+ * Tagged codes are unique per user. Codes generated before tags existed have a null tag:
+ * Oracle treats two rows with the same user and a null tag as duplicates in a composite
+ * unique key, so the index is function-based there and only covers tagged rows.
+ * Legacy codes are never deleted here: once {@link BackupCodeTagger} stops accepting
+ * them, they are simply no longer checked. Runs after schema update and fails startup
+ * if the index cannot be created.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class BackupCodeIndexInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(BackupCodeIndexInitializer.class);
+
+    private static final String INDEX = "uk_backup_code_user_tag";
+    private static final String TABLE = "two_factor_backup_code";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public BackupCodeIndexInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Creates the lookup index if needed.
+     *
+     * @throws IllegalStateException If the index could not be created
+     */
+    @PostConstruct
+    public void initialize() {
+        try {
+            if (dialect instanceof OracleDialect) {
+                createOracleIndex();
+            } else {
+                jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + INDEX + " ON " + TABLE
+                        + " (user_id, lookup_tag)");
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Unable to create backup code index " + INDEX, e);
+        }
+    }
+
+    private void createOracleIndex() {
+        String type = jdbcTemplate.query("SELECT index_type FROM user_indexes WHERE index_name = UPPER(?)",
+                rs -> rs.next() ? rs.getString(1) : null, INDEX);
+        if (type != null && type.startsWith("FUNCTION-BASED")) {
+            return;
+        }
+        Integer constraints = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_constraints WHERE constraint_name = UPPER(?)", Integer.class, INDEX);
+        if (constraints != null && constraints > 0) {
+            // Plain composite key from an earlier schema update, which rejects a second untagged code
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP CONSTRAINT " + INDEX + " DROP INDEX");
+        } else if (type != null) {
+            jdbcTemplate.execute("DROP INDEX " + INDEX);
+        }
+        logger.info("Creating function-based index {} on tagged backup codes", INDEX);
+        jdbcTemplate.execute("CREATE UNIQUE INDEX " + INDEX + " ON " + TABLE
+                + " (CASE WHEN lookup_tag IS NOT NULL THEN user_id END, lookup_tag)");
+    }
+}
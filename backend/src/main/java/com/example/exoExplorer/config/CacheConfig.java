@@ -1,5 +1,8 @@
 package com.example.exoExplorer.config;
 
+import com.example.exoExplorer.tracing.SpanRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -16,15 +19,26 @@ public class CacheConfig {
 
     /**
      * Creates a cache manager for the application.
+     * Every cache reports its hits, misses, puts and size as {@code cache.*} meters,
+     * and its lookups as spans.
      *
+     * @param meterRegistry Registry receiving the cache meters
+     * @param spanRecorder Tracer receiving the lookups
      * @return A CacheManager instance
      */
     @Bean
-    public CacheManager cacheManager() {
+    public CacheManager cacheManager(MeterRegistry meterRegistry, SpanRecorder spanRecorder) {
         return new ConcurrentMapCacheManager(
                 "exoplanetSummaries",
                 "exoplanetDetails",
                 "userFavorites"
-        );
+        ) {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                MeteredCache cache = new MeteredCache(super.createConcurrentMapCache(name), spanRecorder);
+                cache.bindTo(meterRegistry);
+                return cache;
+            }
+        };
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.example.exoExplorer.config;
+
+import com.example.exoExplorer.entities.IdSequences;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.OracleDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Keeps id sequences compatible with rows created while ids came from identity columns.
+ * <p>
+ * On startup, each sequence is moved past the current maximum id of its table so the
+ * pooled optimizer never hands out an id that already exists. On Oracle, identity
+ * columns created as GENERATED ALWAYS are relaxed to BY DEFAULT so explicit ids are accepted.
+ * Runs after schema update and before the web server accepts traffic; if a sequence cannot
+ * be aligned, startup fails rather than serving inserts that would collide.
+ * <p>
+ * A sequence is moved with a single {@code ALTER SEQUENCE ... RESTART}, so it always exists,
+ * and only forward of the value just read: replicas starting together converge on the
+ * same value instead of racing on a drop and create.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private record SequenceTarget(String sequence, String table, String idColumn) {
+    }
+
+    private static final List<SequenceTarget> TARGETS = List.of(
+            new SequenceTarget(IdSequences.EXOPLANET, "exoplanet", "exoplanet_id"),
+            new SequenceTarget(IdSequences.USERS, "users", "id"),
+            new SequenceTarget(IdSequences.BACKUP_CODES, "two_factor_backup_code", "backup_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Aligns every id sequence with its table.
+     *
+     * @throws IllegalStateException If a sequence could not be aligned
+     */
+    @PostConstruct
+    public void alignSequences() {
+        for (SequenceTarget target : TARGETS) {
+            try {
+                if (dialect instanceof OracleDialect) {
+                    relaxOracleIdentity(target);
+                }
+                alignSequence(target);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Unable to align sequence " + target.sequence()
+                        + " with table " + target.table(), e);
+            }
+        }
+    }
+
+    private void alignSequence(SequenceTarget target) {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(" + target.idColumn() + ") FROM " + target.table(), Long.class);
+        if (maxId == null) {
+            return;
+        }
+
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(target.sequence()), Long.class);
+        // The pooled optimizer serves (next - ALLOCATION_SIZE, next] for this value
+        if (next != null && next - IdSequences.ALLOCATION_SIZE >= maxId) {
+            return;
+        }
+
+        long start = Math.max(maxId, next == null ? 0 : next) + IdSequences.ALLOCATION_SIZE + 1;
+        logger.info("Moving sequence {} to {} (max {}.{} is {})",
+                target.sequence(), start, target.table(), target.idColumn(), maxId);
+        jdbcTemplate.execute(restartSequence(target.sequence(), start));
+    }
+
+    /**
+     * Builds the statement restarting a sequence in place (Oracle 18c and later, H2, PostgreSQL).
+     */
+    private String restartSequence(String sequence, long start) {
+        if (dialect instanceof OracleDialect) {
+            return "ALTER SEQUENCE " + sequence + " RESTART START WITH " + start;
+        }
+        return "ALTER SEQUENCE " + sequence + " RESTART WITH " + start;
+    }
+
+    private void relaxOracleIdentity(SequenceTarget target) {
+        Integer always = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_tab_identity_cols WHERE table_name = UPPER(?) "
+                        + "AND column_name = UPPER(?) AND generation_type = 'ALWAYS'",
+                Integer.class, target.table(), target.idColumn());
+        if (always != null && always > 0) {
+            logger.info("Relaxing identity column {}.{} to GENERATED BY DEFAULT", target.table(), target.idColumn());
+            jdbcTemplate.execute("ALTER TABLE " + target.table() + " MODIFY (" + target.idColumn()
+                    + " GENERATED BY DEFAULT ON NULL AS IDENTITY)");
+        }
+    }
+}
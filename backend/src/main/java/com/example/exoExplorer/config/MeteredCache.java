@@ -0,0 +1,209 @@
+package com.example.exoExplorer.config;
+
+import com.example.exoExplorer.jfr.CacheLoadEvent;
+import com.example.exoExplorer.jfr.CacheMissEvent;
+import com.example.exoExplorer.tracing.SpanRecorder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache counting its hits and misses, which {@link org.springframework.cache.concurrent.ConcurrentMapCache}
+ * does not keep.
+ * <p>
+ * The counts are exported with Micrometer's standard cache meters ({@code cache.gets} tagged
+ * {@code result=hit|miss}, {@code cache.puts}, {@code cache.evictions}, {@code cache.size}),
+ * so the hit ratio is {@code cache_gets_total{result="hit"} / cache_gets_total}. Evictions are the
+ * explicit ones, {@code @CacheEvict} and clears, since these caches never evict on their own.
+ * Misses and loads are also flight recorder events, and every lookup is a {@code cache.get} span
+ * tagged with the cache and the result.
+ */
+final class MeteredCache implements Cache {
+    private final Cache delegate;
+    private final SpanRecorder spans;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    MeteredCache(Cache delegate, SpanRecorder spans) {
+        this.delegate = delegate;
+        this.spans = spans;
+    }
+
+    void bindTo(MeterRegistry meterRegistry) {
+        new Metrics(this).bindTo(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        try (SpanRecorder.ActiveSpan span = spans.start("cache.get")) {
+            return count(delegate.get(key), span);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        try (SpanRecorder.ActiveSpan span = spans.start("cache.get")) {
+            return count(delegate.get(key, type), span);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        try (SpanRecorder.ActiveSpan span = spans.start("cache.get")) {
+            boolean[] loaded = {false};
+            T value = delegate.get(key, () -> {
+                loaded[0] = true;
+                CacheLoadEvent event = new CacheLoadEvent();
+                event.begin();
+                try {
+                    return valueLoader.call();
+                } finally {
+                    if (event.shouldCommit()) {
+                        event.cache = getName();
+                        event.commit();
+                    }
+                }
+            });
+            span.tag("cache", getName()).tag("result", loaded[0] ? "miss" : "hit");
+            if (loaded[0]) {
+                missed();
+            } else {
+                hits.increment();
+            }
+            return value;
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        puts.increment();
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.increment();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        evictions.increment();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.increment();
+        return delegate.invalidate();
+    }
+
+    private <T> T count(T value, SpanRecorder.ActiveSpan span) {
+        span.tag("cache", getName()).tag("result", value != null ? "hit" : "miss");
+        if (value != null) {
+            hits.increment();
+        } else {
+            missed();
+        }
+        return value;
+    }
+
+    private void missed() {
+        misses.increment();
+        CacheMissEvent event = new CacheMissEvent();
+        if (event.isEnabled()) {
+            event.cache = getName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Exports the counts of a cache under the standard cache meter names.
+     */
+    private static final class Metrics extends CacheMeterBinder<MeteredCache> {
+        private Metrics(MeteredCache cache) {
+            super(cache, cache.getName(), Tags.empty());
+        }
+
+        @Override
+        protected Long size() {
+            MeteredCache cache = getCache();
+            return cache != null && cache.getNativeCache() instanceof Map<?, ?> map ? (long) map.size() : null;
+        }
+
+        @Override
+        protected long hitCount() {
+            MeteredCache cache = getCache();
+            return cache == null ? 0 : cache.hits.sum();
+        }
+
+        @Override
+        protected Long missCount() {
+            MeteredCache cache = getCache();
+            return cache == null ? null : cache.misses.sum();
+        }
+
+        @Override
+        protected Long evictionCount() {
+            MeteredCache cache = getCache();
+            return cache == null ? null : cache.evictions.sum();
+        }
+
+        @Override
+        protected long putCount() {
+            MeteredCache cache = getCache();
+            return cache == null ? 0 : cache.puts.sum();
+        }
+
+        @Override
+        protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.example.exoExplorer.config;
 
-import com.example.exoExplorer.entities.User;
-import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.LazyBearerTokenFilter;
+import com.example.exoExplorer.security.PrincipalCache;
+import com.example.exoExplorer.security.PrincipalCache.CachedPrincipal;
 import com.example.exoExplorer.services.TokenService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -15,19 +18,20 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.filter.CorsFilter;
 
-import javax.crypto.SecretKey;
-import java.util.ArrayList;
 import java.util.List;
 
+import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.antMatcher;
+
 /**
  * Security configuration for the application.
  * Implements JWT-based authentication and authorization.
@@ -58,6 +62,26 @@ public class SecurityConfig {
         return jwtAuthenticationConverter;
     }
 
+    /**
+     * Minimal security chain for public catalog reads, matched before the main chain.
+     * The bearer token is left alone unless the endpoint reads the principal,
+     * and an invalid token does not fail the request.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain publicCatalogFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher(antMatcher(HttpMethod.GET, "/api/exoplanets/**"))
+                .cors(Customizer.withDefaults())
+                .csrf(AbstractHttpConfigurer::disable)
+                .requestCache(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(authz -> authz.anyRequest().permitAll())
+                .addFilterBefore(new LazyBearerTokenFilter(jwtDecoder(), jwtAuthenticationConverter()),
+                        AnonymousAuthenticationFilter.class);
+        return http.build();
+    }
+
     /**
      * Configures security settings for HTTP requests.
      */
@@ -86,12 +110,18 @@ public class SecurityConfig {
     }
 
     /**
-     * Configures the JWT decoder using our secret key.
+     * Configures the JWT decoder on top of the token service's verified-token cache,
+     * so a bearer token seen before is not verified again.
      */
     @Bean
     public JwtDecoder jwtDecoder() {
-        SecretKey key = tokenService.getKey();
-        return NimbusJwtDecoder.withSecretKey(key).build();
+        return token -> {
+            try {
+                return tokenService.verify(token).jwt();
+            } catch (io.jsonwebtoken.JwtException | IllegalArgumentException e) {
+                throw new BadJwtException(e.getMessage(), e);
+            }
+        };
     }
 
     /**
@@ -112,21 +142,18 @@ public class SecurityConfig {
     }
 
     @Bean
-    public UserDetailsService userDetailsService(UserRepository userRepository) {
+    public UserDetailsService userDetailsService(PrincipalCache principalCache) {
         return username -> {
-            User user = userRepository.findByEmail(username)
+            CachedPrincipal principal = principalCache.get(username)
                     .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-            // Créer les autorités basées sur isAdmin
-            List<GrantedAuthority> authorities = new ArrayList<>();
-            authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
-
-            if (user.isAdmin()) {
-                authorities.add(new SimpleGrantedAuthority("ROLE_ADMIN"));
-            }
+            // Autorités calculées à partir de isAdmin lors de la mise en cache
+            List<GrantedAuthority> authorities = principal.roles().stream()
+                    .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                    .toList();
             return new org.springframework.security.core.userdetails.User(
-                    user.getEmail(),
-                    user.getPassword(),
+                    principal.email(),
+                    principal.passwordHash(),
                     authorities
             );
         };
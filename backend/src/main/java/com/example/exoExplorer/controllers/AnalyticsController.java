@@ -0,0 +1,114 @@
+package com.example.exoExplorer.controllers;
+
+import com.example.exoExplorer.analytics.FavoriteCount;
+import com.example.exoExplorer.analytics.Rollup;
+import com.example.exoExplorer.analytics.TimeSeries;
+import com.example.exoExplorer.analytics.TrendingExoplanet;
+import com.example.exoExplorer.analytics.TrendingExoplanets;
+import com.example.exoExplorer.analytics.TrendingSnapshot;
+import com.example.exoExplorer.analytics.TrendingWindow;
+import com.example.exoExplorer.analytics.UserAnalytics;
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import com.example.exoExplorer.recommendation.FavoriteCooccurrence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller for in-process user analytics.
+ * Admin-only endpoints reading the counters kept by {@link UserAnalytics}.
+ */
+@RestController
+@RequestMapping("/api/admin/analytics")
+@PreAuthorize("hasRole('ADMIN')")
+public class AnalyticsController {
+    private static final int MAX_TOP = 100;
+
+    @Autowired
+    private UserAnalytics userAnalytics;
+
+    @Autowired
+    private TrendingExoplanets trendingExoplanets;
+
+    @Autowired
+    private FavoriteCooccurrence favoriteCooccurrence;
+
+    /**
+     * Gets event totals and the most favorited exoplanets since startup.
+     *
+     * @param top Number of exoplanets to return
+     * @return Totals per event type and top favorites
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getSummary(@RequestParam(defaultValue = "10") int top) {
+        if (top < 0 || top > MAX_TOP) {
+            throw new InvalidRequestException("Le paramètre top doit être compris entre 0 et " + MAX_TOP);
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("totals", userAnalytics.totals());
+        summary.put("topFavorites", userAnalytics.topFavorites(top));
+        return ResponseEntity.ok(summary);
+    }
+
+    /**
+     * Gets event counts per time bucket.
+     *
+     * @param rollup Resolution: minute, hour or day
+     * @return Counts per bucket for each event type, oldest bucket first
+     */
+    @GetMapping("/series")
+    public ResponseEntity<TimeSeries> getSeries(@RequestParam(defaultValue = "minute") String rollup) {
+        return ResponseEntity.ok(userAnalytics.series(Rollup.parse(rollup)));
+    }
+
+    /**
+     * Gets the favorite counts of one exoplanet.
+     *
+     * @param id The exoplanet ID
+     * @return Times it was added to and removed from favorites
+     */
+    @GetMapping("/exoplanets/{id}")
+    public ResponseEntity<FavoriteCount> getExoplanetFavorites(@PathVariable Integer id) {
+        return ResponseEntity.ok(userAnalytics.favorites(id));
+    }
+
+    /**
+     * Gets this instance's trending state for a window, to merge with other replicas'.
+     *
+     * @param window Period: hour, day or week
+     * @return The sketch counters and candidate exoplanets
+     */
+    @GetMapping("/trending/snapshot")
+    public ResponseEntity<TrendingSnapshot> getTrendingSnapshot(@RequestParam(defaultValue = "day") String window) {
+        return ResponseEntity.ok(trendingExoplanets.snapshot(TrendingWindow.parse(window)));
+    }
+
+    /**
+     * Merges trending snapshots collected from several replicas.
+     *
+     * @param snapshots Snapshots of the same window
+     * @param limit Maximum number of exoplanets
+     * @return Trending exoplanets across all replicas, highest score first
+     */
+    @PostMapping("/trending/merge")
+    public ResponseEntity<List<TrendingExoplanet>> mergeTrendingSnapshots(@RequestBody List<TrendingSnapshot> snapshots,
+                                                                          @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(TrendingSnapshot.merge(snapshots).top(limit));
+    }
+
+    /**
+     * Rebuilds the "also favorited" recommendations from the favorites table.
+     *
+     * @return Response indicating success
+     */
+    @PostMapping("/recommendations/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildRecommendations() {
+        favoriteCooccurrence.rebuild();
+        return ResponseEntity.ok(Map.of("message", "Recommandations reconstruites"));
+    }
+}
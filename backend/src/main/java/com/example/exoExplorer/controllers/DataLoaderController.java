@@ -1,8 +1,12 @@
 package com.example.exoExplorer.controllers;
 
 import com.example.exoExplorer.builder.ExoplanetBuilder;
+import com.example.exoExplorer.dto.CatalogGenerationReport;
 import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory.Distribution;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import com.example.exoExplorer.services.BulkPurgeService;
+import com.example.exoExplorer.services.CatalogGeneratorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,6 +14,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.stream.IntStream;
@@ -27,6 +33,12 @@ public class DataLoaderController {
     @Autowired
     private ExoplaneteRepository exoplanetRepository;
 
+    @Autowired
+    private CatalogGeneratorService catalogGeneratorService;
+
+    @Autowired
+    private BulkPurgeService bulkPurgeService;
+
     private final Random random = new Random();
 
     /**
@@ -38,6 +50,7 @@ public class DataLoaderController {
     public ResponseEntity<Map<String, String>> insertExoplanets() {
         logger.info("Inserting 500 test exoplanets");
 
+        List<Exoplanet> exoplanets = new ArrayList<>(500);
         IntStream.rangeClosed(1, 500).forEach(i -> {
             Exoplanet exoplanet = new ExoplanetBuilder()
                     .withName("ExoTest-" + i)
@@ -57,12 +70,33 @@ public class DataLoaderController {
                 exoplanet.setOrbitalPeriodYear(exoplanet.getOrbitalPeriodDays() / 365.0f);
             }
 
-            exoplanetRepository.save(exoplanet);
+            exoplanets.add(exoplanet);
         });
+        // A single saveAll lets Hibernate batch the inserts
+        exoplanetRepository.saveAll(exoplanets);
 
         return ResponseEntity.ok(Map.of("message", "500 exoplanètes insérées avec succès."));
     }
 
+    /**
+     * Generates a deterministic synthetic catalog with batched inserts.
+     *
+     * @param count Number of exoplanets to insert (up to 10 million)
+     * @param distribution Distribution profile, REALISTIC or UNIFORM
+     * @param seed Seed making the catalog reproducible
+     * @param parallelism Number of concurrent writer threads, at most half the connection pool
+     * @return Report including the achieved rows per second
+     */
+    @PostMapping("/generate")
+    public ResponseEntity<CatalogGenerationReport> generateCatalog(
+            @RequestParam(defaultValue = "100000") long count,
+            @RequestParam(defaultValue = "REALISTIC") Distribution distribution,
+            @RequestParam(defaultValue = "42") long seed,
+            @RequestParam(defaultValue = "2") int parallelism) {
+        logger.info("Synthetic catalog generation requested: {} {} rows", count, distribution);
+        return ResponseEntity.ok(catalogGeneratorService.generate(count, distribution, seed, parallelism));
+    }
+
     /**
      * Clears all exoplanet data from the database.
      *
@@ -71,7 +105,7 @@ public class DataLoaderController {
     @DeleteMapping("/clear-exoplanets")
     public ResponseEntity<Map<String, String>> clearExoplanets() {
         logger.info("Clearing all exoplanet data");
-        exoplanetRepository.deleteAll();
+        bulkPurgeService.purgeExoplanets();
         return ResponseEntity.ok(Map.of("message", "Toutes les exoplanètes ont été supprimées."));
     }
 
@@ -91,6 +125,7 @@ public class DataLoaderController {
                 "Teegarden's Star b", "K2-18b", "WASP-12b", "Wolf 1061c"
         };
 
+        List<Exoplanet> exoplanets = new ArrayList<>(names.length);
         for (int i = 0; i < names.length; i++) {
             Exoplanet exoplanet = new ExoplanetBuilder()
                     .withName(names[i])
@@ -110,8 +145,9 @@ public class DataLoaderController {
                 exoplanet.setOrbitalPeriodYear(exoplanet.getOrbitalPeriodDays() / 365.0f);
             }
 
-            exoplanetRepository.save(exoplanet);
+            exoplanets.add(exoplanet);
         }
+        exoplanetRepository.saveAll(exoplanets);
 
         return ResponseEntity.ok(Map.of("message", names.length + " exoplanètes habitables insérées avec succès."));
     }
@@ -1,8 +1,15 @@
 package com.example.exoExplorer.controllers;
 
+import com.example.exoExplorer.analytics.TrendingExoplanet;
+import com.example.exoExplorer.analytics.TrendingExoplanets;
+import com.example.exoExplorer.analytics.TrendingWindow;
 import com.example.exoExplorer.decorator.ExoplanetDecoratorFactory;
 import com.example.exoExplorer.dto.ExoplanetSummaryDTO;
 import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import com.example.exoExplorer.jfr.SummaryQueryEvent;
+import com.example.exoExplorer.recommendation.AlsoFavorited;
+import com.example.exoExplorer.recommendation.FavoriteCooccurrence;
 import com.example.exoExplorer.services.ExoplanetService;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.validation.Valid;
@@ -22,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.StringJoiner;
 
 /**
  * Controller for exoplanet-related endpoints.
@@ -34,6 +42,12 @@ public class ExoplanetController {
     @Autowired
     private ExoplanetService exoplanetService;
 
+    @Autowired
+    private TrendingExoplanets trendingExoplanets;
+
+    @Autowired
+    private FavoriteCooccurrence favoriteCooccurrence;
+
     /**
      * Refreshes exoplanet data from external source.
      *
@@ -112,7 +126,17 @@ public class ExoplanetController {
             return predicate;
         };
 
+        SummaryQueryEvent event = new SummaryQueryEvent();
+        event.begin();
         Page<ExoplanetSummaryDTO> page = exoplanetService.getExoplanetSummaries(spec, pageable);
+        if (event.shouldCommit()) {
+            event.filters = filterShape(new String[]{"name", "minTemp", "maxTemp", "minDistance", "maxDistance", "minYear", "maxYear"},
+                    name == null || name.isEmpty() ? null : name, minTemp, maxTemp, minDistance, maxDistance, minYear, maxYear);
+            event.sort = pageable.getSort().toString();
+            event.pageSize = pageable.getPageSize();
+            event.results = page.getNumberOfElements();
+            event.commit();
+        }
         return ResponseEntity.ok(page);
     }
 
@@ -127,6 +151,22 @@ public class ExoplanetController {
         return ResponseEntity.ok(exoplanets);
     }
 
+    /**
+     * Gets the exoplanets most viewed and favorited recently.
+     *
+     * @param window Period: hour, day or week
+     * @param limit Maximum number of exoplanets
+     * @return Trending exoplanet ids with their estimated scores, highest first
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<List<TrendingExoplanet>> getTrendingExoplanets(@RequestParam(defaultValue = "day") String window,
+                                                                         @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new InvalidRequestException("Le paramètre limit doit être compris entre 1 et 50");
+        }
+        return ResponseEntity.ok(trendingExoplanets.top(TrendingWindow.parse(window), limit));
+    }
+
     /**
      * Gets an exoplanet by ID.
      *
@@ -148,9 +188,26 @@ public class ExoplanetController {
     @GetMapping("/{id}/details")
     public ResponseEntity<Object> getExoplanetWithDetails(@PathVariable Integer id) {
         Object exoplanet = exoplanetService.getExoplanetWithDetails(id);
+        trendingExoplanets.recordView(id);
         return ResponseEntity.ok(exoplanet);
     }
 
+    /**
+     * Gets the exoplanets most often saved by users who also saved this one.
+     *
+     * @param id The exoplanet ID
+     * @param limit Maximum number of exoplanets
+     * @return Exoplanet ids with the number of users who saved both, highest first
+     */
+    @GetMapping("/{id}/also-favorited")
+    public ResponseEntity<List<AlsoFavorited>> getAlsoFavorited(@PathVariable Integer id,
+                                                                @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > favoriteCooccurrence.topK()) {
+            throw new InvalidRequestException("Le paramètre limit doit être compris entre 1 et " + favoriteCooccurrence.topK());
+        }
+        return ResponseEntity.ok(favoriteCooccurrence.alsoFavorited(id, limit));
+    }
+
     /**
      * Creates a new exoplanet.
      *
@@ -211,4 +268,17 @@ public class ExoplanetController {
 
         return ResponseEntity.ok(habitableExoplanets);
     }
-}
\ No newline at end of file
+
+    /**
+     * Names the filters that are set, without their values, for flight recorder events.
+     */
+    private static String filterShape(String[] names, Object... values) {
+        StringJoiner filters = new StringJoiner(",");
+        for (int i = 0; i < names.length; i++) {
+            if (values[i] != null) {
+                filters.add(names[i]);
+            }
+        }
+        return filters.toString();
+    }
+}
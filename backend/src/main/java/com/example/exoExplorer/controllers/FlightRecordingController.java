@@ -0,0 +1,86 @@
+package com.example.exoExplorer.controllers;
+
+import com.example.exoExplorer.exceptions.ResourceNotFoundException;
+import com.example.exoExplorer.jfr.FlightRecordings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controller for on-demand JDK Flight Recorder recordings.
+ * Admin-only: a recording is started, then stopped and downloaded as a {@code .jfr} file.
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+public class FlightRecordingController {
+
+    @Autowired
+    private FlightRecordings flightRecordings;
+
+    /**
+     * Starts a bounded recording.
+     *
+     * @param seconds Duration after which the recording stops by itself
+     * @return The recording status, or 409 if one already exists
+     */
+    @PostMapping("/start")
+    public ResponseEntity<Map<String, Object>> start(@RequestParam(defaultValue = "60") long seconds) {
+        if (!flightRecordings.start(Duration.ofSeconds(seconds))) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Un enregistrement est déjà en cours"));
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", "Enregistrement démarré");
+        body.put("recording", flightRecordings.status());
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * Gets the state of the current recording.
+     *
+     * @return State, start time, duration and size
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> status() {
+        return ResponseEntity.ok(flightRecordings.status());
+    }
+
+    /**
+     * Stops the recording and streams it; the file is deleted once sent.
+     *
+     * @return The {@code .jfr} file
+     * @throws ResourceNotFoundException If there is no recording
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<StreamingResponseBody> stop() throws IOException {
+        Path file = flightRecordings.stop()
+                .orElseThrow(() -> new ResourceNotFoundException("Aucun enregistrement en cours"));
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(file.getFileName().toString()).build().toString())
+                .body(body);
+    }
+}
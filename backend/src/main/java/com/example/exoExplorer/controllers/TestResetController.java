@@ -4,6 +4,8 @@ import com.example.exoExplorer.builder.ExoplanetBuilder;
 import com.example.exoExplorer.entities.Exoplanet;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
 import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.PrincipalCache;
+import com.example.exoExplorer.services.BulkPurgeService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +29,12 @@ public class TestResetController {
     @Autowired
     private ExoplaneteRepository exoplanetRepository;
 
+    @Autowired
+    private BulkPurgeService bulkPurgeService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
     /**
      * Resets a test user.
      *
@@ -37,6 +45,7 @@ public class TestResetController {
     public ResponseEntity<Void> resetUser(@RequestParam String email) {
         logger.info("Resetting test user: {}", email);
         userRepository.findByEmail(email).ifPresent(userRepository::delete);
+        principalCache.invalidate(email);
         return ResponseEntity.ok().build();
     }
 
@@ -48,7 +57,7 @@ public class TestResetController {
     @DeleteMapping("/reset-db")
     public ResponseEntity<Void> resetDbAndAddExoplanet() {
         logger.info("Resetting database and adding test exoplanet");
-        exoplanetRepository.deleteAll();
+        bulkPurgeService.purgeExoplanets();
 
         Exoplanet exo = new ExoplanetBuilder()
                 .withName("Kepler-Test")
@@ -74,8 +83,7 @@ public class TestResetController {
     @DeleteMapping("/reset-all")
     public ResponseEntity<Void> resetAll() {
         logger.info("Resetting entire database");
-        exoplanetRepository.deleteAll();
-        userRepository.deleteAll();
+        bulkPurgeService.purgeAll();
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.example.exoExplorer.controllers;
+
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import com.example.exoExplorer.exceptions.ResourceNotFoundException;
+import com.example.exoExplorer.tracing.Trace;
+import com.example.exoExplorer.tracing.TraceStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller for the traces kept by the in-process tracer.
+ * Admin-only: slow and failed requests with their spans, down to the SQL statements.
+ */
+@RestController
+@RequestMapping("/api/admin/traces")
+@PreAuthorize("hasRole('ADMIN')")
+public class TraceController {
+
+    @Autowired
+    private TraceStore traceStore;
+
+    /**
+     * Lists the most recent kept traces.
+     *
+     * @param minDuration Minimum duration of the request, in milliseconds
+     * @param limit Maximum number of traces, from 1 to 100
+     * @return The traces, newest first
+     */
+    @GetMapping
+    public ResponseEntity<List<Trace>> list(@RequestParam(defaultValue = "0") long minDuration,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        if (limit < 1 || limit > 100) {
+            throw new InvalidRequestException("La limite doit être comprise entre 1 et 100");
+        }
+        return ResponseEntity.ok(traceStore.find(TimeUnit.MILLISECONDS.toMicros(minDuration), limit));
+    }
+
+    /**
+     * Gets one trace with all its spans.
+     *
+     * @param traceId The trace id
+     * @return The trace
+     */
+    @GetMapping("/{traceId}")
+    public ResponseEntity<Trace> get(@PathVariable String traceId) {
+        return ResponseEntity.ok(traceStore.get(traceId)
+                .orElseThrow(() -> new ResourceNotFoundException("Trace introuvable: " + traceId)));
+    }
+}
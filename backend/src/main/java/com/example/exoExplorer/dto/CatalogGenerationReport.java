@@ -0,0 +1,38 @@
+package com.example.exoExplorer.dto;
+
+import lombok.Getter;
+
+/**
+ * Data Transfer Object describing a synthetic catalog generation run.
+ */
+@Getter
+public class CatalogGenerationReport {
+    private final long rows;
+    private final String distribution;
+    private final long seed;
+    private final int parallelism;
+    private final int batchSize;
+    private final long elapsedMillis;
+    private final long rowsPerSecond;
+
+    /**
+     * Constructor for creating a CatalogGenerationReport.
+     *
+     * @param rows Number of rows inserted
+     * @param distribution Distribution profile used
+     * @param seed Seed used
+     * @param parallelism Number of concurrent writer threads
+     * @param batchSize JDBC batch size
+     * @param elapsedMillis Wall-clock duration of the run
+     */
+    public CatalogGenerationReport(long rows, String distribution, long seed, int parallelism,
+                                   int batchSize, long elapsedMillis) {
+        this.rows = rows;
+        this.distribution = distribution;
+        this.seed = seed;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? rows * 1000 / elapsedMillis : rows;
+    }
+}
@@ -1,17 +1,26 @@
 package com.example.exoExplorer.dto;
 
+import com.example.exoExplorer.images.ImageUrlDictionary;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
  * Data Transfer Object for summarized exoplanet information.
  * Used for list views and search results.
+ * The image URL is kept dictionary-encoded while the DTO sits in the summary cache
+ * and is expanded when serialized.
  */
 @Getter
 public class ExoplanetSummaryDTO {
     // Getters
     private Integer id;
     private String name;
-    private String imageExo;
+
+    @Getter(AccessLevel.NONE)
+    private final int imagePrefixId;
+
+    @Getter(AccessLevel.NONE)
+    private final String imageSuffix;
 
     /**
      * Constructor for creating an ExoplanetSummaryDTO.
@@ -21,9 +30,17 @@ public class ExoplanetSummaryDTO {
      * @param imageExo The exoplanet image URL
      */
     public ExoplanetSummaryDTO(Integer id, String name, String imageExo) {
+        ImageUrlDictionary dictionary = ImageUrlDictionary.shared();
         this.id = id;
         this.name = name;
-        this.imageExo = imageExo;
+        this.imagePrefixId = dictionary.prefixIdOf(imageExo);
+        this.imageSuffix = dictionary.suffixOf(imageExo, imagePrefixId);
     }
 
-}
\ No newline at end of file
+    /**
+     * @return The exoplanet image URL
+     */
+    public String getImageExo() {
+        return ImageUrlDictionary.shared().expand(imagePrefixId, imageSuffix);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.exoExplorer.entities;
 
+import com.example.exoExplorer.images.ImageUrlConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
@@ -19,7 +20,9 @@ import java.util.Set;
 public class Exoplanet extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.EXOPLANET)
+    @SequenceGenerator(name = IdSequences.EXOPLANET, sequenceName = IdSequences.EXOPLANET,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "exoplanet_id")
     private Integer id;
 
@@ -27,6 +30,7 @@ public class Exoplanet extends BaseEntity {
     private String name;
 
     @Column(name = "imageExo")
+    @Convert(converter = ImageUrlConverter.class)
     private String imageExo;
 
     @Column(name = "distance")
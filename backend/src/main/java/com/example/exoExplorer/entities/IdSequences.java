@@ -0,0 +1,20 @@
+package com.example.exoExplorer.entities;
+
+/**
+ * Database sequences backing entity ids.
+ * Ids are allocated with Hibernate's pooled optimizer: each sequence value {@code v}
+ * reserves the block {@code (v - ALLOCATION_SIZE, v]}, so inserts can be batched
+ * instead of reading back an identity column after every row.
+ */
+public final class IdSequences {
+
+    /** Ids reserved per sequence call; matches hibernate.jdbc.batch_size. */
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String EXOPLANET = "exoplanet_seq";
+    public static final String USERS = "users_seq";
+    public static final String BACKUP_CODES = "two_factor_backup_code_seq";
+
+    private IdSequences() {
+    }
+}
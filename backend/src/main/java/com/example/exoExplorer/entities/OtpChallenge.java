@@ -0,0 +1,31 @@
+package com.example.exoExplorer.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity for pending OTPs when they are shared between replicas.
+ * Only the keyed digest of the code is stored.
+ */
+@Entity
+@Table(name = "otp_challenge", indexes = @Index(name = "idx_otp_challenge_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpChallenge {
+
+    @Id
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "digest", nullable = false, length = 64)
+    private String digest;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+}
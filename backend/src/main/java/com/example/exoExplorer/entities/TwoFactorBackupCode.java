@@ -5,6 +5,9 @@ import lombok.*;
 
 /**
  * Entity for backup codes used in two-factor authentication.
+ * Each code is stored as a BCrypt hash plus a keyed lookup tag used to find it by index.
+ * The unique index on tagged codes is created by {@code BackupCodeIndexInitializer},
+ * since Oracle needs it to skip the untagged legacy rows.
  */
 @Entity
 @Table(name = "TwoFactorBackupCode")
@@ -14,17 +17,35 @@ import lombok.*;
 public class TwoFactorBackupCode {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.BACKUP_CODES)
+    @SequenceGenerator(name = IdSequences.BACKUP_CODES, sequenceName = IdSequences.BACKUP_CODES,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     @Column(name = "backup_id")
     private Integer backupId;
 
     @Column(name = "backup_code", nullable = false)
     private String backupCode;
 
+    /** Null for codes generated before tags existed. */
+    @Column(name = "lookup_tag", length = 16)
+    private String lookupTag;
+
     @Column(name = "used")
     private Boolean used = false;
 
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
-}
\ No newline at end of file
+
+    /**
+     * Constructor for a backup code without a lookup tag.
+     *
+     * @param backupId The id, null for new codes
+     * @param backupCode The BCrypt hash of the code
+     * @param used Whether the code was already used
+     * @param user The owner
+     */
+    public TwoFactorBackupCode(Integer backupId, String backupCode, Boolean used, User user) {
+        this(backupId, backupCode, null, used, user);
+    }
+}
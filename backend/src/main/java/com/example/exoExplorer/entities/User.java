@@ -3,7 +3,6 @@ package com.example.exoExplorer.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
-import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -19,7 +18,9 @@ import java.util.*;
 public class User extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.USERS)
+    @SequenceGenerator(name = IdSequences.USERS, sequenceName = IdSequences.USERS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(unique = true, nullable = false)
@@ -30,10 +31,6 @@ public class User extends BaseEntity {
 
     private boolean otpVerified = false;
 
-    private String otpCodeHash;
-
-    private LocalDateTime otpExpiry;
-
     private boolean darkMode = false;
 
     private String language = "fr";
@@ -0,0 +1,38 @@
+package com.example.exoExplorer.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity for user action events committed with the user change that raised them,
+ * waiting to be relayed to observers.
+ */
+@Entity
+@Table(name = "user_action_outbox", indexes = @Index(name = "idx_user_action_outbox_created", columnList = "created_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserActionOutboxEntry {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "event", nullable = false, length = 32)
+    private String event;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "exoplanet_id")
+    private Integer exoplanetId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /** End of the claim of the relay handing the event over, null if not claimed. */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+}
@@ -4,6 +4,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -38,14 +39,16 @@ public class GenericExceptionHandler {
      */
     private ResponseEntity<Map<String, Object>> createErrorResponse(String message, HttpStatus status, Exception ex) {
         logger.error("Exception handled: {} - {}", ex.getClass().getSimpleName(), message, ex);
+        return new ResponseEntity<>(errorBody(message, status), status);
+    }
 
+    private Map<String, Object> errorBody(String message, HttpStatus status) {
         Map<String, Object> errorResponse = new HashMap<>();
         errorResponse.put("timestamp", LocalDateTime.now().toString());
         errorResponse.put("status", status.value());
         errorResponse.put("error", status.getReasonPhrase());
         errorResponse.put("message", message);
-
-        return new ResponseEntity<>(errorResponse, status);
+        return errorResponse;
     }
 
     @ExceptionHandler(UserAlreadyExistsException.class)
@@ -78,6 +81,20 @@ public class GenericExceptionHandler {
         return createErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND, ex);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRequest(InvalidRequestException ex) {
+        return createErrorResponse(ex.getMessage(), HttpStatus.BAD_REQUEST, ex);
+    }
+
+    @ExceptionHandler(HashingOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleHashingOverloaded(HashingOverloadedException ex) {
+        // Expected under load, so no stack trace and no error-level log
+        logger.warn("Request shed: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorBody(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationErrors(MethodArgumentNotValidException ex) {
         String firstError = ex.getBindingResult()
@@ -0,0 +1,18 @@
+package com.example.exoExplorer.exceptions;
+
+/**
+ * Exception thrown when password hashing is saturated and a request is shed.
+ * Carries no stack trace, as it is expected in bulk during load spikes.
+ */
+public class HashingOverloadedException extends RuntimeException {
+    private final int retryAfterSeconds;
+
+    public HashingOverloadedException(String message, int retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
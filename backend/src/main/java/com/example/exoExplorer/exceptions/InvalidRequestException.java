@@ -0,0 +1,11 @@
+package com.example.exoExplorer.exceptions;
+
+/**
+ * Exception thrown when a request parameter is out of range or unknown.
+ * Its message is returned to the client, so it must not carry internal details.
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.exoExplorer.factory;
+
+import com.example.exoExplorer.builder.ExoplanetBuilder;
+import com.example.exoExplorer.entities.Exoplanet;
+
+import java.util.SplittableRandom;
+
+/**
+ * Factory producing deterministic synthetic exoplanets for benchmarks.
+ * The same seed, distribution and index always yield the same planet,
+ * regardless of how rows are split across threads.
+ */
+public final class SyntheticExoplanetFactory {
+
+    private static final String KYOTO = "https://www.exoplanetkyoto.org/exohtml/Planets/";
+    private static final String[] HOT_GIANTS = {"HotJupiterH1.bmp", "HotJupiterH2.bmp", "HotJupiterH3.bmp", "RedHotJupiter.bmp"};
+    private static final String[] COLD_GIANTS = {"ColdRedJupiter.bmp", "ColdBrownJupiter.bmp", "JupiterF.bmp", "SaturnF.bmp"};
+    private static final String[] NEPTUNES = {"HotNeptuneH1.bmp", "HotNeptuneH3.bmp", "DeepBlueNeptune.bmp", "NeptuneF.bmp", "UranusF.bmp"};
+    private static final String[] HOT_ROCKY = {"HotSuperEarth.bmp", "HotSuperEarthR2.bmp", "HotMercuryR1.bmp", "HotEarth.bmp", "VenusF.bmp"};
+    private static final String[] TEMPERATE_ROCKY = {"habitable1.bmp", "habitable2.bmp", "EarthBrownH.bmp", "ocean1.bmp", "land7.bmp"};
+    private static final String[] COLD_ROCKY = {"SnowBallEarth.bmp", "EarthSnow90.bmp", "DeepBlue1.bmp", "MarsF.bmp"};
+
+    /**
+     * Shape of the generated catalog.
+     */
+    public enum Distribution {
+        /** Log-normal and mixture distributions loosely fitted to the NASA archive. */
+        REALISTIC,
+        /** Independent uniform ranges, matching the legacy 500-row loader. */
+        UNIFORM
+    }
+
+    private SyntheticExoplanetFactory() {
+    }
+
+    /**
+     * Creates one synthetic exoplanet.
+     * Each row draws from its own random stream, so output does not depend on chunking.
+     *
+     * @param distribution The catalog shape
+     * @param seed The catalog seed, also part of the unique name
+     * @param index The global row index
+     * @return A new unsaved exoplanet
+     */
+    public static Exoplanet create(Distribution distribution, long seed, long index) {
+        SplittableRandom random = new SplittableRandom(seed + index * 0x9E3779B97F4A7C15L);
+        String name = "Synth-" + seed + "-" + index;
+        return distribution == Distribution.REALISTIC
+                ? realistic(random, name)
+                : uniform(random, name, index);
+    }
+
+    private static Exoplanet uniform(SplittableRandom random, String name, long index) {
+        float periodDays = 1 + (float) random.nextDouble() * 1000;
+        return new ExoplanetBuilder()
+                .withName(name)
+                .withDistance((float) random.nextDouble() * 5000)
+                .withTemperature(50 + (float) random.nextDouble() * 450)
+                .withImage("https://picsum.photos/seed/synth" + index + "/200")
+                .withYearDiscovered(1995 + random.nextInt(28))
+                .withRadius(0.5f + (float) random.nextDouble() * 10)
+                .withMass(0.1f + (float) random.nextDouble() * 20)
+                .withSemiMajorAxis(0.05f + (float) random.nextDouble() * 50)
+                .withEccentricity((float) random.nextDouble() * 0.5f)
+                .withOrbitalPeriodDays(periodDays)
+                .withOrbitalPeriodYear(periodDays / 365.0f)
+                .build();
+    }
+
+    private static Exoplanet realistic(SplittableRandom random, String name) {
+        // Orbital period is roughly log-uniform between half a day and ~50 years
+        double periodDays = Math.exp(Math.log(0.5) + random.nextDouble() * (Math.log(20000) - Math.log(0.5)));
+        // Kepler's third law around a Sun-like star, semi-major axis in AU
+        double axis = Math.cbrt(Math.pow(periodDays / 365.25, 2));
+        // Equilibrium temperature scaled by a random stellar luminosity factor
+        double temperature = 278.6 / Math.sqrt(axis) * (0.5 + random.nextDouble());
+
+        boolean giant = random.nextDouble() < 0.3;
+        double radius = giant
+                ? Math.exp(Math.log(11) + random.nextGaussian() * 0.2)
+                : Math.exp(Math.log(2.2) + random.nextGaussian() * 0.5);
+        double mass;
+        if (radius < 1.5) {
+            mass = Math.pow(radius, 3.7);
+        } else if (radius < 4) {
+            mass = 2.7 * Math.pow(radius, 1.3);
+        } else {
+            mass = Math.exp(Math.log(300) + random.nextGaussian() * 0.8);
+        }
+
+        int year = (int) Math.round(2016 + random.nextGaussian() * 4);
+        double eccentricity = Math.min(0.95, Math.abs(random.nextGaussian()) * (periodDays < 10 ? 0.02 : 0.15));
+
+        return new ExoplanetBuilder()
+                .withName(name)
+                .withDistance((float) Math.exp(Math.log(400) + random.nextGaussian()))
+                .withTemperature((float) temperature)
+                .withImage(KYOTO + pick(random, templatesFor(radius, temperature)))
+                .withYearDiscovered(Math.max(1995, Math.min(2024, year)))
+                .withRadius((float) radius)
+                .withMass((float) mass)
+                .withSemiMajorAxis((float) axis)
+                .withEccentricity((float) eccentricity)
+                .withOrbitalPeriodDays((float) periodDays)
+                .withOrbitalPeriodYear((float) (periodDays / 365.0))
+                .build();
+    }
+
+    private static String[] templatesFor(double radius, double temperature) {
+        if (radius >= 6) {
+            return temperature > 800 ? HOT_GIANTS : COLD_GIANTS;
+        }
+        if (radius >= 2.5) {
+            return NEPTUNES;
+        }
+        if (temperature > 400) {
+            return HOT_ROCKY;
+        }
+        return temperature >= 180 ? TEMPERATE_ROCKY : COLD_ROCKY;
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
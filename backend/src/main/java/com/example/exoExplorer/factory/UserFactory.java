@@ -1,7 +1,7 @@
 package com.example.exoExplorer.factory;
 
 import com.example.exoExplorer.entities.User;
-import org.mindrot.jbcrypt.BCrypt;
+import com.example.exoExplorer.services.PasswordHashingService;
 import org.springframework.stereotype.Component;
 
 /**
@@ -11,6 +11,12 @@ import org.springframework.stereotype.Component;
 @Component
 public class UserFactory {
 
+    private final PasswordHashingService passwordHashingService;
+
+    public UserFactory(PasswordHashingService passwordHashingService) {
+        this.passwordHashingService = passwordHashingService;
+    }
+
     /**
      * Creates a new regular user with the given email and password.
      * @param email User's email
@@ -20,7 +26,7 @@ public class UserFactory {
     public User createRegularUser(String email, String password) {
         User user = new User();
         user.setEmail(email);
-        user.setPassword(BCrypt.hashpw(password, BCrypt.gensalt()));
+        user.setPassword(passwordHashingService.hash(password));
         user.setOtpVerified(false);
         user.setDarkMode(false);
         user.setLanguage("fr");
@@ -0,0 +1,214 @@
+package com.example.exoExplorer.images;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.zip.CRC32;
+
+/**
+ * Read-only view over the binary image index produced by {@link ImageIndexCompiler}.
+ * <p>
+ * Layout (big endian): header, URL offset table, name offset table, one 16-bit URL code
+ * per name, exact-name offset table and codes, URL blob, the blob of normalized names
+ * sorted by unsigned UTF-8 bytes, then the blob of exact names sorted the same way.
+ * Lookups binary-search the name tables directly in the buffer, so nothing but the
+ * small URL dictionary is ever materialized on the heap.
+ * <p>
+ * The exact-name table only holds spellings of names that differ by case alone, so
+ * that such a name still resolves to its own URL before the case-insensitive match.
+ */
+public final class ImageIndex {
+
+    static final int MAGIC = 0x45584958; // "EXIX"
+    static final int VERSION = 2;
+    private static final int HEADER_SIZE = 28;
+
+    private final ByteBuffer buffer;
+    private final long sourceChecksum;
+    private final int urlCount;
+    private final int urlOffsetsPos;
+    private final int urlBlobPos;
+    private final NameTable names;
+    private final NameTable exactNames;
+    private final String[] urls;
+
+    private ImageIndex(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not an image index (bad magic or version)");
+        }
+        this.sourceChecksum = buffer.getLong(8);
+        this.urlCount = buffer.getInt(16);
+        int nameCount = buffer.getInt(20);
+        int exactCount = buffer.getInt(24);
+        this.urlOffsetsPos = HEADER_SIZE;
+        int nameOffsetsPos = urlOffsetsPos + (urlCount + 1) * Integer.BYTES;
+        int codesPos = nameOffsetsPos + (nameCount + 1) * Integer.BYTES;
+        int exactOffsetsPos = codesPos + nameCount * Short.BYTES;
+        int exactCodesPos = exactOffsetsPos + (exactCount + 1) * Integer.BYTES;
+        this.urlBlobPos = exactCodesPos + exactCount * Short.BYTES;
+        int nameBlobPos = urlBlobPos + buffer.getInt(urlOffsetsPos + urlCount * Integer.BYTES);
+        int exactBlobPos = nameBlobPos + buffer.getInt(nameOffsetsPos + nameCount * Integer.BYTES);
+        this.names = new NameTable(nameCount, nameOffsetsPos, codesPos, nameBlobPos);
+        this.exactNames = new NameTable(exactCount, exactOffsetsPos, exactCodesPos, exactBlobPos);
+        this.urls = new String[urlCount];
+    }
+
+    /**
+     * Wraps an already loaded index buffer.
+     *
+     * @param buffer The index bytes
+     * @return The index view
+     */
+    public static ImageIndex wrap(ByteBuffer buffer) {
+        return new ImageIndex(buffer);
+    }
+
+    /**
+     * Opens an index resource, memory-mapping it when it lives on the file system
+     * and reading it into memory when it is packaged inside a jar.
+     *
+     * @param resource The index resource
+     * @return The index view
+     * @throws IOException if the resource cannot be read
+     */
+    public static ImageIndex open(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                return new ImageIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        try (InputStream is = resource.getInputStream()) {
+            return new ImageIndex(ByteBuffer.wrap(is.readAllBytes()));
+        }
+    }
+
+    /**
+     * Normalizes a name the way the index stores it.
+     *
+     * @param name The exoplanet name
+     * @return The normalized key
+     */
+    public static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Computes the checksum recorded in the header for a JSON source.
+     *
+     * @param source The JSON content
+     * @return The CRC32 of the content
+     * @throws IOException if the source cannot be read
+     */
+    public static long checksum(InputStream source) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = source.read(chunk)) != -1) {
+            crc.update(chunk, 0, read);
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * @return CRC32 of the JSON file the index was compiled from
+     */
+    public long getSourceChecksum() {
+        return sourceChecksum;
+    }
+
+    /**
+     * @return Number of distinct names in the index
+     */
+    public int size() {
+        return names.count;
+    }
+
+    /**
+     * Looks up the image URL for an exoplanet name, preferring an exact match
+     * and otherwise ignoring case.
+     *
+     * @param name The exoplanet name
+     * @return The image URL, or null if not found
+     */
+    public String lookup(String name) {
+        if (name == null) {
+            return null;
+        }
+        int code = -1;
+        if (exactNames.count > 0) {
+            code = exactNames.find(name.getBytes(StandardCharsets.UTF_8));
+        }
+        if (code < 0) {
+            code = names.find(normalize(name).getBytes(StandardCharsets.UTF_8));
+        }
+        return code < 0 ? null : url(code);
+    }
+
+    private String url(int code) {
+        String url = urls[code];
+        if (url == null) {
+            int start = buffer.getInt(urlOffsetsPos + code * Integer.BYTES);
+            int end = buffer.getInt(urlOffsetsPos + (code + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            buffer.get(urlBlobPos + start, bytes);
+            url = new String(bytes, StandardCharsets.UTF_8);
+            urls[code] = url;
+        }
+        return url;
+    }
+
+    /**
+     * Sorted name blob with its offset table and URL codes.
+     */
+    private final class NameTable {
+        private final int count;
+        private final int offsetsPos;
+        private final int codesPos;
+        private final int blobPos;
+
+        NameTable(int count, int offsetsPos, int codesPos, int blobPos) {
+            this.count = count;
+            this.offsetsPos = offsetsPos;
+            this.codesPos = codesPos;
+            this.blobPos = blobPos;
+        }
+
+        int find(byte[] key) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(mid, key);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return buffer.getShort(codesPos + mid * Short.BYTES) & 0xFFFF;
+                }
+            }
+            return -1;
+        }
+
+        private int compare(int index, byte[] key) {
+            int start = blobPos + buffer.getInt(offsetsPos + index * Integer.BYTES);
+            int end = blobPos + buffer.getInt(offsetsPos + (index + 1) * Integer.BYTES);
+            int length = end - start;
+            int common = Math.min(length, key.length);
+            for (int i = 0; i < common; i++) {
+                int cmp = Byte.compareUnsigned(buffer.get(start + i), key[i]);
+                if (cmp != 0) {
+                    return cmp;
+                }
+            }
+            return Integer.compare(length, key.length);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.exoExplorer.images;
+
+import com.example.exoExplorer.services.ExoplanetImageService.ImageMapping;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Build-time compiler turning exoplanets.json into the binary layout read by {@link ImageIndex}.
+ * Invoked by the exec-maven-plugin during process-classes.
+ */
+public final class ImageIndexCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(ImageIndexCompiler.class);
+
+    private ImageIndexCompiler() {
+    }
+
+    /**
+     * Compiles a JSON mapping file into a binary index.
+     *
+     * @param args source JSON path and target index path
+     * @throws IOException if the source cannot be read or the target written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ImageIndexCompiler <exoplanets.json> <output.idx>");
+        }
+        Path source = Path.of(args[0]);
+        Path target = Path.of(args[1]);
+
+        List<ImageMapping> mappings = new ObjectMapper()
+                .readValue(source.toFile(), new TypeReference<List<ImageMapping>>() {});
+
+        long checksum;
+        try (InputStream in = Files.newInputStream(source)) {
+            checksum = ImageIndex.checksum(in);
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            compile(mappings, checksum, out);
+        }
+        logger.info("Compiled {} image mappings into {}", mappings.size(), target);
+    }
+
+    /**
+     * Writes the binary index for the given mappings.
+     * Like the JSON map it replaces, the last URL seen for a name wins. Names are stored
+     * lower-cased for case-insensitive lookups; a name that differs from another one only
+     * by case is also stored as spelled, so that it keeps resolving to its own URL.
+     * Among such names, a lookup matching none of them exactly gets the last one seen.
+     *
+     * @param mappings The mappings read from JSON
+     * @param sourceChecksum CRC32 of the JSON source, used to detect stale indexes
+     * @param out Destination stream
+     * @throws IOException if writing fails
+     */
+    public static void compile(List<ImageMapping> mappings, long sourceChecksum, OutputStream out) throws IOException {
+        Map<String, Integer> urlCodes = new LinkedHashMap<>();
+        Map<String, Integer> exact = new HashMap<>();
+        Map<String, Integer> entries = new HashMap<>();
+        Map<String, Set<String>> spellings = new HashMap<>();
+
+        for (ImageMapping mapping : mappings) {
+            if (mapping.getNomExoplanete() == null || mapping.getImage() == null) {
+                continue;
+            }
+            Integer code = urlCodes.computeIfAbsent(mapping.getImage(), url -> urlCodes.size());
+            String normalized = ImageIndex.normalize(mapping.getNomExoplanete());
+            exact.put(mapping.getNomExoplanete(), code);
+            entries.put(normalized, code);
+            spellings.computeIfAbsent(normalized, key -> new HashSet<>()).add(mapping.getNomExoplanete());
+        }
+
+        if (urlCodes.size() > 0xFFFF) {
+            throw new IllegalStateException("Too many distinct image URLs for a 16-bit dictionary: " + urlCodes.size());
+        }
+
+        Map<String, Integer> exactEntries = new HashMap<>();
+        for (Set<String> group : spellings.values()) {
+            if (group.size() > 1) {
+                group.forEach(name -> exactEntries.put(name, exact.get(name)));
+            }
+        }
+
+        NameBlob names = new NameBlob(entries);
+        NameBlob exactNames = new NameBlob(exactEntries);
+
+        ByteArrayOutputStream urlBlob = new ByteArrayOutputStream();
+        int[] urlOffsets = new int[urlCodes.size() + 1];
+        int i = 0;
+        for (String url : urlCodes.keySet()) {
+            urlOffsets[i++] = urlBlob.size();
+            urlBlob.writeBytes(url.getBytes(StandardCharsets.UTF_8));
+        }
+        urlOffsets[i] = urlBlob.size();
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(ImageIndex.MAGIC);
+        data.writeInt(ImageIndex.VERSION);
+        data.writeLong(sourceChecksum);
+        data.writeInt(urlCodes.size());
+        data.writeInt(names.size());
+        data.writeInt(exactNames.size());
+        for (int offset : urlOffsets) {
+            data.writeInt(offset);
+        }
+        names.writeTable(data);
+        exactNames.writeTable(data);
+        urlBlob.writeTo(data);
+        names.blob.writeTo(data);
+        exactNames.blob.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Names sorted by unsigned UTF-8 bytes, with their offsets and URL codes.
+     */
+    private static final class NameBlob {
+        private final ByteArrayOutputStream blob = new ByteArrayOutputStream();
+        private final int[] offsets;
+        private final int[] codes;
+
+        NameBlob(Map<String, Integer> entries) {
+            List<byte[]> names = new ArrayList<>(entries.size());
+            Map<byte[], Integer> codesByName = new IdentityHashMap<>();
+            for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+                byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                names.add(name);
+                codesByName.put(name, entry.getValue());
+            }
+            names.sort(Arrays::compareUnsigned);
+
+            offsets = new int[names.size() + 1];
+            codes = new int[names.size()];
+            int i;
+            for (i = 0; i < names.size(); i++) {
+                offsets[i] = blob.size();
+                codes[i] = codesByName.get(names.get(i));
+                blob.writeBytes(names.get(i));
+            }
+            offsets[i] = blob.size();
+        }
+
+        int size() {
+            return codes.length;
+        }
+
+        void writeTable(DataOutputStream data) throws IOException {
+            for (int offset : offsets) {
+                data.writeInt(offset);
+            }
+            for (int code : codes) {
+                data.writeShort(code);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.exoExplorer.images;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * JPA converter that canonicalizes image URLs as entities are loaded,
+ * so template URLs are shared across every cached {@code Exoplanet}.
+ */
+@Converter
+public class ImageUrlConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return attribute;
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return ImageUrlDictionary.shared().canonicalize(dbData);
+    }
+}
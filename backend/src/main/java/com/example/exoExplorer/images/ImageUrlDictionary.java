@@ -0,0 +1,136 @@
+package com.example.exoExplorer.images;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Dictionary encoding for exoplanet image URLs.
+ * <p>
+ * URLs are split into a registered prefix id and a suffix. Suffixes of template prefixes
+ * (the handful of Kyoto renderings shared by thousands of planets) are interned so every
+ * row references the same instance; suffixes of per-planet prefixes such as picsum seeds
+ * are kept as-is, which still drops the repeated prefix from each row.
+ */
+public final class ImageUrlDictionary {
+
+    /** Prefix id used when a URL matches no registered prefix. */
+    public static final int NO_PREFIX = -1;
+
+    private static final int MAX_INTERNED = 4096;
+
+    private static final ImageUrlDictionary SHARED = new ImageUrlDictionary();
+
+    static {
+        SHARED.registerPrefix("https://www.exoplanetkyoto.org/exohtml/Planets/", true);
+        SHARED.registerPrefix("https://picsum.photos/seed/", false);
+    }
+
+    private final CopyOnWriteArrayList<Prefix> prefixes = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<String, String> interned = new ConcurrentHashMap<>();
+
+    private record Prefix(String value, boolean template) {
+    }
+
+    /**
+     * @return The application-wide dictionary
+     */
+    public static ImageUrlDictionary shared() {
+        return SHARED;
+    }
+
+    /**
+     * Registers a URL prefix.
+     *
+     * @param prefix The prefix, including its trailing slash
+     * @param template True if suffixes under this prefix come from a small fixed set and should be interned
+     * @return The prefix id
+     */
+    public synchronized int registerPrefix(String prefix, boolean template) {
+        for (int i = 0; i < prefixes.size(); i++) {
+            if (prefixes.get(i).value().equals(prefix)) {
+                return i;
+            }
+        }
+        prefixes.add(new Prefix(prefix, template));
+        return prefixes.size() - 1;
+    }
+
+    /**
+     * Finds the longest registered prefix of a URL.
+     *
+     * @param url The URL
+     * @return The prefix id, or {@link #NO_PREFIX}
+     */
+    public int prefixIdOf(String url) {
+        int best = NO_PREFIX;
+        int bestLength = 0;
+        if (url == null) {
+            return best;
+        }
+        for (int i = 0; i < prefixes.size(); i++) {
+            String prefix = prefixes.get(i).value();
+            if (prefix.length() > bestLength && url.startsWith(prefix)) {
+                best = i;
+                bestLength = prefix.length();
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the suffix stored for a URL under the given prefix.
+     *
+     * @param url The URL
+     * @param prefixId The id returned by {@link #prefixIdOf(String)}
+     * @return The (possibly interned) suffix, or the URL itself when there is no prefix
+     */
+    public String suffixOf(String url, int prefixId) {
+        if (prefixId == NO_PREFIX) {
+            return url;
+        }
+        Prefix prefix = prefixes.get(prefixId);
+        String suffix = url.substring(prefix.value().length());
+        return prefix.template() ? intern(suffix) : suffix;
+    }
+
+    /**
+     * Rebuilds the full URL from its encoded form.
+     *
+     * @param prefixId The prefix id
+     * @param suffix The suffix
+     * @return The full URL
+     */
+    public String expand(int prefixId, String suffix) {
+        if (prefixId == NO_PREFIX || suffix == null) {
+            return suffix;
+        }
+        return prefixes.get(prefixId).value().concat(suffix);
+    }
+
+    /**
+     * Returns a shared instance for URLs under a template prefix, or the URL itself otherwise.
+     * Used where the full string has to stay a {@code String}, such as entity attributes.
+     *
+     * @param url The URL
+     * @return The canonical instance
+     */
+    public String canonicalize(String url) {
+        int prefixId = prefixIdOf(url);
+        if (prefixId == NO_PREFIX || !prefixes.get(prefixId).template()) {
+            return url;
+        }
+        return intern(url);
+    }
+
+    private String intern(String value) {
+        String existing = interned.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (interned.size() >= MAX_INTERNED) {
+            return value;
+        }
+        existing = interned.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
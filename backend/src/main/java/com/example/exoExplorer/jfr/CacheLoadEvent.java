@@ -0,0 +1,21 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Value computed by the cache itself after a miss.
+ */
+@Name("exoexplorer.CacheLoad")
+@Label("Cache Load")
+@Description("Value loaded into an application cache after a miss")
+@Category({"ExoExplorer", "Cache"})
+@StackTrace(false)
+public final class CacheLoadEvent extends Event {
+    @Label("Cache")
+    public String cache;
+}
@@ -0,0 +1,21 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Lookup that found nothing in an application cache.
+ */
+@Name("exoexplorer.CacheMiss")
+@Label("Cache Miss")
+@Description("Lookup that found nothing in an application cache")
+@Category({"ExoExplorer", "Cache"})
+@StackTrace(false)
+public final class CacheMissEvent extends Event {
+    @Label("Cache")
+    public String cache;
+}
@@ -0,0 +1,131 @@
+package com.example.exoExplorer.jfr;
+
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * On-demand flight recordings, one at a time.
+ * <p>
+ * A recording uses the JDK's {@code app.jfr.settings} configuration plus the application's
+ * events, and is bounded both in time, by {@code app.jfr.max-duration-seconds}, and on disk,
+ * by {@code app.jfr.max-size-mb}. Stopping it dumps it to a temporary {@code .jfr} file that
+ * the caller owns. Nothing is recorded, and the application's events cost next to nothing,
+ * while no recording runs.
+ */
+@Component
+public class FlightRecordings {
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordings.class);
+
+    private final Duration maxDuration;
+    private final long maxSizeBytes;
+    private final String settings;
+    private Recording recording;
+
+    public FlightRecordings(@Value("${app.jfr.max-duration-seconds:300}") long maxDurationSeconds,
+                            @Value("${app.jfr.max-size-mb:64}") long maxSizeMb,
+                            @Value("${app.jfr.settings:default}") String settings) {
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.settings = settings;
+    }
+
+    /**
+     * Starts a recording that stops by itself after the given duration.
+     *
+     * @param duration Recording duration, at most {@code app.jfr.max-duration-seconds}
+     * @return False if a recording already exists
+     */
+    public synchronized boolean start(Duration duration) {
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            throw new InvalidRequestException(
+                    "La durée doit être comprise entre 1 et " + maxDuration.toSeconds() + " secondes");
+        }
+        if (recording != null) {
+            return false;
+        }
+        Recording newRecording;
+        try {
+            newRecording = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Configuration JFR illisible : " + settings, e);
+        }
+        newRecording.setName("exoexplorer-admin");
+        for (Class<? extends Event> type : JfrEventTypes.ALL) {
+            newRecording.enable(type);
+        }
+        newRecording.setDuration(duration);
+        newRecording.setMaxSize(maxSizeBytes);
+        newRecording.setToDisk(true);
+        newRecording.start();
+        recording = newRecording;
+        logger.info("Flight recording started for {} s, settings {}", duration.toSeconds(), settings);
+        return true;
+    }
+
+    /**
+     * Stops the recording, if still running, and dumps it.
+     *
+     * @return The {@code .jfr} file, to be deleted by the caller, or empty if there was no recording
+     */
+    public synchronized Optional<Path> stop() {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        try {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            Path file = Files.createTempFile("exoexplorer-", ".jfr");
+            recording.dump(file);
+            logger.info("Flight recording dumped, {} bytes", Files.size(file));
+            return Optional.of(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible d'écrire l'enregistrement JFR", e);
+        } finally {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * @return State, start time, duration and size of the current recording
+     */
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("durationSeconds", recording.getDuration().toSeconds());
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
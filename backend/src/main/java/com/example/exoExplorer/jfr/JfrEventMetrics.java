@@ -0,0 +1,84 @@
+package com.example.exoExplorer.jfr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Event;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live statistics of the application's flight recorder events, as Micrometer timers.
+ * <p>
+ * With {@code app.jfr.streaming.enabled=true}, a {@link RecordingStream} keeps the
+ * application's events enabled and a JFR thread turns each one into a {@code jfr.events}
+ * timer sample, tagged with the event and with its low-cardinality field (cache, hashing
+ * operation, token outcome). Off by default: while it runs every event is written to
+ * the recorder's buffers, which is cheap but not free.
+ */
+@Component
+public class JfrEventMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(JfrEventMetrics.class);
+    private static final String PREFIX = "exoexplorer.";
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public JfrEventMetrics(MeterRegistry meterRegistry,
+                           @Value("${app.jfr.streaming.enabled:false}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts streaming the application's events, if enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || stream != null) {
+            return;
+        }
+        RecordingStream newStream = new RecordingStream();
+        newStream.setMaxAge(Duration.ofSeconds(10));
+        for (Class<? extends Event> type : JfrEventTypes.ALL) {
+            newStream.enable(type);
+        }
+        newStream.onEvent(this::record);
+        newStream.startAsync();
+        stream = newStream;
+        logger.info("JFR event streaming started for {} event types", JfrEventTypes.ALL.size());
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void record(RecordedEvent event) {
+        String name = event.getEventType().getName();
+        String field = JfrEventTypes.TAG_FIELDS.get(name);
+        String detail = field != null && event.hasField(field) ? String.valueOf(event.getString(field)) : "none";
+        timers.computeIfAbsent(name + '/' + detail, key -> Timer.builder("jfr.events")
+                        .description("Duration of the application's flight recorder events")
+                        .tag("event", name.startsWith(PREFIX) ? name.substring(PREFIX.length()) : name)
+                        .tag("detail", detail)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry))
+                .record(event.getDuration());
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The application's flight recorder events.
+ */
+final class JfrEventTypes {
+
+    static final List<Class<? extends Event>> ALL = List.of(
+            RefreshBatchEvent.class,
+            CacheMissEvent.class,
+            CacheLoadEvent.class,
+            PasswordHashEvent.class,
+            JwtVerifyEvent.class,
+            SummaryQueryEvent.class,
+            MailSendEvent.class);
+
+    /**
+     * Low-cardinality field of each event worth a metric tag.
+     */
+    static final Map<String, String> TAG_FIELDS = Map.of(
+            "exoexplorer.CacheMiss", "cache",
+            "exoexplorer.CacheLoad", "cache",
+            "exoexplorer.PasswordHash", "operation",
+            "exoexplorer.JwtVerify", "outcome");
+
+    private JfrEventTypes() {
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Verification of a bearer token.
+ */
+@Name("exoexplorer.JwtVerify")
+@Label("JWT Verify")
+@Description("Verification of a bearer token, from the cache or by signature check")
+@Category({"ExoExplorer", "Security"})
+@StackTrace(false)
+public final class JwtVerifyEvent extends Event {
+    @Label("Outcome")
+    @Description("cached, verified or invalid")
+    public String outcome;
+}
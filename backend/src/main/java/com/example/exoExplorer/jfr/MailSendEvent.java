@@ -0,0 +1,24 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Batch of emails sent over one SMTP connection.
+ */
+@Name("exoexplorer.MailSend")
+@Label("Mail Send")
+@Description("Batch of emails sent over one SMTP connection")
+@Category({"ExoExplorer", "Mail"})
+@StackTrace(false)
+public final class MailSendEvent extends Event {
+    @Label("Messages")
+    public int messages;
+
+    @Label("Refused")
+    public int refused;
+}
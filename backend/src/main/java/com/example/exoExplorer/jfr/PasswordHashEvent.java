@@ -0,0 +1,30 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * BCrypt work run on the hashing pool.
+ */
+@Name("exoexplorer.PasswordHash")
+@Label("Password Hash")
+@Description("BCrypt hashing or verification on the hashing pool")
+@Category({"ExoExplorer", "Security"})
+@StackTrace(false)
+public final class PasswordHashEvent extends Event {
+    @Label("Operation")
+    @Description("hash, verify or hash_batch")
+    public String operation;
+
+    @Label("Secrets")
+    public int secrets;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    public long queueWait;
+}
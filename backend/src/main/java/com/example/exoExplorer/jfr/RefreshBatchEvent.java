@@ -0,0 +1,30 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Refresh of the exoplanet table from the external archive.
+ */
+@Name("exoexplorer.RefreshBatch")
+@Label("Exoplanet Refresh")
+@Description("Fetch and upsert of the external exoplanet data")
+@Category({"ExoExplorer", "Data"})
+@StackTrace(false)
+public final class RefreshBatchEvent extends Event {
+    @Label("Fetched")
+    public int fetched;
+
+    @Label("Inserted")
+    public int inserted;
+
+    @Label("Updated")
+    public int updated;
+
+    @Label("Failed")
+    public int failed;
+}
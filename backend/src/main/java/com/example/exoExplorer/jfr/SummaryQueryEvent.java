@@ -0,0 +1,31 @@
+package com.example.exoExplorer.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Exoplanet summary page request, cached or not.
+ */
+@Name("exoexplorer.SummaryQuery")
+@Label("Summary Query")
+@Description("Exoplanet summary page, with the filters used but not their values")
+@Category({"ExoExplorer", "Data"})
+@StackTrace(false)
+public final class SummaryQueryEvent extends Event {
+    @Label("Filters")
+    @Description("Names of the filters set, comma separated")
+    public String filters;
+
+    @Label("Sort")
+    public String sort;
+
+    @Label("Page Size")
+    public int pageSize;
+
+    @Label("Results")
+    public int results;
+}
@@ -0,0 +1,73 @@
+package com.example.exoExplorer.mail;
+
+import org.unbescape.html.HtmlEscape;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template reduced to static segments and variable slots.
+ * <p>
+ * Rendering appends {@code segments[0], slot[0], segments[1], ..., segments[n]} into
+ * one builder sized up front, so it costs about as much as copying the output once.
+ * Slot values are HTML-escaped like {@code th:text}, or copied as is like {@code th:utext}.
+ */
+public final class CompiledTemplate {
+
+    /**
+     * A variable position in the output.
+     *
+     * @param variable Name of the template variable
+     * @param escaped True if the value must be HTML-escaped
+     */
+    public record Slot(String variable, boolean escaped) {
+    }
+
+    private final String[] segments;
+    private final Slot[] slots;
+    private final int staticLength;
+
+    /**
+     * @param segments Static text around the slots, one more than the slots
+     * @param slots Variable positions, in output order
+     */
+    CompiledTemplate(List<String> segments, List<Slot> slots) {
+        if (segments.size() != slots.size() + 1) {
+            throw new IllegalArgumentException("Expected " + (slots.size() + 1) + " segments, got " + segments.size());
+        }
+        this.segments = segments.toArray(new String[0]);
+        this.slots = slots.toArray(new Slot[0]);
+        this.staticLength = segments.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param variables Template variables, missing ones render as empty text
+     * @return The rendered output
+     */
+    public String render(Map<String, ?> variables) {
+        String[] values = new String[slots.length];
+        int length = staticLength;
+        for (int i = 0; i < slots.length; i++) {
+            Object value = variables.get(slots[i].variable());
+            String text = value == null ? "" : value.toString();
+            values[i] = slots[i].escaped() ? HtmlEscape.escapeHtml4Xml(text) : text;
+            length += values[i].length();
+        }
+
+        StringBuilder out = new StringBuilder(length);
+        out.append(segments[0]);
+        for (int i = 0; i < slots.length; i++) {
+            out.append(values[i]).append(segments[i + 1]);
+        }
+        return out.toString();
+    }
+
+    /**
+     * @return Number of variable slots
+     */
+    public int slotCount() {
+        return slots.length;
+    }
+}
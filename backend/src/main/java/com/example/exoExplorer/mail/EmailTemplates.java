@@ -0,0 +1,179 @@
+package com.example.exoExplorer.mail;
+
+import com.example.exoExplorer.mail.CompiledTemplate.Slot;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternUtils;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Renders email templates, precompiling the simple ones.
+ * <p>
+ * A template qualifies when its only Thymeleaf attributes are {@code th:text} or
+ * {@code th:utext} on a bare variable, which covers the transactional emails. It is
+ * rendered once through Thymeleaf with a unique marker per variable, and the output is
+ * cut at the markers into a {@link CompiledTemplate}. Anything else (iteration,
+ * conditions, inlining...) keeps going through Thymeleaf on every call.
+ * Templates under {@code templates/} are compiled at startup, others on first use.
+ */
+@Component
+public class EmailTemplates {
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplates.class);
+
+    private static final String LOCATION = "classpath:templates/";
+    private static final String SUFFIX = ".html";
+    private static final Pattern TH_ATTRIBUTE = Pattern.compile("(?<![\\w:-])(?:data-)?th[:-]([\\w-]+)\\s*=\\s*\"([^\"]*)\"");
+    private static final Pattern SIMPLE_VARIABLE = Pattern.compile("\\$\\{\\s*([A-Za-z_]\\w*)\\s*}");
+    private static final Pattern INLINING = Pattern.compile("\\[\\[|\\[\\(");
+    private static final String PROBE = "<&'\"é>";
+
+    private final TemplateEngine templateEngine;
+    private final ResourcePatternResolver resources;
+    private final Map<String, Optional<CompiledTemplate>> compiled = new ConcurrentHashMap<>();
+
+    public EmailTemplates(TemplateEngine templateEngine, ResourceLoader resourceLoader) {
+        this.templateEngine = templateEngine;
+        this.resources = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
+    }
+
+    /**
+     * Compiles every template found under {@code templates/}.
+     */
+    @PostConstruct
+    public void precompile() {
+        try {
+            for (Resource resource : resources.getResources(LOCATION + "*" + SUFFIX)) {
+                String filename = resource.getFilename();
+                if (filename != null) {
+                    lookup(filename.substring(0, filename.length() - SUFFIX.length()));
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Unable to list email templates, they will be compiled on first use", e);
+        }
+    }
+
+    /**
+     * Renders a template.
+     *
+     * @param name Template name, as given to Thymeleaf
+     * @param variables Template variables
+     * @return The rendered output
+     */
+    public String render(String name, Map<String, ?> variables) {
+        Optional<CompiledTemplate> template = lookup(name);
+        if (template.isPresent()) {
+            return template.get().render(variables);
+        }
+        return templateEngine.process(name, new Context(Locale.getDefault(), new HashMap<>(variables)));
+    }
+
+    /**
+     * @param name Template name
+     * @return True if the template is rendered without Thymeleaf
+     */
+    public boolean isCompiled(String name) {
+        return lookup(name).isPresent();
+    }
+
+    private Optional<CompiledTemplate> lookup(String name) {
+        return compiled.computeIfAbsent(name, this::compile);
+    }
+
+    private Optional<CompiledTemplate> compile(String name) {
+        try {
+            Map<String, Boolean> variables = simpleVariables(name);
+            if (variables == null) {
+                logger.info("Email template {} uses Thymeleaf features beyond simple variables, not precompiled", name);
+                return Optional.empty();
+            }
+
+            // One marker per variable, which Thymeleaf copies through escaping unchanged
+            String nonce = UUID.randomUUID().toString().replace("-", "");
+            List<String> names = new ArrayList<>(variables.keySet());
+            Map<String, Object> markers = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                markers.put(names.get(i), "SLOT" + nonce + "_" + i + "_");
+            }
+            String output = templateEngine.process(name, new Context(Locale.getDefault(), markers));
+
+            List<String> segments = new ArrayList<>();
+            List<Slot> slots = new ArrayList<>();
+            Matcher matcher = Pattern.compile("SLOT" + nonce + "_(\\d+)_").matcher(output);
+            int from = 0;
+            while (matcher.find()) {
+                String variable = names.get(Integer.parseInt(matcher.group(1)));
+                segments.add(output.substring(from, matcher.start()));
+                slots.add(new Slot(variable, variables.get(variable)));
+                from = matcher.end();
+            }
+            segments.add(output.substring(from));
+            CompiledTemplate template = new CompiledTemplate(segments, slots);
+
+            // The compiled form must render exactly what Thymeleaf renders
+            Map<String, Object> probe = new HashMap<>();
+            variables.keySet().forEach(variable -> probe.put(variable, PROBE + variable));
+            if (!template.render(probe).equals(templateEngine.process(name, new Context(Locale.getDefault(), probe)))) {
+                logger.warn("Compiled email template {} does not match Thymeleaf output, not precompiled", name);
+                return Optional.empty();
+            }
+
+            logger.info("Email template {} precompiled into {} segments", name, segments.size());
+            return Optional.of(template);
+        } catch (RuntimeException | IOException e) {
+            logger.warn("Unable to precompile email template {}, using Thymeleaf", name, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Lists the variables of a template made only of {@code th:text} and {@code th:utext}
+     * on bare variables, mapped to whether they are escaped.
+     *
+     * @return The variables, or null if the template uses anything else
+     */
+    private Map<String, Boolean> simpleVariables(String name) throws IOException {
+        Resource resource = resources.getResource(LOCATION + name + SUFFIX);
+        if (!resource.exists()) {
+            return null;
+        }
+        String source;
+        try (InputStream in = resource.getInputStream()) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        if (INLINING.matcher(source).find()) {
+            return null;
+        }
+
+        Map<String, Boolean> variables = new LinkedHashMap<>();
+        Matcher attribute = TH_ATTRIBUTE.matcher(source);
+        while (attribute.find()) {
+            String processor = attribute.group(1);
+            Matcher variable = SIMPLE_VARIABLE.matcher(attribute.group(2).trim());
+            if (!(processor.equals("text") || processor.equals("utext")) || !variable.matches()) {
+                return null;
+            }
+            Boolean escaped = processor.equals("text");
+            if (!escaped.equals(variables.getOrDefault(variable.group(1), escaped))) {
+                // Same variable both escaped and unescaped
+                return null;
+            }
+            variables.put(variable.group(1), escaped);
+        }
+        return variables;
+    }
+}
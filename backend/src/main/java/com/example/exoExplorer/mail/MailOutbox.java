@@ -0,0 +1,369 @@
+package com.example.exoExplorer.mail;
+
+import com.example.exoExplorer.jfr.MailSendEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outbox taking outgoing emails off request threads.
+ * <p>
+ * Emails are queued in memory once the caller's transaction commits, and a small pool
+ * of workers drains the queue in batches. Each batch is handed to
+ * {@link JavaMailSender#send(MimeMessage...)}, which sends it over a single SMTP
+ * connection. Messages the server refuses, or a batch that cannot connect, are retried
+ * with exponential backoff up to {@code app.mail.outbox.max-attempts}, then dropped.
+ * <p>
+ * With {@code app.mail.outbox.persistent=true}, each email is also written to the
+ * {@code mail_outbox} table in the caller's transaction, deleted once sent, and reloaded
+ * on startup. The reload is not coordinated between instances, so persistent mode
+ * is meant for a single instance.
+ */
+@Component
+public class MailOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(MailOutbox.class);
+
+    private record Envelope(OutboundMail mail, int attempt, long queuedAt) {
+        private Envelope(OutboundMail mail) {
+            this(mail, 0, System.nanoTime());
+        }
+    }
+
+    private final JavaMailSender mailSender;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean persistent;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    private final BlockingQueue<Envelope> queue;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService workers;
+    private final ScheduledExecutorService retries;
+    private volatile boolean running = true;
+
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter rejected;
+    private final Timer batchTimer;
+    private final Timer delivered;
+    private final Timer dropped;
+    private final DistributionSummary batchSizes;
+
+    @Autowired
+    public MailOutbox(JavaMailSender mailSender, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                      @Value("${app.mail.outbox.workers:2}") int workerCount,
+                      @Value("${app.mail.outbox.batch-size:20}") int batchSize,
+                      @Value("${app.mail.outbox.capacity:10000}") int capacity,
+                      @Value("${app.mail.outbox.max-attempts:5}") int maxAttempts,
+                      @Value("${app.mail.outbox.backoff-ms:1000}") long backoffMillis,
+                      @Value("${app.mail.outbox.max-backoff-ms:60000}") long maxBackoffMillis,
+                      @Value("${app.mail.outbox.persistent:false}") boolean persistent) {
+        this.mailSender = mailSender;
+        this.jdbcTemplate = jdbcTemplate;
+        this.persistent = persistent;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("mail.outbox.queue.depth", queue, BlockingQueue::size)
+                .description("Emails ready to be sent")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.pending", pending, AtomicInteger::get)
+                .description("Emails accepted and not yet sent or dropped, including retries")
+                .register(meterRegistry);
+        this.sent = Counter.builder("mail.outbox.sent")
+                .description("Emails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.retried = Counter.builder("mail.outbox.retried")
+                .description("Send attempts scheduled again after a failure")
+                .register(meterRegistry);
+        this.failed = Counter.builder("mail.outbox.failed")
+                .description("Emails dropped after the last attempt")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("mail.outbox.rejected")
+                .description("Emails refused because the queue was full")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("mail.outbox.batch.duration")
+                .description("Time spent sending one batch over one SMTP connection")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("mail.outbox.batch.size")
+                .description("Emails per SMTP connection")
+                .register(meterRegistry);
+        this.delivered = deliveryTimer(meterRegistry, "sent");
+        this.dropped = deliveryTimer(meterRegistry, "failed");
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.execute(this::drain);
+        }
+        logger.info("Mail outbox: {} workers, batches of {}, {} attempts, persistent={}",
+                workerCount, batchSize, maxAttempts, persistent);
+    }
+
+    /**
+     * Queues an email, after the current transaction commits if there is one.
+     * In persistent mode the email is written to the outbox table within that transaction.
+     *
+     * @param mail The email to send
+     */
+    public void enqueue(OutboundMail mail) {
+        if (persistent) {
+            jdbcTemplate.update("INSERT INTO mail_outbox (id, recipient, subject, body, html, created_at) "
+                            + "VALUES (?, ?, ?, ?, ?, ?)",
+                    mail.id(), mail.to(), mail.subject(), mail.body(), mail.html(),
+                    Timestamp.valueOf(LocalDateTime.now()));
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    accept(new Envelope(mail));
+                }
+            });
+        } else {
+            accept(new Envelope(mail));
+        }
+    }
+
+    /**
+     * Reloads emails left in the outbox table by a previous run.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!persistent) {
+            return;
+        }
+        List<OutboundMail> leftovers = jdbcTemplate.query(
+                "SELECT id, recipient, subject, body, html FROM mail_outbox ORDER BY created_at",
+                (rs, rowNum) -> new OutboundMail(rs.getString("id"), rs.getString("recipient"),
+                        rs.getString("subject"), rs.getString("body"), rs.getBoolean("html")));
+        if (!leftovers.isEmpty()) {
+            logger.info("Recovering {} unsent emails from the outbox table", leftovers.size());
+        }
+        leftovers.forEach(mail -> accept(new Envelope(mail)));
+    }
+
+    /**
+     * Drops the queued emails and empties the outbox table, for a reset of all user data.
+     * Batches already handed to a worker and scheduled retries still go out.
+     */
+    public void clear() {
+        List<Envelope> discarded = new ArrayList<>();
+        queue.drainTo(discarded);
+        pending.addAndGet(-discarded.size());
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+        logger.info("Mail outbox cleared, {} queued emails dropped", discarded.size());
+    }
+
+    /**
+     * @return Number of emails accepted and not yet sent or dropped
+     */
+    public int pending() {
+        return pending.get();
+    }
+
+    private static Timer deliveryTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("mail.outbox.delivery")
+                .description("Time from queueing an email to its final outcome, retries included")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void accept(Envelope envelope) {
+        pending.incrementAndGet();
+        if (!queue.offer(envelope)) {
+            pending.decrementAndGet();
+            rejected.increment();
+            // A persisted copy stays in the table and is retried on the next start
+            logger.error("Mail outbox full, email to {} not queued", envelope.mail().to());
+        }
+    }
+
+    /**
+     * Worker loop: waits for an email, then sends it with whatever else is ready.
+     */
+    private void drain() {
+        List<Envelope> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Envelope first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                deliver(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Unexpected mail outbox failure", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Sends a batch over one connection and schedules a retry for each refused email.
+     */
+    private void deliver(List<Envelope> batch) {
+        Map<MimeMessage, Envelope> messages = new IdentityHashMap<>();
+        for (Envelope envelope : batch) {
+            try {
+                messages.put(toMimeMessage(envelope.mail()), envelope);
+            } catch (MessagingException | MailException e) {
+                giveUp(envelope, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        Set<Object> refused = Set.of();
+        Exception cause = null;
+        MailSendEvent event = new MailSendEvent();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            refused = e.getFailedMessages().isEmpty() ? Set.copyOf(messages.keySet()) : e.getFailedMessages().keySet();
+            cause = e;
+        } catch (MailException e) {
+            refused = Set.copyOf(messages.keySet());
+            cause = e;
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSizes.record(messages.size());
+        }
+        if (event.shouldCommit()) {
+            event.messages = messages.size();
+            event.refused = refused.size();
+            event.commit();
+        }
+
+        for (Map.Entry<MimeMessage, Envelope> entry : messages.entrySet()) {
+            if (refused.contains(entry.getKey())) {
+                retryOrGiveUp(entry.getValue(), cause);
+            } else {
+                sent.increment();
+                delivered.record(System.nanoTime() - entry.getValue().queuedAt(), TimeUnit.NANOSECONDS);
+                complete(entry.getValue());
+            }
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutboundMail mail) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, mail.html(), "UTF-8");
+        helper.setTo(mail.to());
+        helper.setSubject(mail.subject());
+        helper.setText(mail.body(), mail.html());
+        return message;
+    }
+
+    private void retryOrGiveUp(Envelope envelope, Exception cause) {
+        int attempt = envelope.attempt() + 1;
+        if (attempt >= maxAttempts || !running) {
+            giveUp(envelope, cause);
+            return;
+        }
+        long delay = Math.min(maxBackoffMillis, backoffMillis << Math.min(attempt - 1, 20));
+        logger.warn("Sending email to {} failed (attempt {}/{}), retrying in {} ms: {}",
+                envelope.mail().to(), attempt, maxAttempts, delay, cause != null ? cause.getMessage() : "refused");
+        retried.increment();
+        try {
+            retries.schedule(() -> requeue(new Envelope(envelope.mail(), attempt, envelope.queuedAt())), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            giveUp(envelope, cause);
+        }
+    }
+
+    private void requeue(Envelope envelope) {
+        if (!queue.offer(envelope)) {
+            giveUp(envelope, null);
+        }
+    }
+
+    private void giveUp(Envelope envelope, Exception cause) {
+        failed.increment();
+        dropped.record(System.nanoTime() - envelope.queuedAt(), TimeUnit.NANOSECONDS);
+        logger.error("Giving up on email to {} after {} attempts", envelope.mail().to(), envelope.attempt() + 1, cause);
+        complete(envelope);
+    }
+
+    private void complete(Envelope envelope) {
+        if (persistent) {
+            try {
+                jdbcTemplate.update("DELETE FROM mail_outbox WHERE id = ?", envelope.mail().id());
+            } catch (RuntimeException e) {
+                logger.warn("Unable to remove email {} from the outbox table", envelope.mail().id(), e);
+            }
+        }
+        pending.decrementAndGet();
+    }
+
+    /**
+     * Stops retries and lets the workers flush what is already queued, for a few seconds at most.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        retries.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        if (pending.get() > 0) {
+            logger.warn("Mail outbox stopped with {} emails unsent", pending.get());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.exoExplorer.mail;
+
+import java.util.UUID;
+
+/**
+ * An email waiting in the {@link MailOutbox}, kept as plain data so it can be persisted
+ * and rebuilt into a MIME message on the sending thread.
+ *
+ * @param id Unique id, also the key of the persisted row
+ * @param to Recipient email address
+ * @param subject Email subject
+ * @param body Email content
+ * @param html True if the content is HTML
+ */
+public record OutboundMail(String id, String to, String subject, String body, boolean html) {
+
+    /**
+     * Creates a plain text email.
+     */
+    public static OutboundMail text(String to, String subject, String body) {
+        return new OutboundMail(UUID.randomUUID().toString(), to, subject, body, false);
+    }
+
+    /**
+     * Creates an HTML email.
+     */
+    public static OutboundMail html(String to, String subject, String body) {
+        return new OutboundMail(UUID.randomUUID().toString(), to, subject, body, true);
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.exoExplorer.observer;
 
+import com.example.exoExplorer.analytics.TrendingExoplanets;
+import com.example.exoExplorer.analytics.UserAnalytics;
 import com.example.exoExplorer.entities.Exoplanet;
 import com.example.exoExplorer.entities.User;
 import org.slf4j.Logger;
@@ -8,65 +10,47 @@ import org.springframework.stereotype.Component;
 
 /**
  * Analytics observer for user actions.
- * Collects analytics data for user actions.
+ * Feeds user action events into {@link UserAnalytics}, and favorites into {@link TrendingExoplanets}.
  */
 @Component
 public class AnalyticsUserActionObserver implements UserActionObserver {
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsUserActionObserver.class);
 
+    private final UserAnalytics analytics;
+    private final TrendingExoplanets trending;
+
     /**
      * Initialize and register with subject.
      *
      * @param subject The subject to observe
+     * @param analytics The analytics the events are recorded into
+     * @param trending The trending exoplanets favorites count towards
      */
-    public AnalyticsUserActionObserver(UserActionSubject subject) {
+    public AnalyticsUserActionObserver(UserActionSubject subject, UserAnalytics analytics, TrendingExoplanets trending) {
+        this.analytics = analytics;
+        this.trending = trending;
         subject.addObserver(this);
     }
 
     @Override
     public void onUserAction(UserActionEvent event, User user, Object data) {
-        // In a real implementation, this would send analytics data to a service
-        logger.debug("Analytics event: {} for user: {}", event, user.getEmail());
+        // Trace rather than debug: this runs for every event and must not allocate
+        if (logger.isTraceEnabled()) {
+            logger.trace("Analytics event: {} for user: {}", event, user.getEmail());
+        }
 
-        // Example analytics collection based on event type
         switch (event) {
-            case USER_REGISTERED:
-                // Track user registration
-                trackEvent("registration", user.getEmail());
-                break;
             case USER_FAVORITE_ADDED:
-                // Track favorite added with exoplanet info
-                Exoplanet exo = (Exoplanet) data;
-                trackEventWithProperties("favorite_added", user.getEmail(),
-                        "exoplanet_id", exo.getId(),
-                        "exoplanet_name", exo.getName());
-                break;
             case USER_FAVORITE_REMOVED:
-                // Track favorite removed
-                Exoplanet removedExo = (Exoplanet) data;
-                trackEventWithProperties("favorite_removed", user.getEmail(),
-                        "exoplanet_id", removedExo.getId(),
-                        "exoplanet_name", removedExo.getName());
+                Exoplanet exo = (Exoplanet) data;
+                boolean added = event == UserActionEvent.USER_FAVORITE_ADDED;
+                analytics.recordFavorite(exo.getId(), added);
+                if (added) {
+                    trending.recordFavorite(exo.getId());
+                }
                 break;
             default:
-                // Track other events
-                trackEvent(event.toString().toLowerCase(), user.getEmail());
+                analytics.record(event);
         }
     }
-
-    /**
-     * Track a simple event.
-     */
-    private void trackEvent(String eventName, String userId) {
-        logger.debug("Tracking event: {} for user: {}", eventName, userId);
-        // In a real implementation, this would send data to an analytics service
-    }
-
-    /**
-     * Track an event with additional properties.
-     */
-    private void trackEventWithProperties(String eventName, String userId, Object... properties) {
-        logger.debug("Tracking event: {} for user: {} with properties", eventName, userId);
-        // In a real implementation, this would send data with properties to an analytics service
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.example.exoExplorer.observer;
+
+/**
+ * What the {@link UserActionRingBuffer} does when the slowest observer is a full ring behind.
+ */
+public enum OverflowPolicy {
+    /**
+     * The event is dropped and counted, the publisher never waits.
+     * Events relayed from the outbox table are never dropped: the relay waits instead.
+     */
+    DROP,
+    /**
+     * The publisher waits for a free slot, slowing callers down to the slowest observer.
+     */
+    BLOCK
+}
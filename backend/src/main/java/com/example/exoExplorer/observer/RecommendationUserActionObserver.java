@@ -0,0 +1,44 @@
+package com.example.exoExplorer.observer;
+
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.recommendation.FavoriteCooccurrence;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recommendation observer for user actions.
+ * Keeps the favorites co-occurrence matrix in step with favorites added and removed.
+ */
+@Component
+public class RecommendationUserActionObserver implements UserActionObserver {
+
+    private final FavoriteCooccurrence cooccurrence;
+
+    /**
+     * Initialize and register with subject.
+     *
+     * @param subject The subject to observe
+     * @param cooccurrence The co-occurrence matrix to update
+     */
+    @Autowired
+    public RecommendationUserActionObserver(UserActionSubject subject, FavoriteCooccurrence cooccurrence) {
+        this.cooccurrence = cooccurrence;
+        subject.addObserver(this);
+    }
+
+    @Override
+    public void onUserAction(UserActionEvent event, User user, Object data) {
+        switch (event) {
+            case USER_FAVORITE_ADDED:
+                cooccurrence.favoriteAdded(user.getId(), ((Exoplanet) data).getId());
+                break;
+            case USER_FAVORITE_REMOVED:
+                cooccurrence.favoriteRemoved(user.getId(), ((Exoplanet) data).getId());
+                break;
+            default:
+                // Only favorites matter for recommendations
+                break;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.example.exoExplorer.observer;
+
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import com.example.exoExplorer.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox for user action events.
+ * <p>
+ * {@link #append} writes the event to the {@code user_action_outbox} table in the caller's
+ * transaction, so it exists exactly when the user change does. A relay thread claims rows in
+ * batches, oldest first, with {@code FOR UPDATE SKIP LOCKED} where the database supports it,
+ * and commits the claim right away as a lease in {@code claimed_until}, so several instances
+ * share the table without handing out a row twice and no connection is held while observers
+ * run. It then reloads the user and exoplanet of each row, detached, hands the events to the
+ * dispatcher and waits until every observer has handled them before deleting the rows in a
+ * second short transaction. Once dispatched, an event reaches every observer: a slow observer
+ * only delays the deletion, the lease being renewed every
+ * {@code app.events.outbox.handle-timeout-ms}, and never causes a replay to the others. Rows
+ * whose lease expires, because their relay crashed or stopped, are relayed again: delivery is
+ * at least once. The relay polls every {@code app.events.outbox.poll-ms} and is woken right
+ * after a local commit.
+ */
+@Component
+public class UserActionOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(UserActionOutbox.class);
+
+    /**
+     * Hands relayed events to the observers.
+     */
+    public interface Dispatcher {
+        /**
+         * Publishes an event, waiting for room if the observers are behind.
+         *
+         * @param timeout Maximum wait for room
+         * @return Sequence of the event, or -1 if there was still no room after the timeout
+         */
+        long dispatch(UserActionEvent event, User user, Object data, Duration timeout);
+
+        /**
+         * Waits until every observer has handled the events up to a sequence.
+         *
+         * @param timeout Maximum wait
+         * @return False if an observer was still behind after the timeout
+         */
+        boolean awaitHandled(long sequence, Duration timeout);
+    }
+
+    private record Row(String id, UserActionEvent event, long userId, Integer exoplanetId, LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final ExoplaneteRepository exoplanetRepository;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pollNanos;
+    private final Duration handleTimeout;
+    private final Duration lease;
+    private final String claimSql;
+    private final boolean skipLocked;
+
+    private final Timer lag;
+    private final Counter relayed;
+    private final Counter orphaned;
+    private final DistributionSummary batchSizes;
+
+    private volatile Dispatcher dispatcher;
+    private volatile Thread relay;
+    private volatile boolean running;
+
+    public UserActionOutbox(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            EntityManagerFactory entityManagerFactory, UserRepository userRepository,
+                            ExoplaneteRepository exoplanetRepository, MeterRegistry meterRegistry,
+                            @Value("${app.events.outbox.enabled:true}") boolean enabled,
+                            @Value("${app.events.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.events.outbox.poll-ms:500}") long pollMillis,
+                            @Value("${app.events.outbox.handle-timeout-ms:30000}") long handleTimeoutMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.exoplanetRepository = exoplanetRepository;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pollNanos = TimeUnit.MILLISECONDS.toNanos(pollMillis);
+        this.handleTimeout = Duration.ofMillis(handleTimeoutMillis);
+        // Renewed every handle timeout while the observers are behind
+        this.lease = handleTimeout.multipliedBy(2);
+
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        // The batch is bounded with setMaxRows: Oracle rejects FETCH FIRST together with FOR UPDATE
+        this.skipLocked = dialect.supportsSkipLocked();
+        this.claimSql = "SELECT id, event, user_id, exoplanet_id, created_at FROM user_action_outbox "
+                + "WHERE claimed_until IS NULL OR claimed_until < ? ORDER BY created_at"
+                + (skipLocked ? dialect.getForUpdateSkipLockedString() : dialect.getForUpdateString());
+
+        this.lag = Timer.builder("user.events.outbox.lag")
+                .description("Time from the commit of a user action to its dispatch to observers")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.relayed = Counter.builder("user.events.outbox.relayed")
+                .description("User action events relayed from the outbox table")
+                .register(meterRegistry);
+        this.orphaned = Counter.builder("user.events.outbox.orphaned")
+                .description("Outbox events dropped because their user or exoplanet no longer exists")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("user.events.outbox.batch.size")
+                .description("Events claimed per relay batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return True if events go through the outbox table
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Writes an event to the outbox table in the current transaction, and wakes the relay
+     * once it commits.
+     *
+     * @param event The type of event that occurred
+     * @param user The user who performed the action
+     * @param data The exoplanet concerned, or null
+     */
+    public void append(UserActionEvent event, User user, Object data) {
+        Integer exoplanetId = data instanceof Exoplanet exoplanet ? exoplanet.getId() : null;
+        jdbcTemplate.update("INSERT INTO user_action_outbox (id, event, user_id, exoplanet_id, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?)",
+                UUID.randomUUID().toString(), event.name(), user.getId(), exoplanetId,
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake();
+                }
+            });
+        } else {
+            wake();
+        }
+    }
+
+    /**
+     * Starts the relay thread.
+     *
+     * @param dispatcher Receives every relayed event
+     */
+    public synchronized void start(Dispatcher dispatcher) {
+        if (!enabled || relay != null) {
+            return;
+        }
+        this.dispatcher = dispatcher;
+        this.running = true;
+        Thread thread = new Thread(this::run, "user-events-outbox-relay");
+        thread.setDaemon(true);
+        this.relay = thread;
+        thread.start();
+        logger.info("User action outbox relay started: batches of {}, skip locked={}", batchSize, skipLocked);
+    }
+
+    /**
+     * Claims and dispatches one batch of events, then deletes it once the observers have handled it.
+     *
+     * @return Number of rows relayed, less than claimed if the observers were a full ring behind
+     */
+    public int relayBatch() {
+        List<Row> rows = claim();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // Outside of any transaction, the entities are detached once loaded
+        Map<Long, User> users = userRepository.findAllById(rows.stream().map(Row::userId).distinct().toList())
+                .stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        Map<Integer, Exoplanet> exoplanets = exoplanetRepository.findAllById(
+                        rows.stream().map(Row::exoplanetId).filter(Objects::nonNull).distinct().toList())
+                .stream().collect(Collectors.toMap(Exoplanet::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Row> done = new ArrayList<>();
+        List<Row> undispatched = List.of();
+        long last = -1;
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            User user = users.get(row.userId());
+            Exoplanet exoplanet = row.exoplanetId() == null ? null : exoplanets.get(row.exoplanetId());
+            if (user == null || (row.exoplanetId() != null && exoplanet == null)) {
+                orphaned.increment();
+                done.add(row);
+                continue;
+            }
+            long sequence = dispatcher.dispatch(row.event(), user, exoplanet, handleTimeout);
+            if (sequence < 0) {
+                logger.warn("Observers are a full ring behind, {} outbox events left for the next relay", rows.size() - i);
+                undispatched = rows.subList(i, rows.size());
+                break;
+            }
+            last = sequence;
+            done.add(row);
+            lag.record(Duration.between(row.createdAt(), now));
+        }
+        release(undispatched);
+
+        while (last >= 0 && !dispatcher.awaitHandled(last, handleTimeout)) {
+            if (!running && relay != null) {
+                // Shutting down: the rows are relayed again once their lease expires
+                return done.size();
+            }
+            logger.warn("Observers did not handle the outbox batch within {} ms, still waiting", handleTimeout.toMillis());
+            renew(done);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "DELETE FROM user_action_outbox WHERE id = ?",
+                done, done.size(), (statement, row) -> statement.setString(1, row.id())));
+        relayed.increment(done.size());
+        batchSizes.record(rows.size());
+        return done.size();
+    }
+
+    /**
+     * Deletes every event not relayed yet, for a reset of all user data.
+     * Events already dispatched by a relay batch in progress are still handled.
+     */
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM user_action_outbox");
+    }
+
+    /**
+     * Stops the relay thread, after the batch in progress.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = relay;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Takes a lease on the oldest rows not claimed yet, in a transaction of its own.
+     */
+    private List<Row> claim() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Row> rows = transactionTemplate.execute(status -> {
+            List<Row> claimed = jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(claimSql);
+                statement.setMaxRows(batchSize);
+                statement.setTimestamp(1, Timestamp.valueOf(now));
+                return statement;
+            }, (rs, rowNum) -> new Row(rs.getString("id"), UserActionEvent.valueOf(rs.getString("event")),
+                    rs.getLong("user_id"), (Integer) rs.getObject("exoplanet_id", Integer.class),
+                    rs.getTimestamp("created_at").toLocalDateTime()));
+            setClaimedUntil(claimed, Timestamp.valueOf(now.plus(lease)));
+            return claimed;
+        });
+        return rows == null ? List.of() : rows;
+    }
+
+    private void renew(List<Row> rows) {
+        transactionTemplate.executeWithoutResult(status ->
+                setClaimedUntil(rows, Timestamp.valueOf(LocalDateTime.now().plus(lease))));
+    }
+
+    private void release(List<Row> rows) {
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> setClaimedUntil(rows, null));
+        }
+    }
+
+    private void setClaimedUntil(List<Row> rows, Timestamp claimedUntil) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE user_action_outbox SET claimed_until = ? WHERE id = ?",
+                    rows, rows.size(), (statement, row) -> {
+                        statement.setTimestamp(1, claimedUntil);
+                        statement.setString(2, row.id());
+                    });
+        }
+    }
+
+    private void wake() {
+        Thread thread = relay;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int claimed = 0;
+            try {
+                claimed = relayBatch();
+            } catch (RuntimeException e) {
+                logger.error("User action outbox relay failed, retrying after the poll interval", e);
+            }
+            if (claimed < batchSize && running) {
+                LockSupport.parkNanos(this, pollNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.exoExplorer.observer;
+
+import com.example.exoExplorer.entities.User;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Preallocated ring of user action events, delivered to each observer on its own thread.
+ * <p>
+ * Publishers claim a sequence number with a CAS on the cursor, so each slot has exactly one
+ * writer, fill the slot in place and mark it published for that lap of the ring. Every
+ * observer has a consumer thread and a sequence of its own: it reads all contiguous
+ * published slots up to {@code batchSize} at once, then advances its sequence, which is
+ * what frees the slots for reuse. A slow observer only delays itself, until it falls
+ * a full ring behind; the {@link OverflowPolicy} then decides between dropping new events
+ * and making publishers wait. Publishers that must not lose an event, like the outbox relay,
+ * wait for a slot whatever the policy and can then wait for the observers to catch up.
+ */
+public final class UserActionRingBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(UserActionRingBuffer.class);
+
+    private static final class Slot {
+        private UserActionEvent event;
+        private User user;
+        private Object data;
+        private long publishedAt;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int shift;
+    private final AtomicIntegerArray publishedLap;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private final int batchSize;
+    private final WaitStrategy waitStrategy;
+    private final OverflowPolicy overflowPolicy;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private volatile long gatingCache = -1;
+
+    /**
+     * @param capacity Number of slots, rounded up to a power of two
+     * @param batchSize Maximum events an observer handles before advancing its sequence
+     * @param waitStrategy How observer threads wait for events
+     * @param overflowPolicy What publishers do when the ring is full
+     */
+    public UserActionRingBuffer(int capacity, int batchSize, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy) {
+        int size = capacity <= 1 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.shift = Integer.numberOfTrailingZeros(size);
+        this.publishedLap = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            publishedLap.set(i, -1);
+        }
+        this.batchSize = Math.max(1, batchSize);
+        this.waitStrategy = waitStrategy;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Publishes an event to every observer.
+     *
+     * @return False if the event was dropped because the ring was full
+     */
+    public boolean publish(UserActionEvent event, User user, Object data) {
+        long sequence = claim(overflowPolicy == OverflowPolicy.BLOCK ? Long.MAX_VALUE : 0);
+        if (sequence < 0) {
+            return false;
+        }
+        write(sequence, event, user, data);
+        return true;
+    }
+
+    /**
+     * Publishes an event to every observer, waiting for a free slot whatever the overflow policy.
+     *
+     * @param timeout Maximum wait for a free slot
+     * @return Sequence of the event, or -1 if the ring was still full when the timeout expired
+     */
+    public long publish(UserActionEvent event, User user, Object data, Duration timeout) {
+        long sequence = claim(timeout.toNanos());
+        if (sequence >= 0) {
+            write(sequence, event, user, data);
+        }
+        return sequence;
+    }
+
+    /**
+     * Waits until every observer has handled the events up to a sequence.
+     * Observers subscribed after that event was published are not waited for.
+     *
+     * @param sequence Sequence returned by {@link #publish(UserActionEvent, User, Object, Duration)}
+     * @param timeout Maximum wait
+     * @return False if an observer was still behind when the timeout expired
+     */
+    public boolean awaitHandled(long sequence, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int polls = 0;
+        while (minimumSequence(sequence) < sequence) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            if (polls++ < 100) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(50_000);
+            }
+        }
+        return true;
+    }
+
+    private void write(long sequence, UserActionEvent event, User user, Object data) {
+        Slot slot = slots[(int) sequence & mask];
+        slot.event = event;
+        slot.user = user;
+        slot.data = data;
+        slot.publishedAt = System.nanoTime();
+        publishedLap.set((int) sequence & mask, lap(sequence));
+
+        if (waitStrategy == WaitStrategy.BLOCKING) {
+            signalConsumers();
+        }
+    }
+
+    /**
+     * Starts delivering events published from now on to an observer.
+     */
+    public void subscribe(UserActionObserver observer) {
+        subscribe(observer, null);
+    }
+
+    /**
+     * Starts delivering events published from now on to an observer, timing each delivery.
+     *
+     * @param latency Records the time from publication to the end of the observer's handling, or null
+     */
+    public void subscribe(UserActionObserver observer, Timer latency) {
+        Consumer consumer = new Consumer(observer, latency, cursor.get());
+        consumers.add(consumer);
+        consumer.thread.start();
+    }
+
+    /**
+     * Stops delivering events to an observer, after it has handled those already published.
+     */
+    public void unsubscribe(UserActionObserver observer) {
+        for (Consumer consumer : consumers) {
+            if (consumer.observer == observer) {
+                consumer.stop(Duration.ofSeconds(5));
+                consumers.remove(consumer);
+            }
+        }
+    }
+
+    /**
+     * Stops every observer thread, letting each drain the events already published.
+     *
+     * @param timeout Maximum wait per observer
+     */
+    public void shutdown(Duration timeout) {
+        consumers.forEach(consumer -> consumer.running = false);
+        signalConsumers();
+        for (Consumer consumer : consumers) {
+            consumer.stop(timeout);
+        }
+        consumers.clear();
+    }
+
+    /**
+     * @return Events published but not yet handled by the given observer, or 0 if unknown
+     */
+    public long lag(UserActionObserver observer) {
+        for (Consumer consumer : consumers) {
+            if (consumer.observer == observer) {
+                return cursor.get() - consumer.sequence.get();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return Number of slots
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Claims the next sequence, waiting for a free slot up to a timeout.
+     *
+     * @param timeoutNanos Maximum wait, 0 to drop at once, {@link Long#MAX_VALUE} to wait for good
+     * @return The sequence, or -1 if the ring is still full after the timeout
+     */
+    private long claim(long timeoutNanos) {
+        long deadline = 0;
+        boolean waiting = false;
+        while (true) {
+            long current = cursor.get();
+            long next = current + 1;
+            long wrapPoint = next - slots.length;
+            if (wrapPoint > gatingCache) {
+                long gating = minimumSequence(current);
+                if (wrapPoint > gating) {
+                    if (timeoutNanos <= 0) {
+                        return -1;
+                    }
+                    if (!waiting) {
+                        deadline = System.nanoTime() + timeoutNanos;
+                        waiting = true;
+                    } else if (timeoutNanos != Long.MAX_VALUE && System.nanoTime() - deadline >= 0) {
+                        return -1;
+                    }
+                    LockSupport.parkNanos(1_000);
+                    continue;
+                }
+                gatingCache = gating;
+            }
+            if (cursor.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    private long minimumSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private int lap(long sequence) {
+        return (int) (sequence >>> shift);
+    }
+
+    private boolean isPublished(long sequence) {
+        return publishedLap.get((int) sequence & mask) == lap(sequence);
+    }
+
+    /**
+     * Returns the last sequence of the contiguous published run starting at {@code from}.
+     */
+    private long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    private void signalConsumers() {
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Observer thread with its own read sequence.
+     */
+    private final class Consumer implements Runnable {
+        private final UserActionObserver observer;
+        private final Timer latency;
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean running = true;
+
+        private Consumer(UserActionObserver observer, Timer latency, long start) {
+            this.observer = observer;
+            this.latency = latency;
+            this.sequence = new AtomicLong(start);
+            this.thread = new Thread(this, "user-events-" + observer.getClass().getSimpleName());
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int emptyPolls = 0;
+            while (true) {
+                long claimed = cursor.get();
+                long available = claimed >= next ? highestPublished(next, Math.min(claimed, next + batchSize - 1)) : next - 1;
+                if (available >= next) {
+                    for (long current = next; current <= available; current++) {
+                        deliver(slots[(int) current & mask]);
+                    }
+                    sequence.set(available);
+                    next = available + 1;
+                    emptyPolls = 0;
+                    continue;
+                }
+                if (!running) {
+                    return;
+                }
+                if (waitStrategy == WaitStrategy.BLOCKING) {
+                    awaitPublished(next);
+                } else {
+                    waitStrategy.idle(emptyPolls++);
+                }
+            }
+        }
+
+        private void deliver(Slot slot) {
+            try {
+                observer.onUserAction(slot.event, slot.user, slot.data);
+            } catch (VirtualMachineError e) {
+                throw e;
+            } catch (Throwable e) {
+                // A dead consumer would stop the ring for everyone, so it outlives observer failures
+                logger.error("Observer {} failed on event {}", observer.getClass().getSimpleName(), slot.event, e);
+            }
+            if (latency != null) {
+                latency.record(System.nanoTime() - slot.publishedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void awaitPublished(long next) {
+            lock.lock();
+            try {
+                if (running && !isPublished(next)) {
+                    // Timed, so a signal raced between the check and the wait only costs a few ms
+                    published.await(10, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void stop(Duration timeout) {
+            running = false;
+            signalConsumers();
+            try {
+                thread.join(timeout.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (thread.isAlive()) {
+                logger.warn("Observer thread {} did not stop in time", thread.getName());
+                thread.interrupt();
+            }
+        }
+    }
+}
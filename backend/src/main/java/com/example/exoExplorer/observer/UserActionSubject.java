@@ -1,21 +1,96 @@
 package com.example.exoExplorer.observer;
 
 import com.example.exoExplorer.entities.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.time.Duration;
 
 /**
  * Subject class for the Observer pattern.
  * Notifies observers when user actions occur.
+ * <p>
+ * Events go through a {@link UserActionRingBuffer} once the caller's transaction commits,
+ * and each observer handles them on its own thread, so observers never run on the request
+ * thread nor see events of a rolled back transaction. Observers should only read the loaded
+ * fields of the entities they receive.
+ * <p>
+ * With the {@link UserActionOutbox} enabled, events raised in a transaction are written to
+ * the outbox table with it and reach the ring buffer through the outbox relay, which
+ * survives a crash after commit; the entities are then reloaded by the relay. Relayed events
+ * are never dropped: the relay waits for room in the ring, and for the observers to handle its
+ * batch before deleting it from the table.
  */
 @Component
 public class UserActionSubject {
     private static final Logger logger = LoggerFactory.getLogger(UserActionSubject.class);
-    private final List<UserActionObserver> observers = new ArrayList<>();
+
+    private final UserActionRingBuffer ringBuffer;
+    private final UserActionOutbox outbox;
+    private final MeterRegistry meterRegistry;
+    private final Counter published;
+    private final Counter dropped;
+
+    @Autowired
+    public UserActionSubject(@Value("${app.events.ring-size:1024}") int ringSize,
+                             @Value("${app.events.batch-size:64}") int batchSize,
+                             @Value("${app.events.wait-strategy:BLOCKING}") WaitStrategy waitStrategy,
+                             @Value("${app.events.overflow:DROP}") OverflowPolicy overflowPolicy,
+                             MeterRegistry meterRegistry,
+                             UserActionOutbox outbox) {
+        this.ringBuffer = new UserActionRingBuffer(ringSize, batchSize, waitStrategy, overflowPolicy);
+        this.outbox = outbox != null && outbox.isEnabled() ? outbox : null;
+        this.meterRegistry = meterRegistry;
+        this.published = Counter.builder("user.events.published")
+                .description("User action events handed to observers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("user.events.dropped")
+                .description("User action events dropped because an observer was a full ring behind")
+                .register(meterRegistry);
+        logger.info("User action ring buffer: {} slots, {} wait, {} on overflow, outbox={}",
+                ringBuffer.capacity(), waitStrategy, overflowPolicy, this.outbox != null);
+    }
+
+    public UserActionSubject(int ringSize, int batchSize, WaitStrategy waitStrategy, OverflowPolicy overflowPolicy,
+                             MeterRegistry meterRegistry) {
+        this(ringSize, batchSize, waitStrategy, overflowPolicy, meterRegistry, null);
+    }
+
+    /**
+     * Starts relaying events from the outbox table, those left by a previous run included.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOutboxRelay() {
+        if (outbox != null) {
+            outbox.start(new UserActionOutbox.Dispatcher() {
+                @Override
+                public long dispatch(UserActionEvent event, User user, Object data, Duration timeout) {
+                    long sequence = ringBuffer.publish(event, user, data, timeout);
+                    if (sequence >= 0) {
+                        published.increment();
+                    }
+                    return sequence;
+                }
+
+                @Override
+                public boolean awaitHandled(long sequence, Duration timeout) {
+                    return ringBuffer.awaitHandled(sequence, timeout);
+                }
+            });
+        }
+    }
 
     /**
      * Add an observer to the notification list.
@@ -23,7 +98,16 @@ public class UserActionSubject {
      * @param observer The observer to add
      */
     public void addObserver(UserActionObserver observer) {
-        observers.add(observer);
+        String name = observer.getClass().getSimpleName();
+        ringBuffer.subscribe(observer, Timer.builder("user.events.dispatch")
+                .description("Time from the publication of an event to the end of its handling by the observer")
+                .tag("observer", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        Gauge.builder("user.events.lag", ringBuffer, ring -> ring.lag(observer))
+                .description("Events published but not yet handled by the observer")
+                .tag("observer", name)
+                .register(meterRegistry);
     }
 
     /**
@@ -32,11 +116,12 @@ public class UserActionSubject {
      * @param observer The observer to remove
      */
     public void removeObserver(UserActionObserver observer) {
-        observers.remove(observer);
+        ringBuffer.unsubscribe(observer);
     }
 
     /**
-     * Notify all observers of a user action.
+     * Notify all observers of a user action, after the current transaction commits if there is one.
+     * Within a transaction and with the outbox enabled, the event is written to the outbox table.
      *
      * @param event The type of event that occurred
      * @param user The user who performed the action
@@ -44,6 +129,34 @@ public class UserActionSubject {
      */
     public void notifyObservers(UserActionEvent event, User user, Object data) {
         logger.debug("Notifying observers of event: {} for user: {}", event, user.getEmail());
-        observers.forEach(observer -> observer.onUserAction(event, user, data));
+        if (outbox != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+            outbox.append(event, user, data);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event, user, data);
+                }
+            });
+        } else {
+            publish(event, user, data);
+        }
+    }
+
+    private void publish(UserActionEvent event, User user, Object data) {
+        if (ringBuffer.publish(event, user, data)) {
+            published.increment();
+        } else {
+            dropped.increment();
+            logger.warn("Observers are a full ring behind, dropping event {} for user {}", event, user.getEmail());
+        }
+    }
+
+    /**
+     * Lets observers handle the events already published, then stops their threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ringBuffer.shutdown(Duration.ofSeconds(5));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package com.example.exoExplorer.observer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How an observer thread waits for the next event of the {@link UserActionRingBuffer}.
+ */
+public enum WaitStrategy {
+    /**
+     * Sleeps until a publisher signals. Lowest CPU use, each publish pays for a signal. The default.
+     */
+    BLOCKING,
+    /**
+     * Spins briefly, then yields, then parks for periods doubling from 100 µs up to 10 ms.
+     * Publishers never signal, but an observer idle for a while takes up to 10 ms to see the next event.
+     */
+    SLEEPING,
+    /**
+     * Spins briefly, then yields the CPU. Lower latency, keeps a core busy while idle.
+     */
+    YIELDING,
+    /**
+     * Spins without pause. Lowest latency, needs a dedicated core per observer.
+     */
+    BUSY_SPIN;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final long MIN_PARK_NANOS = 100_000;
+    private static final long MAX_PARK_NANOS = 10_000_000;
+    private static final int MAX_PARK_SHIFT = 63 - Long.numberOfLeadingZeros(MAX_PARK_NANOS / MIN_PARK_NANOS) + 1;
+
+    /**
+     * Waits a little, longer as the number of empty polls grows.
+     * Not used by {@link #BLOCKING}, which waits on the ring buffer's condition.
+     *
+     * @param emptyPolls Consecutive polls that found no event
+     */
+    void idle(int emptyPolls) {
+        switch (this) {
+            case BUSY_SPIN -> Thread.onSpinWait();
+            case YIELDING -> {
+                if (emptyPolls < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            default -> {
+                if (emptyPolls < SPIN_TRIES) {
+                    Thread.onSpinWait();
+                } else if (emptyPolls < SPIN_TRIES + YIELD_TRIES) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(parkNanos(emptyPolls - SPIN_TRIES - YIELD_TRIES));
+                }
+            }
+        }
+    }
+
+    /**
+     * Park time of {@link #SLEEPING}, doubling with each empty poll spent parked.
+     *
+     * @param parks Consecutive parks before this one
+     * @return Nanoseconds to park, between 100 µs and 10 ms
+     */
+    static long parkNanos(int parks) {
+        return Math.min(MIN_PARK_NANOS << Math.min(parks, MAX_PARK_SHIFT), MAX_PARK_NANOS);
+    }
+}
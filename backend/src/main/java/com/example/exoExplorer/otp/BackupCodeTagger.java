@@ -0,0 +1,102 @@
+package com.example.exoExplorer.otp;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.HexFormat;
+
+/**
+ * Computes short lookup tags for backup codes.
+ * <p>
+ * The tag is a truncated HMAC-SHA256 of the user id and the code. It lets verification
+ * select the single matching row by index, and reveals nothing about the code without
+ * the key. The BCrypt hash stays the actual proof. Unlike OTP digests, tags are
+ * persisted, so the key must stay stable across restarts. Since codes are only 8 digits,
+ * anyone holding both the table and the key can recover them by brute force: the key,
+ * {@code app.backup-codes.tag-secret}, is dedicated to tags, has no default and must be
+ * set for the application to start.
+ * <p>
+ * Codes generated before tags existed can only be checked against every untagged hash
+ * of the user. They are accepted until {@code app.backup-codes.untagged-until}, then
+ * kept but no longer checked.
+ */
+@Component
+public class BackupCodeTagger {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int TAG_BYTES = 8;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+    private final LocalDate untaggedUntil;
+    private final Clock clock;
+
+    @Autowired
+    public BackupCodeTagger(
+            @Value("${app.backup-codes.tag-secret:}") String secret,
+            @Value("${app.backup-codes.untagged-until:2027-01-31}") LocalDate untaggedUntil) {
+        this(secret, untaggedUntil, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a tagger reading the date from the given clock.
+     *
+     * @throws IllegalStateException If the secret is blank
+     */
+    public BackupCodeTagger(String secret, LocalDate untaggedUntil, Clock clock) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.backup-codes.tag-secret must be set, to the same value on every replica");
+        }
+        this.key = new SecretKeySpec(deriveKey(secret), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> newMac(key));
+        this.untaggedUntil = untaggedUntil;
+        this.clock = clock;
+    }
+
+    /**
+     * Computes the lookup tag of a backup code.
+     *
+     * @param userId The owner's id
+     * @param code The plain backup code
+     * @return A 16-character hex tag
+     */
+    public String tag(Long userId, String code) {
+        Mac mac = macs.get();
+        mac.update(ByteBuffer.allocate(Long.BYTES).putLong(userId).array());
+        byte[] digest = mac.doFinal(code.trim().getBytes(StandardCharsets.UTF_8));
+        return HEX.formatHex(digest, 0, TAG_BYTES);
+    }
+
+    /**
+     * @return Whether codes generated before tags existed are still accepted
+     */
+    public boolean acceptsUntagged() {
+        return !LocalDate.now(clock).isAfter(untaggedUntil);
+    }
+
+    /**
+     * Separates this key from other uses of the same secret.
+     */
+    private static byte[] deriveKey(String secret) {
+        Mac mac = newMac(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+        return mac.doFinal("backup-code-tag".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.exoExplorer.otp;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OTP store backed by the {@code otp_challenge} table, for multi-replica deployments.
+ * <p>
+ * A new code joins the caller's transaction, so a login that rolls back leaves no valid
+ * code behind. Verification runs in its own transaction, so a failed attempt is counted
+ * even when the caller rolls back. The attempt is claimed with a row-level update before the digest
+ * is compared, which serializes concurrent guesses across replicas. Expired rows are
+ * purged every minute. Replicas must share {@code app.otp.hmac-secret}.
+ * The default, unless {@code app.otp.store=memory}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseOtpStore implements OtpStore {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseOtpStore.class);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private record Row(String digest, LocalDateTime expiresAt, int attempts) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate attemptTemplate;
+    private final OtpDigester digester;
+    private final int maxAttempts;
+    private final ScheduledExecutorService sweeper;
+
+    public DatabaseOtpStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            OtpDigester digester, @Value("${app.otp.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.attemptTemplate = new TransactionTemplate(transactionManager);
+        this.attemptTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.digester = digester;
+        this.maxAttempts = maxAttempts;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public void put(String email, String otp, Duration ttl) {
+        String digest = HEX.formatHex(digester.digest(email, otp));
+        Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plus(ttl));
+        transactionTemplate.executeWithoutResult(status -> {
+            String update = "UPDATE otp_challenge SET digest = ?, expires_at = ?, attempts = 0 WHERE email = ?";
+            if (jdbcTemplate.update(update, digest, expiresAt, email) > 0) {
+                return;
+            }
+            try {
+                jdbcTemplate.update("INSERT INTO otp_challenge (email, digest, expires_at, attempts) VALUES (?, ?, ?, 0)",
+                        email, digest, expiresAt);
+            } catch (DuplicateKeyException e) {
+                // Another replica inserted first, the latest code wins
+                jdbcTemplate.update(update, digest, expiresAt, email);
+            }
+        });
+    }
+
+    @Override
+    public void verify(String email, String otp) {
+        byte[] digest = digester.digest(email, otp);
+        OtpOutcome outcome = attemptTemplate.execute(status -> check(email, digest));
+        outcome.throwIfFailed();
+    }
+
+    private OtpOutcome check(String email, byte[] digest) {
+        // Claims the attempt and locks the row for the rest of the transaction
+        if (jdbcTemplate.update("UPDATE otp_challenge SET attempts = attempts + 1 WHERE email = ?", email) == 0) {
+            return OtpOutcome.MISSING;
+        }
+        List<Row> rows = jdbcTemplate.query("SELECT digest, expires_at, attempts FROM otp_challenge WHERE email = ?",
+                (rs, rowNum) -> new Row(rs.getString(1), rs.getTimestamp(2).toLocalDateTime(), rs.getInt(3)), email);
+        if (rows.isEmpty()) {
+            return OtpOutcome.MISSING;
+        }
+        Row row = rows.get(0);
+
+        OtpOutcome outcome;
+        if (LocalDateTime.now().isAfter(row.expiresAt())) {
+            outcome = OtpOutcome.EXPIRED;
+        } else if (row.attempts() > maxAttempts) {
+            outcome = OtpOutcome.TOO_MANY_ATTEMPTS;
+        } else if (!OtpDigester.matches(HEX.parseHex(row.digest()), digest)) {
+            return OtpOutcome.INVALID;
+        } else {
+            outcome = OtpOutcome.VERIFIED;
+        }
+        jdbcTemplate.update("DELETE FROM otp_challenge WHERE email = ?", email);
+        return outcome;
+    }
+
+    /**
+     * Deletes expired codes.
+     */
+    void purgeExpired() {
+        try {
+            int deleted = jdbcTemplate.update("DELETE FROM otp_challenge WHERE expires_at < ?",
+                    Timestamp.valueOf(LocalDateTime.now()));
+            if (deleted > 0) {
+                logger.debug("Purged {} expired OTPs", deleted);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Unable to purge expired OTPs: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM otp_challenge");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.exoExplorer.otp;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for expiring keys.
+ * <p>
+ * Scheduling is O(1) and needs no ordering. Each advance visits only the buckets of the
+ * ticks that elapsed, and hands their keys to a callback. Deadlines more than one
+ * revolution away come back early, so the callback must check the real deadline
+ * and reschedule when it has not passed yet.
+ *
+ * @param <K> Key type
+ */
+final class ExpiryWheel<K> {
+    private final long tickNanos;
+    private final int mask;
+    private final Set<K>[] buckets;
+    private long lastTick;
+
+    /**
+     * @param tick Duration of one tick
+     * @param size Number of buckets, rounded up to a power of two
+     * @param nowNanos Current time on the caller's clock
+     */
+    @SuppressWarnings("unchecked")
+    ExpiryWheel(Duration tick, int size, long nowNanos) {
+        this.tickNanos = tick.toNanos();
+        int buckets = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.mask = buckets - 1;
+        this.buckets = new Set[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.lastTick = Math.floorDiv(nowNanos, tickNanos);
+    }
+
+    /**
+     * Schedules a key for its deadline. Safe to call from any thread.
+     */
+    void schedule(K key, long deadlineNanos) {
+        // Rounded up, so a bucket is only visited once its deadlines have passed
+        long tick = -Math.floorDiv(-deadlineNanos, tickNanos);
+        buckets[(int) (tick & mask)].add(key);
+    }
+
+    /**
+     * Drains the buckets of every tick elapsed since the previous call.
+     *
+     * @param nowNanos Current time on the caller's clock
+     * @param onDue Callback receiving each drained key
+     */
+    synchronized void advance(long nowNanos, Consumer<K> onDue) {
+        long target = Math.floorDiv(nowNanos, tickNanos);
+        // After a long pause, one revolution already covers every bucket
+        long from = Math.max(lastTick + 1, target - mask);
+        for (long tick = from; tick <= target; tick++) {
+            Set<K> bucket = buckets[(int) (tick & mask)];
+            if (bucket.isEmpty()) {
+                continue;
+            }
+            // Drain a snapshot, so keys the callback reschedules here wait for the next revolution
+            List<K> due = new ArrayList<>(bucket);
+            due.forEach(bucket::remove);
+            due.forEach(onDue);
+        }
+        lastTick = Math.max(lastTick, target);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.exoExplorer.otp;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * OTP store keeping digests in memory, for single-replica deployments.
+ * <p>
+ * Pending codes live in a concurrent map and are evicted by a timer wheel swept once per
+ * second; verification also checks the deadline, so eviction lag is never observable.
+ * Each code accepts {@code app.otp.max-attempts} guesses before it is discarded.
+ * Selected with {@code app.otp.store=memory}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory")
+public class InMemoryOtpStore implements OtpStore {
+    private static final Duration TICK = Duration.ofSeconds(1);
+    private static final int WHEEL_SIZE = 512;
+
+    private record Challenge(byte[] digest, long expiresAtNanos, AtomicInteger attempts) {
+    }
+
+    private final ConcurrentHashMap<String, Challenge> challenges = new ConcurrentHashMap<>();
+    private final OtpDigester digester;
+    private final int maxAttempts;
+    private final LongSupplier clock;
+    private final ExpiryWheel<String> wheel;
+    private ScheduledExecutorService sweeper;
+
+    @Autowired
+    public InMemoryOtpStore(OtpDigester digester, @Value("${app.otp.max-attempts:5}") int maxAttempts) {
+        this(digester, maxAttempts, System::nanoTime);
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long tickMillis = TICK.toMillis();
+        sweeper.scheduleAtFixedRate(this::evictExpired, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a store driven by the given clock, without a background sweeper.
+     */
+    InMemoryOtpStore(OtpDigester digester, int maxAttempts, LongSupplier clock) {
+        this.digester = digester;
+        this.maxAttempts = maxAttempts;
+        this.clock = clock;
+        this.wheel = new ExpiryWheel<>(TICK, WHEEL_SIZE, clock.getAsLong());
+    }
+
+    @Override
+    public void put(String email, String otp, Duration ttl) {
+        long expiresAt = clock.getAsLong() + ttl.toNanos();
+        challenges.put(email, new Challenge(digester.digest(email, otp), expiresAt, new AtomicInteger()));
+        wheel.schedule(email, expiresAt);
+    }
+
+    @Override
+    public void verify(String email, String otp) {
+        check(email, otp).throwIfFailed();
+    }
+
+    private OtpOutcome check(String email, String otp) {
+        Challenge challenge = challenges.get(email);
+        if (challenge == null) {
+            return OtpOutcome.MISSING;
+        }
+        if (clock.getAsLong() - challenge.expiresAtNanos() >= 0) {
+            challenges.remove(email, challenge);
+            return OtpOutcome.EXPIRED;
+        }
+        if (challenge.attempts().incrementAndGet() > maxAttempts) {
+            challenges.remove(email, challenge);
+            return OtpOutcome.TOO_MANY_ATTEMPTS;
+        }
+        if (!OtpDigester.matches(challenge.digest(), digester.digest(email, otp))) {
+            return OtpOutcome.INVALID;
+        }
+        // Only one concurrent request may consume the code
+        return challenges.remove(email, challenge) ? OtpOutcome.VERIFIED : OtpOutcome.INVALID;
+    }
+
+    @Override
+    public void clear() {
+        // Wheel entries left behind find no code and are dropped when their tick comes
+        challenges.clear();
+    }
+
+    /**
+     * Removes codes whose deadline has passed.
+     */
+    void evictExpired() {
+        long now = clock.getAsLong();
+        wheel.advance(now, email -> {
+            Challenge challenge = challenges.computeIfPresent(email,
+                    (key, current) -> now - current.expiresAtNanos() >= 0 ? null : current);
+            if (challenge != null) {
+                // Replaced by a newer code, or due in a later revolution of the wheel
+                wheel.schedule(email, challenge.expiresAtNanos());
+            }
+        });
+    }
+
+    /**
+     * @return Number of pending codes
+     */
+    int size() {
+        return challenges.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+}
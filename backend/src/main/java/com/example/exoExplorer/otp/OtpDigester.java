@@ -0,0 +1,67 @@
+package com.example.exoExplorer.otp;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * Computes HMAC-SHA256 digests of one-time passwords.
+ * <p>
+ * OTPs live for minutes and are rate limited by attempt counters, so a keyed hash is
+ * enough and costs microseconds instead of a BCrypt round. The email is part of the
+ * input, so the same code yields different digests for different users.
+ * The key, {@code app.otp.hmac-secret}, must be set and shared by every replica, since
+ * a code may be verified by another replica than the one that issued it; startup fails
+ * without it.
+ */
+@Component
+public class OtpDigester {
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> macs;
+
+    public OtpDigester(@Value("${app.otp.hmac-secret:}") String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("app.otp.hmac-secret must be set, to the same value on every replica");
+        }
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * Computes the digest of an OTP for a user.
+     *
+     * @param email The user's email
+     * @param otp The plain OTP
+     * @return The 32-byte digest
+     */
+    public byte[] digest(String email, String otp) {
+        Mac mac = macs.get();
+        mac.update(email.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(otp.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Compares two digests in constant time.
+     */
+    public static boolean matches(byte[] expected, byte[] actual) {
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+}
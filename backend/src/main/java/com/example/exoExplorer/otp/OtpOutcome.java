@@ -0,0 +1,31 @@
+package com.example.exoExplorer.otp;
+
+import com.example.exoExplorer.exceptions.InvalidOtpException;
+
+/**
+ * Result of an OTP verification, shared by the store implementations.
+ */
+enum OtpOutcome {
+    VERIFIED(null),
+    MISSING("Aucun OTP généré pour cet utilisateur"),
+    EXPIRED("OTP expiré"),
+    TOO_MANY_ATTEMPTS("Trop de tentatives, veuillez demander un nouvel OTP"),
+    INVALID("OTP invalide");
+
+    private final String message;
+
+    OtpOutcome(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Throws the matching exception unless the OTP was verified.
+     *
+     * @throws InvalidOtpException If verification failed
+     */
+    void throwIfFailed() {
+        if (this != VERIFIED) {
+            throw new InvalidOtpException(message);
+        }
+    }
+}
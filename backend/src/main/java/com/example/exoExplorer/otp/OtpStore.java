@@ -0,0 +1,34 @@
+package com.example.exoExplorer.otp;
+
+import com.example.exoExplorer.exceptions.InvalidOtpException;
+
+import java.time.Duration;
+
+/**
+ * Store for pending one-time passwords.
+ * Only keyed digests are kept, and a code is consumed by its first successful verification.
+ */
+public interface OtpStore {
+    /**
+     * Stores a new OTP for a user, replacing any pending one.
+     *
+     * @param email The user's email
+     * @param otp The plain OTP
+     * @param ttl How long the OTP stays valid
+     */
+    void put(String email, String otp, Duration ttl);
+
+    /**
+     * Verifies and consumes the pending OTP of a user.
+     *
+     * @param email The user's email
+     * @param otp The OTP to verify
+     * @throws InvalidOtpException If no OTP is pending, or it is expired, wrong or out of attempts
+     */
+    void verify(String email, String otp) throws InvalidOtpException;
+
+    /**
+     * Discards every pending OTP, for a reset of all user data.
+     */
+    void clear();
+}
@@ -0,0 +1,10 @@
+package com.example.exoExplorer.recommendation;
+
+/**
+ * An exoplanet saved by users who also saved another one.
+ *
+ * @param exoplanetId The exoplanet id
+ * @param users Number of users who saved both
+ */
+public record AlsoFavorited(int exoplanetId, int users) {
+}
@@ -0,0 +1,339 @@
+package com.example.exoExplorer.recommendation;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Users who saved this also saved" recommendations, from the favorites co-occurrence matrix.
+ * <p>
+ * For every pair of exoplanets the matrix holds the number of users who saved both, as one
+ * sparse int-keyed row per exoplanet. A favorite added or removed updates the rows of the
+ * user's other favorites, then the top-K lists of the rows it may have reordered. Requests
+ * only read the precomputed lists. Updates and {@link #rebuild()} are serialized; the
+ * per-user favorite sets make replaying a change already applied a no-op, so events
+ * delivered around a rebuild are neither lost nor counted twice.
+ * <p>
+ * A user contributes pairs for their first {@code app.recommendations.max-favorites-per-user}
+ * favorites only, which bounds both the rebuild (sum of the squared favorites per user) and
+ * the weight of collectors saving the whole catalog.
+ * <p>
+ * Each replica only applies the favorite events it relays itself, so with several replicas
+ * every matrix misses part of the changes and answers drift apart. The matrix is therefore
+ * also rebuilt every {@code app.recommendations.rebuild-minutes} (0 disables it), which bounds
+ * how stale and how inconsistent across replicas the recommendations can get.
+ */
+@Component
+public class FavoriteCooccurrence {
+    private static final Logger logger = LoggerFactory.getLogger(FavoriteCooccurrence.class);
+
+    private static final int PAIRED = 1;
+    private static final int UNPAIRED = 2;
+
+    /**
+     * Top co-occurring exoplanets of one exoplanet, highest count first.
+     */
+    private record Neighbors(int[] ids, int[] counts) {
+        /**
+         * @return True if an id with this count would rank above the last one kept
+         */
+        private boolean admits(int id, int count) {
+            int last = counts.length - 1;
+            return count > counts[last] || (count == counts[last] && id < ids[last]);
+        }
+
+        private boolean contains(int id) {
+            for (int neighbor : ids) {
+                if (neighbor == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int topK;
+    private final int maxFavoritesPerUser;
+    private final Duration rebuildInterval;
+    private ScheduledExecutorService scheduler;
+
+    private Map<Long, IntIntHashMap> favorites = new HashMap<>();
+    private Map<Integer, IntIntHashMap> rows = new HashMap<>();
+    private volatile Map<Integer, Neighbors> neighbors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FavoriteCooccurrence(JdbcTemplate jdbcTemplate,
+                                @Value("${app.recommendations.top-k:20}") int topK,
+                                @Value("${app.recommendations.max-favorites-per-user:200}") int maxFavoritesPerUser,
+                                @Value("${app.recommendations.rebuild-minutes:15}") long rebuildMinutes) {
+        this(jdbcTemplate, topK, maxFavoritesPerUser, Duration.ofMinutes(rebuildMinutes));
+    }
+
+    /**
+     * Creates a matrix rebuilt at the given interval once started, never if zero.
+     */
+    FavoriteCooccurrence(JdbcTemplate jdbcTemplate, int topK, int maxFavoritesPerUser, Duration rebuildInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.topK = topK;
+        this.maxFavoritesPerUser = maxFavoritesPerUser;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    /**
+     * Creates a matrix only rebuilt on demand.
+     */
+    public FavoriteCooccurrence(JdbcTemplate jdbcTemplate, int topK, int maxFavoritesPerUser) {
+        this(jdbcTemplate, topK, maxFavoritesPerUser, Duration.ZERO);
+    }
+
+    /**
+     * Builds the matrix, then schedules the periodic rebuilds.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        rebuild();
+        if (scheduler != null || rebuildInterval.isZero()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recommendations-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = rebuildInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledRebuild, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets the exoplanets most often saved together with one.
+     *
+     * @param exoplanetId The exoplanet id
+     * @param limit Maximum number of exoplanets, at most {@code app.recommendations.top-k}
+     * @return Exoplanets with the number of users who saved both, highest first
+     */
+    public List<AlsoFavorited> alsoFavorited(int exoplanetId, int limit) {
+        Neighbors top = neighbors.get(exoplanetId);
+        if (top == null) {
+            return List.of();
+        }
+        int size = Math.min(limit, top.ids().length);
+        List<AlsoFavorited> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new AlsoFavorited(top.ids()[i], top.counts()[i]));
+        }
+        return result;
+    }
+
+    /**
+     * @return Maximum number of exoplanets kept per list
+     */
+    public int topK() {
+        return topK;
+    }
+
+    /**
+     * Records an exoplanet saved by a user.
+     */
+    public synchronized void favoriteAdded(long userId, int exoplanetId) {
+        IntIntHashMap saved = favorites.computeIfAbsent(userId, id -> new IntIntHashMap(8));
+        if (saved.get(exoplanetId) != 0) {
+            return;
+        }
+        if (paired(saved) >= maxFavoritesPerUser) {
+            saved.put(exoplanetId, UNPAIRED);
+            return;
+        }
+        saved.forEach((other, state) -> {
+            if (state == PAIRED) {
+                row(exoplanetId).add(other, 1);
+                int count = row(other).add(exoplanetId, 1);
+                Neighbors top = neighbors.get(other);
+                if (top == null || top.ids().length < topK || top.contains(exoplanetId) || top.admits(exoplanetId, count)) {
+                    refresh(other);
+                }
+            }
+        });
+        saved.put(exoplanetId, PAIRED);
+        refresh(exoplanetId);
+    }
+
+    /**
+     * Records an exoplanet removed from a user's favorites.
+     */
+    public synchronized void favoriteRemoved(long userId, int exoplanetId) {
+        IntIntHashMap saved = favorites.get(userId);
+        if (saved == null || saved.get(exoplanetId) == 0) {
+            return;
+        }
+        if (saved.remove(exoplanetId) == PAIRED) {
+            saved.forEach((other, state) -> {
+                if (state == PAIRED) {
+                    row(exoplanetId).add(other, -1);
+                    row(other).add(exoplanetId, -1);
+                    Neighbors top = neighbors.get(other);
+                    if (top != null && top.contains(exoplanetId)) {
+                        refresh(other);
+                    }
+                }
+            });
+            refresh(exoplanetId);
+        }
+        if (saved.size() == 0) {
+            favorites.remove(userId);
+        }
+    }
+
+    /**
+     * Rebuilds the matrix from the {@code user_favorites} table.
+     * Favorite events wait until it is done.
+     */
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        Map<Long, IntIntHashMap> newFavorites = new HashMap<>();
+        Map<Integer, IntIntHashMap> newRows = new HashMap<>();
+        int[] pending = new int[maxFavoritesPerUser];
+        long[] current = {Long.MIN_VALUE};
+        int[] pendingSize = {0};
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT user_id, exoplanet_id FROM user_favorites ORDER BY user_id");
+            statement.setFetchSize(1000);
+            return statement;
+        }, (RowCallbackHandler) rs -> {
+            long userId = rs.getLong(1);
+            int exoplanetId = rs.getInt(2);
+            if (userId != current[0]) {
+                addPairs(newRows, pending, pendingSize[0]);
+                current[0] = userId;
+                pendingSize[0] = 0;
+            }
+            IntIntHashMap saved = newFavorites.computeIfAbsent(userId, id -> new IntIntHashMap(8));
+            if (pendingSize[0] < maxFavoritesPerUser) {
+                pending[pendingSize[0]++] = exoplanetId;
+                saved.put(exoplanetId, PAIRED);
+            } else {
+                saved.put(exoplanetId, UNPAIRED);
+            }
+        });
+        addPairs(newRows, pending, pendingSize[0]);
+
+        Map<Integer, Neighbors> newNeighbors = new ConcurrentHashMap<>(newRows.size() * 2);
+        newRows.forEach((exoplanetId, row) -> {
+            Neighbors top = top(row);
+            if (top != null) {
+                newNeighbors.put(exoplanetId, top);
+            }
+        });
+
+        favorites = newFavorites;
+        rows = newRows;
+        neighbors = newNeighbors;
+        logger.info("Favorites co-occurrence rebuilt: {} users, {} exoplanets in {} ms",
+                newFavorites.size(), newRows.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // The current matrix keeps serving until the next attempt
+            logger.warn("Favorites co-occurrence rebuild failed: {}", e.getMessage());
+        }
+    }
+
+    private static void addPairs(Map<Integer, IntIntHashMap> rows, int[] exoplanetIds, int size) {
+        if (size < 2) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            IntIntHashMap row = rows.computeIfAbsent(exoplanetIds[i], id -> new IntIntHashMap(16));
+            for (int j = 0; j < size; j++) {
+                if (i != j) {
+                    row.add(exoplanetIds[j], 1);
+                }
+            }
+        }
+    }
+
+    private int paired(IntIntHashMap saved) {
+        int[] count = {0};
+        saved.forEach((exoplanetId, state) -> {
+            if (state == PAIRED) {
+                count[0]++;
+            }
+        });
+        return count[0];
+    }
+
+    private IntIntHashMap row(int exoplanetId) {
+        return rows.computeIfAbsent(exoplanetId, id -> new IntIntHashMap(16));
+    }
+
+    private void refresh(int exoplanetId) {
+        IntIntHashMap row = rows.get(exoplanetId);
+        Neighbors top = row == null ? null : top(row);
+        if (top == null) {
+            rows.remove(exoplanetId);
+            neighbors.remove(exoplanetId);
+        } else {
+            neighbors.put(exoplanetId, top);
+        }
+    }
+
+    /**
+     * Selects the K largest counts of a row, ties broken by the smaller id.
+     */
+    private Neighbors top(IntIntHashMap row) {
+        if (row.size() == 0) {
+            return null;
+        }
+        int[] ids = new int[Math.min(topK, row.size())];
+        int[] counts = new int[ids.length];
+        int[] size = {0};
+        row.forEach((id, count) -> {
+            int position = size[0];
+            while (position > 0 && (counts[position - 1] < count
+                    || (counts[position - 1] == count && ids[position - 1] > id))) {
+                position--;
+            }
+            if (position >= ids.length) {
+                return;
+            }
+            int last = Math.min(size[0], ids.length - 1);
+            System.arraycopy(ids, position, ids, position + 1, last - position);
+            System.arraycopy(counts, position, counts, position + 1, last - position);
+            ids[position] = id;
+            counts[position] = count;
+            size[0] = Math.min(size[0] + 1, ids.length);
+        });
+        return new Neighbors(Arrays.copyOf(ids, size[0]), Arrays.copyOf(counts, size[0]));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.exoExplorer.recommendation;
+
+import java.util.Arrays;
+
+/**
+ * Map from int to int without boxing, by linear probing.
+ * <p>
+ * Entries whose value drops to zero are removed, with backward shifting so no tombstones
+ * accumulate. Not thread-safe.
+ */
+final class IntIntHashMap {
+    private static final int FREE = Integer.MIN_VALUE;
+
+    /**
+     * Receives the entries of a map.
+     */
+    interface Visitor {
+        void visit(int key, int value);
+    }
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize Number of entries expected
+     */
+    IntIntHashMap(int expectedSize) {
+        allocate(Math.max(4, Integer.highestOneBit(Math.max(1, expectedSize * 2 - 1)) << 1));
+    }
+
+    /**
+     * @return The value of a key, 0 if absent
+     */
+    int get(int key) {
+        int index = mix(key) & mask;
+        while (keys[index] != FREE) {
+            if (keys[index] == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Adds to the value of a key, removing the entry if it becomes 0.
+     *
+     * @return The new value
+     */
+    int add(int key, int delta) {
+        int index = mix(key) & mask;
+        while (keys[index] != FREE) {
+            if (keys[index] == key) {
+                values[index] += delta;
+                int value = values[index];
+                if (value == 0) {
+                    removeAt(index);
+                }
+                return value;
+            }
+            index = (index + 1) & mask;
+        }
+        if (delta != 0) {
+            keys[index] = key;
+            values[index] = delta;
+            if (++size * 2 > keys.length) {
+                rehash(keys.length * 2);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * Sets the value of a key, removing the entry if the value is 0.
+     */
+    void put(int key, int value) {
+        add(key, value - get(key));
+    }
+
+    /**
+     * Removes a key.
+     *
+     * @return Its value, 0 if it was absent
+     */
+    int remove(int key) {
+        int value = get(key);
+        if (value != 0) {
+            add(key, -value);
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visits every entry, in no particular order. The map must not change meanwhile.
+     */
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    private void removeAt(int hole) {
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            if (keys[index] == FREE) {
+                break;
+            }
+            int home = mix(keys[index]) & mask;
+            // Move the entry into the hole unless its home lies cyclically in (hole, index]
+            boolean stays = hole <= index ? hole < home && home <= index : hole < home || home <= index;
+            if (!stays) {
+                keys[hole] = keys[index];
+                values[hole] = values[index];
+                hole = index;
+            }
+        }
+        keys[hole] = FREE;
+        values[hole] = 0;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int index = mix(oldKeys[i]) & mask;
+                while (keys[index] != FREE) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, FREE);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository for TwoFactorBackupCode entity.
@@ -32,4 +33,22 @@ public interface TwoFactorBackupCodeRepository extends JpaRepository<TwoFactorBa
     @Query("SELECT b FROM TwoFactorBackupCode b WHERE b.user.id = :userId AND b.used = false")
     List<TwoFactorBackupCode> findUnusedByUserId(@Param("userId") Long userId);
 
+    /**
+     * Find a backup code by its lookup tag, using the (user_id, lookup_tag) unique index.
+     *
+     * @param userId The user ID
+     * @param lookupTag The lookup tag
+     * @return The matching backup code, if any
+     */
+    Optional<TwoFactorBackupCode> findByUserIdAndLookupTag(Long userId, String lookupTag);
+
+    /**
+     * Find unused backup codes generated before lookup tags existed.
+     *
+     * @param userId The user ID
+     * @return List of unused untagged backup codes for the user
+     */
+    @Query("SELECT b FROM TwoFactorBackupCode b WHERE b.user.id = :userId AND b.used = false AND b.lookupTag IS NULL")
+    List<TwoFactorBackupCode> findUnusedUntaggedByUserId(@Param("userId") Long userId);
+
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package com.example.exoExplorer.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Filter for public routes that only decodes the bearer token if something asks for the principal.
+ * <p>
+ * The token is not touched while the request is filtered: the security context is replaced by a
+ * deferred one, and the JWT is decoded the first time that context is read (method security,
+ * {@code @AuthenticationPrincipal}, {@link SecurityContextHolder#getContext()}...).
+ * An invalid or expired token leaves the request anonymous instead of failing it,
+ * since the route is public anyway.
+ */
+public class LazyBearerTokenFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(LazyBearerTokenFilter.class);
+
+    private final JwtDecoder jwtDecoder;
+    private final Converter<Jwt, ? extends AbstractAuthenticationToken> authenticationConverter;
+    private final BearerTokenResolver bearerTokenResolver = new DefaultBearerTokenResolver();
+    private final SecurityContextHolderStrategy securityContextHolderStrategy =
+            SecurityContextHolder.getContextHolderStrategy();
+
+    public LazyBearerTokenFilter(JwtDecoder jwtDecoder,
+                                 Converter<Jwt, ? extends AbstractAuthenticationToken> authenticationConverter) {
+        this.jwtDecoder = jwtDecoder;
+        this.authenticationConverter = authenticationConverter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String token;
+        try {
+            token = bearerTokenResolver.resolve(request);
+        } catch (OAuth2AuthenticationException e) {
+            // Malformed header: treat the request as anonymous
+            token = null;
+        }
+
+        if (token != null) {
+            Supplier<SecurityContext> previous = securityContextHolderStrategy.getDeferredContext();
+            String bearer = token;
+            securityContextHolderStrategy.setDeferredContext(memoize(() -> authenticate(bearer, previous)));
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Decodes the token into an authenticated context, falling back to the previous context.
+     */
+    private SecurityContext authenticate(String token, Supplier<SecurityContext> previous) {
+        try {
+            Jwt jwt = jwtDecoder.decode(token);
+            AbstractAuthenticationToken authentication = authenticationConverter.convert(jwt);
+            if (authentication != null) {
+                SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+                context.setAuthentication(authentication);
+                return context;
+            }
+        } catch (JwtException e) {
+            logger.debug("Ignoring invalid bearer token on public route: {}", e.getMessage());
+        }
+        return previous.get();
+    }
+
+    /**
+     * Resolves the context once per request, however many times it is read.
+     */
+    private static Supplier<SecurityContext> memoize(Supplier<SecurityContext> supplier) {
+        return new Supplier<>() {
+            private SecurityContext context;
+
+            @Override
+            public SecurityContext get() {
+                if (context == null) {
+                    context = supplier.get();
+                }
+                return context;
+            }
+        };
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.exoExplorer.security;
+
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Short-lived cache of what security needs to know about a user.
+ * <p>
+ * Token issuing and {@code UserDetailsService} lookups read from here instead of
+ * querying the users table each time. Entries live for {@code app.principal-cache.ttl-seconds}
+ * and are dropped explicitly when a password or role changes, or a user is deleted.
+ * Unknown emails are not cached.
+ */
+@Component
+public class PrincipalCache {
+
+    /**
+     * Security view of a user.
+     *
+     * @param id The user id
+     * @param email The user's email
+     * @param passwordHash The current BCrypt hash, which changes with every password change
+     * @param roles Granted roles
+     */
+    public record CachedPrincipal(Long id, String email, String passwordHash, List<String> roles) {
+    }
+
+    private record Entry(CachedPrincipal principal, long expiresAtMillis) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> principals = new ConcurrentHashMap<>();
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    @Autowired
+    public PrincipalCache(UserRepository userRepository,
+                          @Value("${app.principal-cache.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.principal-cache.max-size:10000}") int maxSize) {
+        this(userRepository, ttlSeconds * 1000, maxSize, System::currentTimeMillis);
+    }
+
+    PrincipalCache(UserRepository userRepository, long ttlMillis, int maxSize, LongSupplier clock) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the principal for an email, loading it on a miss.
+     *
+     * @param email The user's email
+     * @return The principal, or empty if no such user exists
+     */
+    public Optional<CachedPrincipal> get(String email) {
+        Entry entry = principals.get(email);
+        if (entry != null && clock.getAsLong() < entry.expiresAtMillis()) {
+            return Optional.of(entry.principal());
+        }
+        return userRepository.findByEmail(email).map(this::put);
+    }
+
+    /**
+     * Caches the principal of a user that was just loaded.
+     *
+     * @param user The user entity
+     * @return The cached principal
+     */
+    public CachedPrincipal put(User user) {
+        CachedPrincipal principal = toPrincipal(user);
+        long now = clock.getAsLong();
+        if (principals.size() >= maxSize) {
+            principals.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        }
+        if (principals.size() < maxSize || principals.containsKey(user.getEmail())) {
+            principals.put(user.getEmail(), new Entry(principal, now + ttlMillis));
+        }
+        return principal;
+    }
+
+    /**
+     * Drops the cached principal of a user.
+     *
+     * @param email The user's email
+     */
+    public void invalidate(String email) {
+        principals.remove(email);
+    }
+
+    /**
+     * Drops the cached principal of a user now and again once the current transaction
+     * commits, so a concurrent reader cannot re-cache the state being replaced.
+     *
+     * @param email The user's email
+     */
+    public void invalidateOnCommit(String email) {
+        invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every cached principal.
+     */
+    public void invalidateAll() {
+        principals.clear();
+    }
+
+    private static CachedPrincipal toPrincipal(User user) {
+        List<String> roles = user.isAdmin() ? List.of("ROLE_USER", "ROLE_ADMIN") : List.of("ROLE_USER");
+        return new CachedPrincipal(user.getId(), user.getEmail(), user.getPassword(), roles);
+    }
+}
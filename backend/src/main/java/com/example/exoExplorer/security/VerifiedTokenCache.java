@@ -0,0 +1,276 @@
+package com.example.exoExplorer.security;
+
+import com.example.exoExplorer.jfr.JwtVerifyEvent;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded cache of JWTs whose signature has already been verified.
+ * <p>
+ * Entries are keyed by the SHA-256 of the token, so raw bearer tokens are not kept as keys,
+ * and expire at the token's own {@code exp} plus the parser's clock skew. A hit skips Base64
+ * decoding, JSON parsing and the HMAC check. Misses go through one shared, thread-safe parser,
+ * which also checks {@code nbf}, and failures are never cached, so an invalid or expired token
+ * always gets the parser's exception. Cached claims are read-only, since every thread presenting
+ * the same token shares them. Each verification is a {@link JwtVerifyEvent} when a flight
+ * recording asks for it.
+ */
+public final class VerifiedTokenCache {
+
+    /**
+     * A verified token, in both the jjwt and Spring Security representations.
+     *
+     * @param claims Claims as read by jjwt, read-only
+     * @param jwt The token for the resource server
+     * @param expiresAtMillis Expiry in epoch milliseconds, clock skew included
+     */
+    public record VerifiedToken(Claims claims, Jwt jwt, long expiresAtMillis) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    });
+
+    private final ConcurrentHashMap<ByteBuffer, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final JwtParser parser;
+    private final long clockSkewMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    /**
+     * @param parser Shared parser holding the signing key
+     * @param clockSkew Clock skew the parser allows on {@code exp} and {@code nbf}
+     * @param maxSize Maximum number of cached tokens
+     * @param clock Current time in epoch milliseconds
+     */
+    public VerifiedTokenCache(JwtParser parser, Duration clockSkew, int maxSize, LongSupplier clock) {
+        this.parser = parser;
+        this.clockSkewMillis = clockSkew.toMillis();
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the verified form of a token, checking its signature only on a cache miss.
+     *
+     * @param token The compact JWT
+     * @return The verified token
+     * @throws JwtException If the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        JwtVerifyEvent event = new JwtVerifyEvent();
+        event.begin();
+        String outcome = "invalid";
+        try {
+            ByteBuffer key = digest(token);
+            VerifiedToken cached = tokens.get(key);
+            if (cached != null) {
+                if (clock.getAsLong() < cached.expiresAtMillis()) {
+                    outcome = "cached";
+                    return cached;
+                }
+                tokens.remove(key, cached);
+            }
+
+            Jws<Claims> jws = parser.parseClaimsJws(token);
+            VerifiedToken verified = toVerifiedToken(token, jws, clockSkewMillis);
+            // Tokens without expiry are not cached, since nothing would ever evict them
+            if (verified.expiresAtMillis() != Long.MAX_VALUE) {
+                makeRoom();
+                tokens.put(key, verified);
+            }
+            outcome = "verified";
+            return verified;
+        } finally {
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @return Number of cached tokens
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    private void makeRoom() {
+        if (tokens.size() < maxSize) {
+            return;
+        }
+        long now = clock.getAsLong();
+        tokens.values().removeIf(token -> token.expiresAtMillis() <= now);
+        if (tokens.size() < maxSize) {
+            return;
+        }
+        // Still full of live tokens: drop an arbitrary tenth rather than grow
+        Iterator<ByteBuffer> keys = tokens.keySet().iterator();
+        int toDrop = Math.max(1, maxSize / 10);
+        while (toDrop-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static VerifiedToken toVerifiedToken(String token, Jws<Claims> jws, long clockSkewMillis) {
+        Claims claims = jws.getBody();
+        Map<String, Object> jwtClaims = new HashMap<>(claims);
+        if (claims.getIssuedAt() != null) {
+            jwtClaims.put(Claims.ISSUED_AT, claims.getIssuedAt().toInstant());
+        }
+        if (claims.getNotBefore() != null) {
+            jwtClaims.put(Claims.NOT_BEFORE, claims.getNotBefore().toInstant());
+        }
+        long expiresAt = Long.MAX_VALUE;
+        if (claims.getExpiration() != null) {
+            expiresAt = claims.getExpiration().getTime() + clockSkewMillis;
+            jwtClaims.put(Claims.EXPIRATION, claims.getExpiration().toInstant());
+        }
+        Jwt jwt = Jwt.withTokenValue(token)
+                .headers(headers -> headers.putAll(jws.getHeader()))
+                .claims(values -> values.putAll(jwtClaims))
+                .build();
+        return new VerifiedToken(new ReadOnlyClaims(claims), jwt, expiresAt);
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Read-only view of parsed claims. The parsed instance is never handed out, so it is
+     * only ever read after being published through the cache; list values are copied.
+     */
+    private static final class ReadOnlyClaims extends AbstractMap<String, Object> implements Claims {
+        private final Claims parsed;
+        private final Map<String, Object> values;
+
+        ReadOnlyClaims(Claims parsed) {
+            this.parsed = parsed;
+            Map<String, Object> copy = new HashMap<>(parsed);
+            copy.replaceAll((name, value) -> value instanceof List<?> list
+                    ? Collections.unmodifiableList(new ArrayList<>(list)) : value);
+            this.values = Collections.unmodifiableMap(copy);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return values.entrySet();
+        }
+
+        @Override
+        public Object get(Object name) {
+            return values.get(name);
+        }
+
+        @Override
+        public <T> T get(String claimName, Class<T> requiredType) {
+            Object value = values.get(claimName);
+            if (requiredType.isInstance(value)) {
+                return requiredType.cast(value);
+            }
+            // Conversions such as seconds to Date build a new value
+            return parsed.get(claimName, requiredType);
+        }
+
+        @Override
+        public String getIssuer() {
+            return parsed.getIssuer();
+        }
+
+        @Override
+        public String getSubject() {
+            return parsed.getSubject();
+        }
+
+        @Override
+        public String getAudience() {
+            return parsed.getAudience();
+        }
+
+        @Override
+        public Date getExpiration() {
+            return parsed.getExpiration();
+        }
+
+        @Override
+        public Date getNotBefore() {
+            return parsed.getNotBefore();
+        }
+
+        @Override
+        public Date getIssuedAt() {
+            return parsed.getIssuedAt();
+        }
+
+        @Override
+        public String getId() {
+            return parsed.getId();
+        }
+
+        @Override
+        public Claims setIssuer(String iss) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setSubject(String sub) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setAudience(String aud) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setExpiration(Date exp) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setNotBefore(Date nbf) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setIssuedAt(Date iat) {
+            throw readOnly();
+        }
+
+        @Override
+        public Claims setId(String jti) {
+            throw readOnly();
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Les claims d'un jeton vérifié sont en lecture seule");
+        }
+    }
+}
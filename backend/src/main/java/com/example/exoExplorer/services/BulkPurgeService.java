@@ -0,0 +1,165 @@
+package com.example.exoExplorer.services;
+
+import com.example.exoExplorer.analytics.TrendingExoplanets;
+import com.example.exoExplorer.analytics.UserAnalytics;
+import com.example.exoExplorer.mail.MailOutbox;
+import com.example.exoExplorer.observer.UserActionOutbox;
+import com.example.exoExplorer.otp.OtpStore;
+import com.example.exoExplorer.recommendation.FavoriteCooccurrence;
+import com.example.exoExplorer.security.PrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service clearing catalog and user data with set-based SQL.
+ * <p>
+ * Unlike {@code deleteAll()}, nothing is loaded into the persistence context: join and
+ * child tables are truncated (or deleted when truncation is refused), then parent tables
+ * are deleted by id range, one transaction per chunk, so a large purge never needs
+ * a single huge undo segment on Oracle.
+ * <p>
+ * In-memory aggregates keyed by exoplanet or user ids (analytics, trending scores,
+ * co-occurrence recommendations) are reset afterwards, and a full purge also discards
+ * pending OTPs, queued emails and unrelayed user action events.
+ */
+@Service
+public class BulkPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(BulkPurgeService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final PrincipalCache principalCache;
+    private final OtpStore otpStore;
+    private final MailOutbox mailOutbox;
+    private final UserActionOutbox userActionOutbox;
+    private final UserAnalytics userAnalytics;
+    private final TrendingExoplanets trendingExoplanets;
+    private final FavoriteCooccurrence favoriteCooccurrence;
+    private final Dialect dialect;
+
+    @Value("${exoplanet.purge.chunk-size:10000}")
+    private int chunkSize;
+
+    public BulkPurgeService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            CacheManager cacheManager, PrincipalCache principalCache,
+                            EntityManagerFactory entityManagerFactory, OtpStore otpStore,
+                            MailOutbox mailOutbox, UserActionOutbox userActionOutbox,
+                            UserAnalytics userAnalytics, TrendingExoplanets trendingExoplanets,
+                            FavoriteCooccurrence favoriteCooccurrence) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.principalCache = principalCache;
+        this.otpStore = otpStore;
+        this.mailOutbox = mailOutbox;
+        this.userActionOutbox = userActionOutbox;
+        this.userAnalytics = userAnalytics;
+        this.trendingExoplanets = trendingExoplanets;
+        this.favoriteCooccurrence = favoriteCooccurrence;
+        this.dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+    }
+
+    /**
+     * Deletes every exoplanet along with all favorites pointing to them.
+     *
+     * @return Number of exoplanets deleted
+     */
+    public long purgeExoplanets() {
+        try {
+            clearLeafTable("user_favorites", "user_id");
+            return deleteByIdRange("exoplanet", "exoplanet_id");
+        } finally {
+            invalidateCaches();
+            resetAggregates();
+        }
+    }
+
+    /**
+     * Deletes every exoplanet, user, favorite and backup code, along with pending OTPs,
+     * queued emails and unrelayed user action events.
+     *
+     * @return Number of exoplanets and users deleted
+     */
+    public long purgeAll() {
+        try {
+            otpStore.clear();
+            mailOutbox.clear();
+            userActionOutbox.clear();
+            clearLeafTable("user_favorites", "user_id");
+            clearLeafTable("two_factor_backup_code", "backup_id");
+            return deleteByIdRange("exoplanet", "exoplanet_id") + deleteByIdRange("users", "id");
+        } finally {
+            invalidateCaches();
+            principalCache.invalidateAll();
+            resetAggregates();
+        }
+    }
+
+    /**
+     * Empties a table no foreign key points to, truncating it when the database allows.
+     */
+    private void clearLeafTable(String table, String keyColumn) {
+        try {
+            jdbcTemplate.execute(dialect.getTruncateTableStatement(table));
+            logger.debug("Truncated {}", table);
+        } catch (DataAccessException e) {
+            logger.debug("Truncate refused for {}, deleting by range instead: {}", table, e.getMessage());
+            deleteByIdRange(table, keyColumn);
+        }
+    }
+
+    /**
+     * Deletes all rows of a table in key ranges of {@code chunkSize}, one transaction each.
+     * Gaps in the key space are skipped by restarting from the next existing key.
+     */
+    private long deleteByIdRange(String table, String keyColumn) {
+        String nextKeySql = "SELECT MIN(" + keyColumn + ") FROM " + table + " WHERE " + keyColumn + " >= ?";
+        String deleteSql = "DELETE FROM " + table + " WHERE " + keyColumn + " >= ? AND " + keyColumn + " < ?";
+
+        long deleted = 0;
+        Long from = jdbcTemplate.queryForObject(nextKeySql, Long.class, Long.MIN_VALUE);
+        while (from != null) {
+            long start = from;
+            long end = start + chunkSize;
+            Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(deleteSql, start, end));
+            deleted += rows != null ? rows : 0;
+            from = jdbcTemplate.queryForObject(nextKeySql, Long.class, end);
+        }
+        logger.info("Deleted {} rows from {}", deleted, table);
+        return deleted;
+    }
+
+    /**
+     * Resets the in-memory aggregates, which would otherwise keep serving deleted ids.
+     * The co-occurrence matrix is rebuilt from what is left of the favorites table.
+     */
+    private void resetAggregates() {
+        userAnalytics.clearExoplanets();
+        trendingExoplanets.clear();
+        favoriteCooccurrence.rebuild();
+    }
+
+    /**
+     * Clears every application cache at once, since all cached entries may now be stale.
+     */
+    private void invalidateCaches() {
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.exoExplorer.services;
+
+import com.example.exoExplorer.dto.CatalogGenerationReport;
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.entities.IdSequences;
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory.Distribution;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service generating large synthetic exoplanet catalogs for benchmarks.
+ * Rows are produced by {@link SyntheticExoplanetFactory} and written with batched JDBC
+ * inserts, one transaction per chunk, across a small pool of writer threads.
+ * Each writer holds a connection, so at most half of the connection pool is used,
+ * leaving the other half to requests.
+ * Ids are drawn from the exoplanet sequence in pooled blocks, like Hibernate does.
+ */
+@Service
+public class CatalogGeneratorService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogGeneratorService.class);
+
+    static final long MAX_ROWS = 10_000_000L;
+
+    private static final String INSERT_SQL = "INSERT INTO exoplanet (exoplanet_id, name, image_exo, distance, "
+            + "temperature, year_discovered, radius, masse, semi_major_axis, eccentricity, orbital_period_year, "
+            + "orbital_period_days, created_at, updated_at, created_by, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String nextIdBlockSql;
+
+    @Value("${exoplanet.generator.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${exoplanet.generator.chunk-size:20000}")
+    private int chunkSize;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    public CatalogGeneratorService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.nextIdBlockSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices()
+                .getDialect().getSequenceSupport().getSequenceNextValString(IdSequences.EXOPLANET);
+    }
+
+    /**
+     * Generates and inserts a synthetic catalog.
+     *
+     * @param count Number of exoplanets to insert
+     * @param distribution Distribution profile
+     * @param seed Seed making the catalog reproducible
+     * @param parallelism Number of concurrent writer threads, at most half the connection pool
+     * @return A report including the achieved insert rate
+     * @throws InvalidRequestException If the count or parallelism is out of range
+     */
+    @CacheEvict(value = {"exoplanetSummaries", "exoplanetDetails"}, allEntries = true)
+    public CatalogGenerationReport generate(long count, Distribution distribution, long seed, int parallelism) {
+        if (count < 1 || count > MAX_ROWS) {
+            throw new InvalidRequestException("Le nombre d'exoplanètes doit être compris entre 1 et " + MAX_ROWS);
+        }
+        int maxParallelism = maxParallelism();
+        if (parallelism < 1 || parallelism > maxParallelism) {
+            throw new InvalidRequestException("Le parallélisme doit être compris entre 1 et " + maxParallelism);
+        }
+
+        logger.info("Generating {} {} exoplanets (seed {}, {} writers)", count, distribution, seed, parallelism);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long start = System.nanoTime();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService writers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (long from = 0; from < count; from += chunkSize) {
+                long chunkStart = from;
+                long chunkEnd = Math.min(count, from + chunkSize);
+                chunks.add(writers.submit(() -> writeChunk(distribution, seed, chunkStart, chunkEnd, now)));
+            }
+            awaitAll(chunks);
+        } finally {
+            writers.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        CatalogGenerationReport report = new CatalogGenerationReport(
+                count, distribution.name(), seed, parallelism, batchSize, elapsedMillis);
+        logger.info("Generated {} exoplanets in {} ms ({} rows/s)", count, elapsedMillis, report.getRowsPerSecond());
+        return report;
+    }
+
+    /**
+     * @return Maximum number of writer threads, half the connection pool
+     */
+    int maxParallelism() {
+        return Math.max(1, connectionPoolSize / 2);
+    }
+
+    /**
+     * Builds rows [from, to) and inserts them in a single transaction.
+     */
+    private void writeChunk(Distribution distribution, long seed, long from, long to, Timestamp now) {
+        List<Exoplanet> rows = new ArrayList<>((int) (to - from));
+        long nextId = 0;
+        long blockEnd = -1;
+        for (long index = from; index < to; index++) {
+            if (nextId > blockEnd) {
+                blockEnd = nextIdBlock();
+                nextId = blockEnd - IdSequences.ALLOCATION_SIZE + 1;
+            }
+            Exoplanet exo = SyntheticExoplanetFactory.create(distribution, seed, index);
+            exo.setId(Math.toIntExact(nextId++));
+            rows.add(exo);
+        }
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows, batchSize, (ps, exo) -> bind(ps, exo, now)));
+        logger.debug("Inserted synthetic exoplanets {} to {}", from, to - 1);
+    }
+
+    /**
+     * Reserves a block of ids, returning its upper bound.
+     * Skips values too low to hold a full block, as Hibernate's pooled optimizer does.
+     */
+    private long nextIdBlock() {
+        long hi;
+        do {
+            hi = jdbcTemplate.queryForObject(nextIdBlockSql, Long.class);
+        } while (hi < IdSequences.ALLOCATION_SIZE);
+        return hi;
+    }
+
+    private static void bind(PreparedStatement ps, Exoplanet exo, Timestamp now) throws SQLException {
+        ps.setInt(1, exo.getId());
+        ps.setString(2, exo.getName());
+        ps.setString(3, exo.getImageExo());
+        setFloat(ps, 4, exo.getDistance());
+        setFloat(ps, 5, exo.getTemperature());
+        ps.setInt(6, exo.getYearDiscovered());
+        setFloat(ps, 7, exo.getRadius());
+        setFloat(ps, 8, exo.getMasse());
+        setFloat(ps, 9, exo.getSemiMajorAxis());
+        setFloat(ps, 10, exo.getEccentricity());
+        setFloat(ps, 11, exo.getOrbitalPeriodYear());
+        setFloat(ps, 12, exo.getOrbitalPeriodDays());
+        ps.setTimestamp(13, now);
+        ps.setTimestamp(14, now);
+        ps.setString(15, "catalog-generator");
+    }
+
+    private static void setFloat(PreparedStatement ps, int index, Float value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.FLOAT);
+        } else {
+            ps.setFloat(index, value);
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> chunks) {
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Génération du catalogue interrompue", e);
+        } catch (ExecutionException e) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Échec de la génération du catalogue", e.getCause());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.exoExplorer.services;
 
+import com.example.exoExplorer.images.ImageIndex;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -19,9 +20,15 @@ import java.util.Map;
 public class ExoplanetImageService {
     private static final Logger logger = LoggerFactory.getLogger(ExoplanetImageService.class);
 
-    // Map to store the association between exoplanet name and image URL
+    static final String JSON_SOURCE = "exoplanets.json";
+    static final String INDEX_SOURCE = "exoplanet-images.idx";
+
+    // Map to store the association between exoplanet name and image URL (JSON fallback only)
     private final Map<String, String> exoplanetImages = new HashMap<>();
 
+    // Compiled binary index, preferred over the JSON map when present and up to date
+    private ImageIndex imageIndex;
+
     /**
      * Internal class to represent the association read from JSON.
      */
@@ -47,13 +54,54 @@ public class ExoplanetImageService {
     }
 
     /**
-     * Loads image mappings from JSON file at application startup.
+     * Loads image mappings at application startup.
+     * Uses the binary index compiled at build time, falling back to parsing the JSON file.
      */
     @PostConstruct
     public void loadImages() {
+        if (loadIndex()) {
+            return;
+        }
+        loadJson();
+    }
+
+    /**
+     * Opens the compiled image index if it exists and matches the JSON on the classpath.
+     *
+     * @return true if the index is usable
+     */
+    private boolean loadIndex() {
+        ClassPathResource indexResource = new ClassPathResource(INDEX_SOURCE);
+        if (!indexResource.exists()) {
+            return false;
+        }
+        try {
+            ImageIndex index = ImageIndex.open(indexResource);
+            long jsonChecksum;
+            try (InputStream is = new ClassPathResource(JSON_SOURCE).getInputStream()) {
+                jsonChecksum = ImageIndex.checksum(is);
+            }
+            if (index.getSourceChecksum() != jsonChecksum) {
+                logger.warn("Image index is stale (CRC32 {} indexed, {} on classpath), falling back to JSON",
+                        Long.toHexString(index.getSourceChecksum()), Long.toHexString(jsonChecksum));
+                return false;
+            }
+            imageIndex = index;
+            logger.info("Loaded {} exoplanet image mappings from compiled index", index.size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Unable to open image index, falling back to JSON", e);
+            return false;
+        }
+    }
+
+    /**
+     * Loads image mappings from the JSON file.
+     */
+    private void loadJson() {
         try {
             // Load the exoplanets.json file from src/main/resources
-            ClassPathResource resource = new ClassPathResource("exoplanets.json");
+            ClassPathResource resource = new ClassPathResource(JSON_SOURCE);
             InputStream is = resource.getInputStream();
             ObjectMapper objectMapper = new ObjectMapper();
 
@@ -76,6 +124,9 @@ public class ExoplanetImageService {
      * @return The image URL, or null if not found
      */
     public String getImageUrl(String exoplanetName) {
+        if (imageIndex != null) {
+            return imageIndex.lookup(exoplanetName);
+        }
         String url = exoplanetImages.getOrDefault(exoplanetName, null);
         if (url == null) {
             for (Map.Entry<String, String> entry : exoplanetImages.entrySet()) {
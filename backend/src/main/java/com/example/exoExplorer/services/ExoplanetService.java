@@ -5,7 +5,11 @@ import com.example.exoExplorer.decorator.ExoplanetDecoratorFactory;
 import com.example.exoExplorer.dto.ExoplanetSummaryDTO;
 import com.example.exoExplorer.entities.Exoplanet;
 import com.example.exoExplorer.exceptions.ResourceNotFoundException;
+import com.example.exoExplorer.jfr.RefreshBatchEvent;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +31,7 @@ import java.util.Optional;
  * Incorporates Builder, Factory, and Decorator patterns.
  */
 @Service
+@Observed(name = "service.method")
 public class ExoplanetService {
     private static final Logger logger = LoggerFactory.getLogger(ExoplanetService.class);
 
@@ -39,19 +44,26 @@ public class ExoplanetService {
     @Autowired
     private ExoplanetImageService imageService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${exoplanet.travel-speed-fraction:0.1}")
     private float defaultTravelSpeedFraction;
 
     /**
      * Refreshes exoplanet data from external source.
+     * Rows are counted in {@code exoplanet.refresh.rows}, tagged inserted, updated or failed.
      */
     @Transactional
     @CacheEvict(value = {"exoplanetSummaries", "exoplanetDetails"}, allEntries = true)
     public void refreshExoplanetData() {
         logger.info("Starting exoplanet data refresh");
+        RefreshBatchEvent event = new RefreshBatchEvent();
+        event.begin();
         List<ExternalExoplanetClient.ExoplanetDTO> externalData = externalClient.fetchExoplanetData();
         int updated = 0;
         int created = 0;
+        int failed = 0;
 
         for (ExternalExoplanetClient.ExoplanetDTO dto : externalData) {
             try {
@@ -90,12 +102,25 @@ public class ExoplanetService {
                     created++;
                 }
             } catch (DataIntegrityViolationException e) {
-                logger.error("Data integrity violation when processing exoplanet: " + dto.getPlName(), e);} catch (Exception e) {
+                logger.error("Data integrity violation when processing exoplanet: " + dto.getPlName(), e);
+                failed++;
+            } catch (Exception e) {
                 logger.error("Error processing exoplanet: " + dto.getPlName(), e);
+                failed++;
             }
         }
 
-        logger.info("Exoplanet data refresh completed: {} updated, {} created", updated, created);
+        countRefreshedRows("inserted", created);
+        countRefreshedRows("updated", updated);
+        countRefreshedRows("failed", failed);
+        if (event.shouldCommit()) {
+            event.fetched = externalData.size();
+            event.inserted = created;
+            event.updated = updated;
+            event.failed = failed;
+            event.commit();
+        }
+        logger.info("Exoplanet data refresh completed: {} updated, {} created, {} failed", updated, created, failed);
     }
 
     /**
@@ -214,4 +239,11 @@ public class ExoplanetService {
         exoplanetRepository.delete(exoplanet);
     }
 
-}
\ No newline at end of file
+    private void countRefreshedRows(String result, int rows) {
+        Counter.builder("exoplanet.refresh.rows")
+                .description("Exoplanet rows processed by the data refresh")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment(rows);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.exoExplorer.services;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
@@ -12,6 +13,7 @@ import java.util.List;
  * Client for fetching exoplanet data from external APIs.
  */
 @Service
+@Observed(name = "service.method")
 public class ExternalExoplanetClient {
     private static final Logger logger = LoggerFactory.getLogger(ExternalExoplanetClient.class);
     private final RestTemplate restTemplate;
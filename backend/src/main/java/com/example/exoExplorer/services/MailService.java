@@ -1,29 +1,31 @@
 package com.example.exoExplorer.services;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.example.exoExplorer.mail.EmailTemplates;
+import com.example.exoExplorer.mail.MailOutbox;
+import com.example.exoExplorer.mail.OutboundMail;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+
+import java.util.Map;
 
 /**
  * Service for sending emails.
+ * Emails are composed here and handed to the {@link MailOutbox}, which sends them
+ * off the calling thread once the current transaction commits.
  */
 @Service
+@Observed(name = "service.method")
 public class MailService {
     private static final Logger logger = LoggerFactory.getLogger(MailService.class);
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutbox mailOutbox;
 
     @Autowired(required = false)
-    private TemplateEngine templateEngine;
+    private EmailTemplates emailTemplates;
 
     /**
      * Sends a simple text email.
@@ -33,12 +35,8 @@ public class MailService {
      * @param content Email content
      */
     public void sendEmail(String to, String subject, String content) {
-        logger.debug("Sending email to: {}", to);
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(content);
-        mailSender.send(message);
+        logger.debug("Queueing email to: {}", to);
+        mailOutbox.enqueue(OutboundMail.text(to, subject, content));
     }
 
     /**
@@ -51,12 +49,12 @@ public class MailService {
         String subject = "Votre code OTP";
         String content = "Bonjour,\n\nVotre code OTP est : " + otp + "\n\nIl est valable 5 minutes.";
 
-        if (templateEngine != null) {
+        if (emailTemplates != null) {
             try {
                 sendHtmlEmail(to, subject, createOtpEmailContent(otp));
             } catch (Exception e) {
-                // Changed from MessagingException to catch all exceptions including RuntimeException
-                logger.error("Error sending HTML OTP email to: {}", to, e);
+                // Template rendering failed, the plain text version still carries the code
+                logger.error("Error rendering HTML OTP email to: {}", to, e);
                 sendEmail(to, subject, content);
             }
         } else {
@@ -70,35 +68,23 @@ public class MailService {
      * @param to Recipient email address
      * @param subject Email subject
      * @param htmlContent HTML content
-     * @throws MessagingException if there's an error creating or sending the message
      */
-    public void sendHtmlEmail(String to, String subject, String htmlContent) throws MessagingException {
-        logger.debug("Sending HTML email to: {}", to);
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(htmlContent, true);
-
-        mailSender.send(message);
+    public void sendHtmlEmail(String to, String subject, String htmlContent) {
+        logger.debug("Queueing HTML email to: {}", to);
+        mailOutbox.enqueue(OutboundMail.html(to, subject, htmlContent));
     }
 
     /**
-     * Creates HTML content for an OTP email using Thymeleaf template.
+     * Creates HTML content for an OTP email from the precompiled template.
      *
      * @param otp One-time password
      * @return HTML content
      */
     private String createOtpEmailContent(String otp) {
-        if (templateEngine == null) {
+        if (emailTemplates == null) {
             return "<p>Votre code OTP est : <strong>" + otp + "</strong></p><p>Il est valable 5 minutes.</p>";
         }
 
-        Context context = new Context();
-        context.setVariable("otp", otp);
-        context.setVariable("expiration", "5 minutes");
-
-        return templateEngine.process("otp-email", context);
+        return emailTemplates.render("otp-email", Map.of("otp", otp, "expiration", "5 minutes"));
     }
 }
\ No newline at end of file
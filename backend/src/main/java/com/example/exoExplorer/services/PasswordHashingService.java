@@ -0,0 +1,201 @@
+package com.example.exoExplorer.services;
+
+import com.example.exoExplorer.exceptions.HashingOverloadedException;
+import com.example.exoExplorer.jfr.PasswordHashEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PreDestroy;
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service running BCrypt work on a dedicated, bounded pool.
+ * <p>
+ * Hashing is pure CPU, so the pool is sized to the cores and requests beyond the queue
+ * are rejected immediately with {@link HashingOverloadedException} (mapped to 503 with
+ * Retry-After) rather than piling up on web threads. A login storm then slows down
+ * authentication only, while other endpoints keep their share of the CPU.
+ */
+@Service
+@Observed(name = "service.method")
+public class PasswordHashingService {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final int retryAfterSeconds;
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejections;
+
+    @Autowired
+    public PasswordHashingService(@Value("${app.hashing.threads:0}") int threads,
+                                  @Value("${app.hashing.queue-capacity:32}") int queueCapacity,
+                                  @Value("${app.hashing.timeout-ms:2000}") long timeoutMillis,
+                                  @Value("${app.hashing.retry-after-seconds:1}") int retryAfterSeconds,
+                                  MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "hashing-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = timeoutMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("auth.hashing.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks running")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.hashing.wait")
+                .description("Time spent queued before hashing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.hashing.duration")
+                .description("Time spent running a hashing task")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejections = Counter.builder("auth.hashing.rejected")
+                .description("Hashing requests shed because the pool was saturated")
+                .register(meterRegistry);
+        logger.info("Password hashing pool: {} threads, queue of {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Hashes a secret with a fresh BCrypt salt.
+     *
+     * @param plain The secret to hash
+     * @return The BCrypt hash
+     * @throws HashingOverloadedException If the pool is saturated
+     */
+    public String hash(String plain) {
+        return submit("hash", () -> BCrypt.hashpw(plain, BCrypt.gensalt()));
+    }
+
+    /**
+     * Checks a secret against a BCrypt hash.
+     *
+     * @param plain The secret to check
+     * @param hash The stored BCrypt hash
+     * @return True if they match
+     * @throws HashingOverloadedException If the pool is saturated
+     */
+    public boolean matches(String plain, String hash) {
+        return submit("verify", () -> BCrypt.checkpw(plain, hash));
+    }
+
+    /**
+     * Hashes several secrets in parallel, each with a fresh BCrypt salt.
+     * <p>
+     * The secrets are split into one slice per pool thread, so a batch takes at most
+     * that many queue slots. Either every hash is returned, or every pending slice is
+     * cancelled and the call fails.
+     *
+     * @param plains The secrets to hash
+     * @param timeout Deadline for the whole batch
+     * @return The hashes, in the order of the secrets
+     * @throws HashingOverloadedException If the pool is saturated or the deadline passes
+     */
+    public List<String> hashAll(List<String> plains, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int slices = Math.min(plains.size(), executor.getMaximumPoolSize());
+        int sliceSize = slices == 0 ? 0 : (plains.size() + slices - 1) / slices;
+
+        List<Future<List<String>>> futures = new ArrayList<>(slices);
+        try {
+            for (int from = 0; from < plains.size(); from += sliceSize) {
+                List<String> slice = plains.subList(from, Math.min(plains.size(), from + sliceSize));
+                futures.add(schedule("hash_batch", slice.size(), () -> slice.stream()
+                        .map(plain -> BCrypt.hashpw(plain, BCrypt.gensalt()))
+                        .toList()));
+            }
+            List<String> hashes = new ArrayList<>(plains.size());
+            for (Future<List<String>> future : futures) {
+                hashes.addAll(await(future, deadline - System.nanoTime()));
+            }
+            return hashes;
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private <T> T submit(String operation, Callable<T> work) {
+        Future<T> future = schedule(operation, 1, work);
+        try {
+            return await(future, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+        } catch (RuntimeException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    private <T> Future<T> schedule(String operation, int secrets, Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+                PasswordHashEvent event = new PasswordHashEvent();
+                event.begin();
+                try {
+                    return work.call();
+                } finally {
+                    hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    if (event.shouldCommit()) {
+                        event.operation = operation;
+                        event.secrets = secrets;
+                        event.queueWait = startedAt - queuedAt;
+                        event.commit();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw overloaded();
+        }
+    }
+
+    private <T> T await(Future<T> future, long timeoutNanos) {
+        try {
+            return future.get(Math.max(0, timeoutNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw overloaded();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw overloaded();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Échec du hachage", e.getCause());
+        }
+    }
+
+    private HashingOverloadedException overloaded() {
+        rejections.increment();
+        return new HashingOverloadedException(
+                "Service d'authentification surchargé, veuillez réessayer", retryAfterSeconds);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.exoExplorer.services;
 
-import com.example.exoExplorer.entities.User;
-import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.PrincipalCache;
+import com.example.exoExplorer.security.PrincipalCache.CachedPrincipal;
+import com.example.exoExplorer.security.VerifiedTokenCache;
+import com.example.exoExplorer.security.VerifiedTokenCache.VerifiedToken;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,6 +18,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.*;
 import java.util.function.Function;
 
@@ -22,6 +27,7 @@ import java.util.function.Function;
  * Implements the Token Provider pattern.
  */
 @Service
+@Observed(name = "service.method")
 public class TokenService {
 
     @Value("${jwt.secret:MySuperSecretKeyForJWTMySuperSecretKeyForJWT}")
@@ -30,10 +36,19 @@ public class TokenService {
     @Value("${jwt.expiration:3600000}") // 1 hour by default, changed it just for development
     private long jwtExpiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize = 10_000;
+
+    // Same tolerance as the resource server's default timestamp validator
+    @Value("${jwt.clock-skew-seconds:60}")
+    private long clockSkewSeconds = 60;
+
     private SecretKey key;
 
+    private volatile VerifiedTokenCache verifiedTokens;
+
     @Autowired
-    private UserRepository userRepository;
+    private PrincipalCache principalCache;
 
     /**
      * Lazily initializes the secret key.
@@ -46,29 +61,53 @@ public class TokenService {
         return key;
     }
 
+    /**
+     * Lazily creates the shared parser and the cache of verified tokens.
+     */
+    private VerifiedTokenCache getVerifiedTokens() {
+        VerifiedTokenCache cache = verifiedTokens;
+        if (cache == null) {
+            synchronized (this) {
+                cache = verifiedTokens;
+                if (cache == null) {
+                    JwtParser parser = Jwts.parserBuilder()
+                            .setSigningKey(getKey())
+                            .setAllowedClockSkewSeconds(clockSkewSeconds)
+                            .build();
+                    cache = new VerifiedTokenCache(parser, Duration.ofSeconds(clockSkewSeconds),
+                            cacheMaxSize, System::currentTimeMillis);
+                    verifiedTokens = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Verifies a token, reusing a previous verification of the same token when possible.
+     * @param token The JWT token
+     * @return The verified token
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        return getVerifiedTokens().verify(token);
+    }
+
     /**
      * Generates a JWT token for a user with their roles.
      * @param email The user's email
      * @return The generated JWT token
      */
     public String generateToken(String email) {
-        // Search for the user to get their roles
-        User user = userRepository.findByEmail(email)
+        // Roles come from the principal cache, usually primed by the OTP verification
+        CachedPrincipal principal = principalCache.get(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         // Create a map for additional claims
         Map<String, Object> claims = new HashMap<>();
 
-        // Add roles as claim
-        List<String> roles = new ArrayList<>();
-        roles.add("ROLE_USER");  // All users have this role
-
-        if (user.isAdmin()) {
-            roles.add("ROLE_ADMIN");  // Add the admin role if applicable
-        }
-
         // Add roles to claims
-        claims.put("roles", roles);
+        claims.put("roles", new ArrayList<>(principal.roles()));
 
         // Generate the token with the additional claims
         return generateToken(claims, email);
@@ -116,8 +155,9 @@ public class TokenService {
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username != null && username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            // A single verification covers the signature, the expiry and the subject
+            final String username = extractAllClaims(token).getSubject();
+            return username != null && username.equals(userDetails.getUsername());
         } catch (ExpiredJwtException e) {
             // Token is expired, so it's not valid
             return false;
@@ -127,30 +167,6 @@ public class TokenService {
         }
     }
 
-    /**
-     * Checks if a token is expired.
-     * @param token The JWT token
-     * @return True if the token is expired, false otherwise
-     */
-    private boolean isTokenExpired(String token) {
-        try {
-            return extractExpiration(token).before(new Date());
-        } catch (ExpiredJwtException e) {
-            return true;
-        } catch (Exception e) {
-            return true;
-        }
-    }
-
-    /**
-     * Extracts the expiration date from a token.
-     * @param token The JWT token
-     * @return The expiration date
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
     /**
      * Extracts a specific claim from a token.
      * @param token The JWT token
@@ -171,10 +187,6 @@ public class TokenService {
      * @throws ExpiredJwtException if the token is expired
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token).claims();
     }
 }
\ No newline at end of file
@@ -7,11 +7,14 @@ import com.example.exoExplorer.exceptions.*;
 import com.example.exoExplorer.factory.UserFactory;
 import com.example.exoExplorer.observer.UserActionEvent;
 import com.example.exoExplorer.observer.UserActionSubject;
+import com.example.exoExplorer.otp.BackupCodeTagger;
+import com.example.exoExplorer.otp.OtpStore;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
 import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.PrincipalCache;
 import com.example.exoExplorer.strategy.OtpStrategyFactory;
 import com.example.exoExplorer.strategy.OtpVerificationStrategy;
-import org.mindrot.jbcrypt.BCrypt;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,15 +25,18 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service for managing user-related operations.
  * Incorporates Factory, Strategy, and Observer patterns.
  */
 @Service
+@Observed(name = "service.method")
 public class UserService {
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
@@ -52,9 +58,24 @@ public class UserService {
     @Autowired
     private UserActionSubject userActionSubject;
 
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private BackupCodeTagger backupCodeTagger;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
     @Value("${app.otp.expiration-minutes:5}")
     private int otpExpirationMinutes;
 
+    @Value("${app.backup-codes.deadline-ms:5000}")
+    private long backupCodeDeadlineMillis;
+
     private final SecureRandom secureRandom = new SecureRandom();
 
     /**
@@ -95,7 +116,7 @@ public class UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
 
-        if (!BCrypt.checkpw(password, user.getPassword())) {
+        if (!passwordHashingService.matches(password, user.getPassword())) {
             logger.warn("Failed login attempt for user: {}", email);
             throw new BadCredentialsException("Email ou mot de passe incorrect");
         }
@@ -103,13 +124,9 @@ public class UserService {
         // Generate OTP
         int otpInt = secureRandom.nextInt(900000) + 100000;
         String otp = String.valueOf(otpInt);
-        String otpHash = BCrypt.hashpw(otp, BCrypt.gensalt());
 
-        // Update user with OTP info
-        user.setOtpCodeHash(otpHash);
-        user.setOtpExpiry(LocalDateTime.now().plusMinutes(otpExpirationMinutes));
-        user.setOtpVerified(false);
-        userRepository.save(user);
+        // Only a keyed digest is kept, outside the users row
+        otpStore.put(email, otp, Duration.ofMinutes(otpExpirationMinutes));
 
         // Send OTP via email
         mailService.sendOtpEmail(email, otp);
@@ -138,12 +155,13 @@ public class UserService {
         OtpVerificationStrategy strategy = otpStrategyFactory.getStrategy(false);
         strategy.verify(user, otp);
 
-        // Update user after successful verification
+        // Update user after successful verification, a no-op once already verified
         user.setOtpVerified(true);
-        user.setOtpCodeHash(null);
-        user.setOtpExpiry(null);
         userRepository.save(user);
 
+        // The token is issued right after, from this freshly loaded user
+        principalCache.put(user);
+
         logger.info("OTP verified successfully for user: {}", email);
         return user;
     }
@@ -161,19 +179,30 @@ public class UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Utilisateur non trouvé"));
 
-        user.getBackupCodes().clear();
         List<String> plainCodes = new ArrayList<>();
+        List<String> tags = new ArrayList<>();
+        Set<String> usedTags = new HashSet<>();
 
-        for (int i = 0; i < count; i++) {
+        while (plainCodes.size() < count) {
             int codeInt = secureRandom.nextInt(90000000) + 10000000;
             String plainCode = String.valueOf(codeInt);
-            String codeHash = BCrypt.hashpw(plainCode, BCrypt.gensalt());
+            String tag = backupCodeTagger.tag(user.getId(), plainCode);
+            // Tags must be unique per user, redraw on the rare collision
+            if (usedTags.add(tag)) {
+                plainCodes.add(plainCode);
+                tags.add(tag);
+            }
+        }
+
+        // All hashes are computed in parallel before touching the user
+        List<String> hashes = passwordHashingService.hashAll(plainCodes, Duration.ofMillis(backupCodeDeadlineMillis));
 
-            TwoFactorBackupCode backup = new TwoFactorBackupCode(null, codeHash, false, user);
-            user.getBackupCodes().add(backup);
-            plainCodes.add(plainCode);
+        user.getBackupCodes().clear();
+        for (int i = 0; i < count; i++) {
+            user.getBackupCodes().add(new TwoFactorBackupCode(null, hashes.get(i), tags.get(i), false, user));
         }
 
+        // Cascaded inserts go out as a single JDBC batch
         userRepository.save(user);
         logger.info("Generated {} backup codes for user: {}", count, email);
 
@@ -298,13 +327,14 @@ public class UserService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Utilisateur introuvable"));
 
-        if (!BCrypt.checkpw(currentPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(currentPassword, user.getPassword())) {
             logger.warn("Failed password change attempt for user: {}", email);
             throw new BadCredentialsException("Mot de passe actuel incorrect");
         }
 
-        user.setPassword(BCrypt.hashpw(newPassword, BCrypt.gensalt()));
+        user.setPassword(passwordHashingService.hash(newPassword));
         userRepository.save(user);
+        principalCache.invalidateOnCommit(email);
 
         userActionSubject.notifyObservers(UserActionEvent.PASSWORD_CHANGED, user, null);
         logger.info("Password changed for user: {}", email);
@@ -1,31 +1,63 @@
 package com.example.exoExplorer.strategy;
 
+import com.example.exoExplorer.entities.TwoFactorBackupCode;
 import com.example.exoExplorer.entities.User;
 import com.example.exoExplorer.exceptions.InvalidOtpException;
-import org.mindrot.jbcrypt.BCrypt;
+import com.example.exoExplorer.otp.BackupCodeTagger;
+import com.example.exoExplorer.repositories.TwoFactorBackupCodeRepository;
+import com.example.exoExplorer.services.PasswordHashingService;
 import org.springframework.stereotype.Component;
 
+import java.util.Optional;
+
 /**
  * Backup code verification strategy.
+ * The candidate code is selected by its lookup tag, so an attempt costs at most one BCrypt check.
  */
 @Component
 public class BackupCodeVerificationStrategy implements OtpVerificationStrategy {
 
+    private final TwoFactorBackupCodeRepository backupCodeRepository;
+    private final BackupCodeTagger tagger;
+    private final PasswordHashingService passwordHashingService;
+
+    public BackupCodeVerificationStrategy(TwoFactorBackupCodeRepository backupCodeRepository,
+                                          BackupCodeTagger tagger,
+                                          PasswordHashingService passwordHashingService) {
+        this.backupCodeRepository = backupCodeRepository;
+        this.tagger = tagger;
+        this.passwordHashingService = passwordHashingService;
+    }
+
     @Override
     public void verify(User user, String backupCode) throws InvalidOtpException {
-        // Implementation for backup code verification
-        // This would check against stored backup codes and mark the used code
-        boolean found = user.getBackupCodes().stream()
-                .anyMatch(code -> !code.getUsed() && BCrypt.checkpw(backupCode, code.getBackupCode()));
-
-        if (!found) {
+        if (backupCode == null || backupCode.isBlank()) {
             throw new InvalidOtpException("Code de secours invalide");
         }
 
+        Optional<TwoFactorBackupCode> candidate = backupCodeRepository
+                .findByUserIdAndLookupTag(user.getId(), tagger.tag(user.getId(), backupCode))
+                .or(() -> findUntagged(user, backupCode));
+
+        TwoFactorBackupCode code = candidate
+                .filter(found -> !found.getUsed())
+                .filter(found -> passwordHashingService.matches(backupCode.trim(), found.getBackupCode()))
+                .orElseThrow(() -> new InvalidOtpException("Code de secours invalide"));
+
         // Mark the backup code as used
-        user.getBackupCodes().stream()
-                .filter(code -> BCrypt.checkpw(backupCode, code.getBackupCode()))
-                .findFirst()
-                .ifPresent(code -> code.setUsed(true));
+        code.setUsed(true);
+    }
+
+    /**
+     * Scans codes generated before lookup tags existed. They disappear once the user
+     * regenerates their codes, and are no longer checked once the tagger's end date passes.
+     */
+    private Optional<TwoFactorBackupCode> findUntagged(User user, String backupCode) {
+        if (!tagger.acceptsUntagged()) {
+            return Optional.empty();
+        }
+        return backupCodeRepository.findUnusedUntaggedByUserId(user.getId()).stream()
+                .filter(code -> passwordHashingService.matches(backupCode.trim(), code.getBackupCode()))
+                .findFirst();
     }
-}
\ No newline at end of file
+}
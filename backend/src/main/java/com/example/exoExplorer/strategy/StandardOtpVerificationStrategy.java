@@ -2,29 +2,23 @@ package com.example.exoExplorer.strategy;
 
 import com.example.exoExplorer.entities.User;
 import com.example.exoExplorer.exceptions.InvalidOtpException;
-import org.mindrot.jbcrypt.BCrypt;
+import com.example.exoExplorer.otp.OtpStore;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-
 /**
- * Standard OTP verification using BCrypt.
+ * Standard OTP verification against the configured {@link OtpStore}.
  */
 @Component
 public class StandardOtpVerificationStrategy implements OtpVerificationStrategy {
 
-    @Override
-    public void verify(User user, String otp) throws InvalidOtpException {
-        if (user.getOtpCodeHash() == null || user.getOtpExpiry() == null) {
-            throw new InvalidOtpException("Aucun OTP généré pour cet utilisateur");
-        }
+    private final OtpStore otpStore;
 
-        if (LocalDateTime.now().isAfter(user.getOtpExpiry())) {
-            throw new InvalidOtpException("OTP expiré");
-        }
+    public StandardOtpVerificationStrategy(OtpStore otpStore) {
+        this.otpStore = otpStore;
+    }
 
-        if (!BCrypt.checkpw(otp, user.getOtpCodeHash())) {
-            throw new InvalidOtpException("OTP invalide");
-        }
+    @Override
+    public void verify(User user, String otp) throws InvalidOtpException {
+        otpStore.verify(user.getEmail(), otp);
     }
-}
\ No newline at end of file
+}
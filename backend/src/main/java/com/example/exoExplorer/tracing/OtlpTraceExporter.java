@@ -0,0 +1,166 @@
+package com.example.exoExplorer.tracing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional export of kept traces to an OpenTelemetry collector, as OTLP/HTTP JSON.
+ * <p>
+ * Enabled by setting {@code app.tracing.otlp.endpoint}, e.g. {@code http://localhost:4318/v1/traces}.
+ * Traces are posted one by one from a single background thread; when the queue of
+ * {@code app.tracing.otlp.queue-size} traces is full, new ones are dropped rather than
+ * slowing requests down.
+ */
+@Component
+public class OtlpTraceExporter {
+    private static final Logger logger = LoggerFactory.getLogger(OtlpTraceExporter.class);
+
+    private final ObjectMapper objectMapper;
+    private final URI endpoint;
+    private final String serviceName;
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor executor;
+    private final Counter exported;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public OtlpTraceExporter(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${app.tracing.otlp.endpoint:}") String endpoint,
+                             @Value("${app.tracing.otlp.service-name:exoexplorer}") String serviceName,
+                             @Value("${app.tracing.otlp.queue-size:256}") int queueSize) {
+        this.objectMapper = objectMapper;
+        this.endpoint = endpoint.isBlank() ? null : URI.create(endpoint);
+        this.serviceName = serviceName;
+        if (this.endpoint != null) {
+            this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+            this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "tracing-otlp-exporter");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            logger.info("Exporting kept traces to {}", endpoint);
+        } else {
+            this.httpClient = null;
+            this.executor = null;
+        }
+        this.exported = Counter.builder("tracing.otlp.exported")
+                .description("Traces accepted by the OTLP collector")
+                .register(meterRegistry);
+        this.failed = Counter.builder("tracing.otlp.failed")
+                .description("Traces the OTLP collector refused or could not be reached for")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("tracing.otlp.dropped")
+                .description("Traces dropped because the export queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return True if an OTLP endpoint is configured
+     */
+    public boolean isEnabled() {
+        return endpoint != null;
+    }
+
+    /**
+     * Queues a trace for export, if enabled.
+     */
+    public void export(Trace trace) {
+        if (executor == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> send(trace));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Builds the OTLP JSON request for one trace.
+     */
+    Map<String, Object> toOtlp(Trace trace) {
+        long traceStartNanos = TimeUnit.SECONDS.toNanos(trace.start().getEpochSecond()) + trace.start().getNano();
+        List<Map<String, Object>> spans = new ArrayList<>(trace.spans().size());
+        for (Span span : trace.spans()) {
+            long start = traceStartNanos + TimeUnit.MICROSECONDS.toNanos(span.offsetMicros());
+            Map<String, Object> otlpSpan = new LinkedHashMap<>();
+            otlpSpan.put("traceId", trace.traceId());
+            otlpSpan.put("spanId", span.spanId());
+            if (span.parentId() != null) {
+                otlpSpan.put("parentSpanId", span.parentId());
+            }
+            otlpSpan.put("name", span.name());
+            // 2 = server for the root, 3 = client for database calls, 1 = internal
+            otlpSpan.put("kind", span.parentId() == null ? 2 : span.name().startsWith("jdbc") ? 3 : 1);
+            otlpSpan.put("startTimeUnixNano", String.valueOf(start));
+            otlpSpan.put("endTimeUnixNano", String.valueOf(start + TimeUnit.MICROSECONDS.toNanos(span.durationMicros())));
+            otlpSpan.put("attributes", attributes(span.tags()));
+            otlpSpan.put("status", span.error() == null ? Map.of("code", 0) : Map.of("code", 2, "message", span.error()));
+            spans.add(otlpSpan);
+        }
+        Map<String, Object> resource = Map.of("attributes", attributes(Map.of("service.name", serviceName)));
+        Map<String, Object> scopeSpans = Map.of("scope", Map.of("name", "exoexplorer"), "spans", spans);
+        return Map.of("resourceSpans", List.of(Map.of("resource", resource, "scopeSpans", List.of(scopeSpans))));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void send(Trace trace) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(endpoint)
+                    .timeout(Duration.ofSeconds(5))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(toOtlp(trace))))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 300) {
+                failed.increment();
+                logger.debug("OTLP collector refused trace {}: HTTP {}", trace.traceId(), response.statusCode());
+            } else {
+                exported.increment();
+            }
+        } catch (JsonProcessingException e) {
+            failed.increment();
+            logger.warn("Unable to encode trace {}", trace.traceId(), e);
+        } catch (IOException e) {
+            failed.increment();
+            logger.debug("OTLP collector unreachable: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, String> tags) {
+        List<Map<String, Object>> attributes = new ArrayList<>(tags.size());
+        tags.forEach((key, value) -> attributes.add(Map.of("key", key, "value", Map.of("stringValue", value))));
+        return attributes;
+    }
+}
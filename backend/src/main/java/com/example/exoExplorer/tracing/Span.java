@@ -0,0 +1,19 @@
+package com.example.exoExplorer.tracing;
+
+import java.util.Map;
+
+/**
+ * One timed hop of a trace.
+ *
+ * @param spanId Span id, 16 hex digits
+ * @param parentId Id of the enclosing span, or null for the root
+ * @param name What was timed
+ * @param depth Nesting level, 0 for the root
+ * @param offsetMicros Start, relative to the start of the trace
+ * @param durationMicros Duration
+ * @param tags Key-values describing the hop
+ * @param error The error that ended the hop, or null
+ */
+public record Span(String spanId, String parentId, String name, int depth, long offsetMicros, long durationMicros,
+                   Map<String, String> tags, String error) {
+}
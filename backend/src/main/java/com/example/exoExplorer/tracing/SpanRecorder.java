@@ -0,0 +1,284 @@
+package com.example.exoExplorer.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process tracer building spans from Micrometer observations and from explicit
+ * {@link #start(String)} calls.
+ * <p>
+ * Observations come from Spring (HTTP requests, security filter chains and authentications)
+ * and from {@code @Observed} services; explicit spans cover repositories, JDBC statements,
+ * cache lookups and JSON serialization. Spans nest through the current span of the thread.
+ * Only observations start traces: an explicit span with no current span, like the JDBC
+ * statements of the outbox relays or of a recommendation rebuild, is not recorded, so
+ * background polling neither allocates traces nor crowds requests out of the store.
+ * A trace is assembled in memory and the decision to keep it is taken once its root span
+ * ends: traces with an error or lasting at least {@code app.tracing.slow-ms} are kept, the
+ * others with probability {@code app.tracing.sample-rate}. Kept traces go to the
+ * {@link TraceStore} and, if configured, to the {@link OtlpTraceExporter}.
+ */
+@Component
+public class SpanRecorder implements ObservationHandler<Observation.Context> {
+
+    /**
+     * A span in progress, ended by {@link #close()}.
+     */
+    public interface ActiveSpan extends AutoCloseable {
+        ActiveSpan tag(String key, String value);
+
+        void error(Throwable error);
+
+        @Override
+        void close();
+    }
+
+    private static final ActiveSpan NOOP = new ActiveSpan() {
+        @Override
+        public ActiveSpan tag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public void error(Throwable error) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    private final TraceStore store;
+    private final OtlpTraceExporter exporter;
+    private final boolean enabled;
+    private final long slowMicros;
+    private final double sampleRate;
+    private final int maxSpans;
+    private final ThreadLocal<SpanState> current = new ThreadLocal<>();
+    private final Counter kept;
+    private final Counter discarded;
+
+    @Autowired
+    public SpanRecorder(TraceStore store, OtlpTraceExporter exporter, MeterRegistry meterRegistry,
+                        @Value("${app.tracing.enabled:true}") boolean enabled,
+                        @Value("${app.tracing.slow-ms:500}") long slowMillis,
+                        @Value("${app.tracing.sample-rate:0.01}") double sampleRate,
+                        @Value("${app.tracing.max-spans:256}") int maxSpans) {
+        this.store = store;
+        this.exporter = exporter;
+        this.enabled = enabled;
+        this.slowMicros = TimeUnit.MILLISECONDS.toMicros(slowMillis);
+        this.sampleRate = sampleRate;
+        this.maxSpans = maxSpans;
+        this.kept = Counter.builder("tracing.traces")
+                .description("Traces assembled, by tail sampling decision")
+                .tag("decision", "kept")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("tracing.traces")
+                .description("Traces assembled, by tail sampling decision")
+                .tag("decision", "discarded")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a span as a child of the thread's current span, and makes it current.
+     * Spans must be closed on the thread that started them, innermost first.
+     * Without a current span, nothing is recorded.
+     *
+     * @param name What is timed
+     * @return The span, to close when done
+     */
+    public ActiveSpan start(String name) {
+        SpanState parent = enabled ? current.get() : null;
+        if (parent == null) {
+            return NOOP;
+        }
+        SpanState span = new SpanState(parent, name);
+        span.previous = span.parent;
+        span.scoped = true;
+        current.set(span);
+        return span;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return enabled;
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        ObservationView parentObservation = context.getParentObservation();
+        SpanState parent = parentObservation != null
+                ? parentObservation.getContextView().get(SpanState.class)
+                : current.get();
+        context.put(SpanState.class, new SpanState(parent, context.getName()));
+    }
+
+    @Override
+    public void onScopeOpened(Observation.Context context) {
+        SpanState span = context.get(SpanState.class);
+        if (span != null) {
+            span.previous = current.get();
+            current.set(span);
+        }
+    }
+
+    @Override
+    public void onScopeClosed(Observation.Context context) {
+        SpanState span = context.get(SpanState.class);
+        if (span != null && current.get() == span) {
+            current.set(span.previous);
+        }
+    }
+
+    @Override
+    public void onError(Observation.Context context) {
+        SpanState span = context.get(SpanState.class);
+        if (span != null && context.getError() != null) {
+            span.error(context.getError());
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        SpanState span = context.get(SpanState.class);
+        if (span == null) {
+            return;
+        }
+        if (context.getContextualName() != null) {
+            span.name = context.getContextualName();
+        }
+        for (KeyValue keyValue : context.getLowCardinalityKeyValues()) {
+            span.tag(keyValue.getKey(), keyValue.getValue());
+        }
+        for (KeyValue keyValue : context.getHighCardinalityKeyValues()) {
+            span.tag(keyValue.getKey(), keyValue.getValue());
+        }
+        finish(span);
+    }
+
+    private void finish(SpanState span) {
+        long end = System.nanoTime();
+        TraceBuffer trace = span.trace;
+        Span finished = new Span(span.spanId, span.parent == null ? null : span.parent.spanId, span.name, span.depth,
+                TimeUnit.NANOSECONDS.toMicros(span.startNanos - trace.startNanos),
+                TimeUnit.NANOSECONDS.toMicros(end - span.startNanos),
+                span.tags == null ? Map.of() : Collections.unmodifiableMap(span.tags), span.error);
+        synchronized (trace) {
+            if (trace.spans.size() < maxSpans) {
+                trace.spans.add(finished);
+            } else {
+                trace.dropped++;
+            }
+            trace.error |= span.error != null;
+        }
+        if (span.parent == null) {
+            complete(trace, finished);
+        }
+    }
+
+    private void complete(TraceBuffer trace, Span root) {
+        List<Span> spans;
+        boolean error;
+        int dropped;
+        synchronized (trace) {
+            spans = new ArrayList<>(trace.spans);
+            error = trace.error;
+            dropped = trace.dropped;
+        }
+        if (!error && root.durationMicros() < slowMicros && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            discarded.increment();
+            return;
+        }
+        spans.sort(Comparator.comparingLong(Span::offsetMicros).thenComparingInt(Span::depth));
+        Trace result = new Trace(trace.traceId, root.name(), trace.start, root.durationMicros(), error, dropped,
+                List.copyOf(spans));
+        kept.increment();
+        store.add(result);
+        exporter.export(result);
+    }
+
+    private static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0".repeat(16 - digits.length()) + digits;
+    }
+
+    /**
+     * Spans of one trace, filled as they end.
+     */
+    private static final class TraceBuffer {
+        private final String traceId;
+        private final Instant start = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private final List<Span> spans = new ArrayList<>();
+        private int dropped;
+        private boolean error;
+
+        private TraceBuffer() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            this.traceId = hex(random.nextLong()) + hex(random.nextLong());
+        }
+    }
+
+    /**
+     * A span in progress.
+     */
+    private final class SpanState implements ActiveSpan {
+        private final TraceBuffer trace;
+        private final SpanState parent;
+        private final String spanId = hex(ThreadLocalRandom.current().nextLong());
+        private final int depth;
+        private final long startNanos = System.nanoTime();
+        private String name;
+        private Map<String, String> tags;
+        private String error;
+        private SpanState previous;
+        private boolean scoped;
+
+        private SpanState(SpanState parent, String name) {
+            this.trace = parent == null ? new TraceBuffer() : parent.trace;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+            this.name = name;
+        }
+
+        @Override
+        public ActiveSpan tag(String key, String value) {
+            if (tags == null) {
+                tags = new LinkedHashMap<>();
+            }
+            tags.put(key, value);
+            return this;
+        }
+
+        @Override
+        public void error(Throwable error) {
+            this.error = error.getClass().getSimpleName() + (error.getMessage() == null ? "" : ": " + error.getMessage());
+        }
+
+        @Override
+        public void close() {
+            if (scoped && current.get() == this) {
+                current.set(previous);
+            }
+            finish(this);
+        }
+    }
+}
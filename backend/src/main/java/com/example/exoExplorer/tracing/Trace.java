@@ -0,0 +1,19 @@
+package com.example.exoExplorer.tracing;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A kept trace, its spans ordered by start for a waterfall view.
+ *
+ * @param traceId Trace id, 32 hex digits
+ * @param name Name of the root span
+ * @param start Start of the root span
+ * @param durationMicros Duration of the root span
+ * @param error True if any span ended with an error
+ * @param droppedSpans Spans beyond {@code app.tracing.max-spans}, not kept
+ * @param spans The spans, root first
+ */
+public record Trace(String traceId, String name, Instant start, long durationMicros, boolean error, int droppedSpans,
+                    List<Span> spans) {
+}
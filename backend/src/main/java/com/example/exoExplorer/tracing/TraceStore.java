@@ -0,0 +1,62 @@
+package com.example.exoExplorer.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring of the last {@code app.tracing.store-size} kept traces; older ones are overwritten.
+ */
+@Component
+public class TraceStore {
+    private final AtomicReferenceArray<Trace> traces;
+    private final AtomicLong next = new AtomicLong();
+
+    public TraceStore(@Value("${app.tracing.store-size:256}") int capacity) {
+        this.traces = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Stores a trace, replacing the oldest one when full.
+     */
+    public void add(Trace trace) {
+        traces.set((int) (next.getAndIncrement() % traces.length()), trace);
+    }
+
+    /**
+     * Gets the most recent traces at least as long as a duration.
+     *
+     * @param minDurationMicros Minimum duration of the root span
+     * @param limit Maximum number of traces
+     * @return The traces, newest first
+     */
+    public List<Trace> find(long minDurationMicros, int limit) {
+        List<Trace> result = new ArrayList<>();
+        long last = next.get() - 1;
+        for (long i = last; i >= 0 && i > last - traces.length() && result.size() < limit; i--) {
+            Trace trace = traces.get((int) (i % traces.length()));
+            if (trace != null && trace.durationMicros() >= minDurationMicros) {
+                result.add(trace);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a trace still in the store.
+     */
+    public Optional<Trace> get(String traceId) {
+        for (int i = 0; i < traces.length(); i++) {
+            Trace trace = traces.get(i);
+            if (trace != null && trace.traceId().equals(traceId)) {
+                return Optional.of(trace);
+            }
+        }
+        return Optional.empty();
+    }
+}
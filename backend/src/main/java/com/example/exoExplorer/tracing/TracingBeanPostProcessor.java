@@ -0,0 +1,62 @@
+package com.example.exoExplorer.tracing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds the spans Spring does not observe by itself: one per repository method call, named
+ * {@code Repository#method}, and one per JDBC statement through {@link TracingDataSource}.
+ * Both only record within a request or another observation; calls from background threads
+ * are left untraced by {@link SpanRecorder#start(String)}.
+ * <p>
+ * The recorder is looked up on first use, so that registering this post-processor does not
+ * create the meter registry before its own post-processors.
+ */
+@Component
+public class TracingBeanPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<SpanRecorder> spanRecorder;
+    private final boolean enabled;
+
+    public TracingBeanPostProcessor(ObjectProvider<SpanRecorder> spanRecorder,
+                                    @Value("${app.tracing.enabled:true}") boolean enabled) {
+        this.spanRecorder = spanRecorder;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        if (enabled && bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> {
+                        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                            String name = repository + "#" + invocation.getMethod().getName();
+                            try (SpanRecorder.ActiveSpan span = spanRecorder.getObject().start(name)) {
+                                try {
+                                    return invocation.proceed();
+                                } catch (Throwable e) {
+                                    span.error(e);
+                                    throw e;
+                                }
+                            }
+                        });
+                    }));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+            return new TracingDataSource(dataSource, spanRecorder.getObject());
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.exoExplorer.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Configuration for request tracing.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Creates the JSON converter of the MVC responses, recording each serialization as a
+     * {@code json.serialize} span tagged with the serialized type.
+     * It replaces the converter Spring Boot would otherwise create.
+     *
+     * @param objectMapper The application object mapper
+     * @param spanRecorder Tracer receiving the serializations
+     * @return The JSON message converter
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   SpanRecorder spanRecorder) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+                    throws IOException, HttpMessageNotWritableException {
+                try (SpanRecorder.ActiveSpan span = spanRecorder.start("json.serialize")) {
+                    span.tag("type", object == null ? "null" : object.getClass().getSimpleName());
+                    super.writeInternal(object, type, outputMessage);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.exoExplorer.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingExoplanetsTest {
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+
+    @Test
+    void testHeavyHittersStandOutOfALongTail() {
+        TrendingExoplanets trending = new TrendingExoplanets(4, 1024, 32, 5, now::get);
+        Random random = new Random(7);
+        // 100k views over 50k exoplanets, with ids 1 to 5 far more viewed than the rest
+        for (int i = 0; i < 100_000; i++) {
+            if (i % 10 == 0) {
+                trending.recordView(1 + (i / 10) % 5);
+            } else {
+                trending.recordView(1_000 + random.nextInt(50_000));
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            trending.recordFavorite(3);
+        }
+
+        List<TrendingExoplanet> top = trending.top(TrendingWindow.HOUR, 5);
+        assertEquals(3, top.get(0).exoplanetId());
+        assertEquals(List.of(1, 2, 3, 4, 5), top.stream().map(TrendingExoplanet::exoplanetId).sorted().toList());
+        // Estimates never undercount, and stay close for heavy hitters
+        assertTrue(top.get(0).score() >= 2_000 + 2_500);
+        assertTrue(top.get(0).score() < 2_000 + 2_500 + 1_000, "Score too far off: " + top.get(0).score());
+    }
+
+    @Test
+    void testOldBucketsLeaveTheWindow() {
+        TrendingExoplanets trending = new TrendingExoplanets(4, 256, 8, 5, now::get);
+        for (int i = 0; i < 10; i++) {
+            trending.recordView(1);
+        }
+        now.addAndGet(2 * 3_600_000L);
+        trending.recordView(2);
+
+        assertEquals(List.of(2), trending.top(TrendingWindow.HOUR, 10).stream().map(TrendingExoplanet::exoplanetId).toList());
+        assertEquals(List.of(new TrendingExoplanet(1, 10), new TrendingExoplanet(2, 1)), trending.top(TrendingWindow.DAY, 10));
+    }
+
+    @Test
+    void testSnapshotsFromReplicasMerge() {
+        TrendingExoplanets first = new TrendingExoplanets(4, 256, 8, 5, now::get);
+        TrendingExoplanets second = new TrendingExoplanets(4, 256, 8, 5, now::get);
+        for (int i = 0; i < 30; i++) {
+            first.recordView(1);
+            second.recordView(2);
+        }
+        for (int i = 0; i < 20; i++) {
+            first.recordView(2);
+        }
+
+        TrendingSnapshot merged = TrendingSnapshot.merge(List.of(
+                first.snapshot(TrendingWindow.WEEK), second.snapshot(TrendingWindow.WEEK)));
+
+        assertEquals(List.of(new TrendingExoplanet(2, 50), new TrendingExoplanet(1, 30)), merged.top(10));
+        assertThrows(IllegalArgumentException.class, () -> TrendingSnapshot.merge(List.of(
+                first.snapshot(TrendingWindow.WEEK), first.snapshot(TrendingWindow.DAY))));
+    }
+}
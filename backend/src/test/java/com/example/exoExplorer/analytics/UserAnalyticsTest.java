@@ -0,0 +1,93 @@
+package com.example.exoExplorer.analytics;
+
+import com.example.exoExplorer.observer.UserActionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class UserAnalyticsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final UserAnalytics analytics = new UserAnalytics(8, meterRegistry, now::get);
+
+    @Test
+    void testTotalsAreExportedPerEventType() {
+        analytics.record(UserActionEvent.USER_LOGGED_IN);
+        analytics.record(UserActionEvent.USER_LOGGED_IN);
+        analytics.recordFavorite(42, true);
+
+        assertEquals(2L, analytics.totals().get("USER_LOGGED_IN"));
+        assertEquals(1L, analytics.totals().get("USER_FAVORITE_ADDED"));
+        assertEquals(2, meterRegistry.get("analytics.events").tag("type", "user_logged_in").functionCounter().count());
+        assertEquals(0, meterRegistry.get("analytics.events").tag("type", "password_changed").functionCounter().count());
+    }
+
+    @Test
+    void testRollupsMoveWithTime() {
+        analytics.record(UserActionEvent.USER_REGISTERED);
+        now.addAndGet(60_000);
+        analytics.record(UserActionEvent.USER_REGISTERED);
+        analytics.record(UserActionEvent.USER_REGISTERED);
+
+        long[] minutes = analytics.series(Rollup.MINUTE).counts().get("USER_REGISTERED");
+        assertEquals(60, minutes.length);
+        assertEquals(1, minutes[58]);
+        assertEquals(2, minutes[59]);
+        long[] hours = analytics.series(Rollup.HOUR).counts().get("USER_REGISTERED");
+        assertEquals(3, hours[hours.length - 1] + hours[hours.length - 2]);
+
+        // An hour later the minute ring has been recycled, the day ring still counts them
+        now.addAndGet(3_600_000);
+        analytics.record(UserActionEvent.PROFILE_UPDATED);
+        minutes = analytics.series(Rollup.MINUTE).counts().get("USER_REGISTERED");
+        assertEquals(0, Arrays.stream(minutes).sum());
+        long[] days = analytics.series(Rollup.DAY).counts().get("USER_REGISTERED");
+        assertEquals(3, Arrays.stream(days).sum());
+    }
+
+    @Test
+    void testTopFavoritesAndFullTable() {
+        for (int id = 1; id <= 8; id++) {
+            for (int i = 0; i < id; i++) {
+                analytics.recordFavorite(id, true);
+            }
+        }
+        analytics.recordFavorite(8, false);
+        analytics.recordFavorite(99, true);
+
+        List<FavoriteCount> top = analytics.topFavorites(3);
+        assertEquals(List.of(8, 7, 6), top.stream().map(FavoriteCount::exoplanetId).toList());
+        assertEquals(new FavoriteCount(8, 8, 1), analytics.favorites(8));
+        assertEquals(new FavoriteCount(99, 0, 0), analytics.favorites(99));
+        assertEquals(1, meterRegistry.get("analytics.exoplanets.untracked").counter().count());
+        assertEquals(37L, analytics.totals().get("USER_FAVORITE_ADDED"));
+    }
+
+    @Test
+    void testRecordingDoesNotAllocate() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 20_000; i++) {
+            analytics.record(UserActionEvent.USER_LOGGED_IN);
+            analytics.recordFavorite(i & 3, (i & 1) == 0);
+        }
+
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 100_000; i++) {
+            analytics.record(UserActionEvent.USER_LOGGED_IN);
+            analytics.recordFavorite(i & 3, (i & 1) == 0);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // A few bytes of slack for the measurement itself
+        assertTrue(allocated < 1024, "Recording allocated " + allocated + " bytes");
+    }
+}
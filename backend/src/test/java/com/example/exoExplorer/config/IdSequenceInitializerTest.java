@@ -0,0 +1,50 @@
+package com.example.exoExplorer.config;
+
+import com.example.exoExplorer.entities.IdSequences;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdSequenceInitializerTest {
+
+    private static final long LEGACY_ID = 90_000L;
+
+    @Autowired
+    private IdSequenceInitializer initializer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM exoplanet WHERE name = 'Legacy-Identity-Row'");
+    }
+
+    private long nextValue() {
+        return jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + IdSequences.EXOPLANET, Long.class);
+    }
+
+    @Test
+    void testSequenceMovesPastExistingIdsInPlace() {
+        jdbcTemplate.update("INSERT INTO exoplanet (exoplanet_id, name, created_at, updated_at, version) "
+                        + "VALUES (?, 'Legacy-Identity-Row', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)",
+                LEGACY_ID);
+
+        initializer.alignSequences();
+
+        long next = nextValue();
+        assertTrue(next - IdSequences.ALLOCATION_SIZE > LEGACY_ID,
+                "Next pooled block should start after " + LEGACY_ID + ", sequence is at " + next);
+
+        // Already aligned: a second pass leaves the sequence where it is
+        initializer.alignSequences();
+        assertEquals(next + 2 * IdSequences.ALLOCATION_SIZE, nextValue());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.exoExplorer.config;
+
+import com.example.exoExplorer.services.ExoplanetService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class MetricsInstrumentationTest {
+
+    @Autowired
+    private ExoplanetService exoplanetService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testServiceMethodsAreTimedPerMethod() {
+        exoplanetService.getAllExoplanets();
+
+        Timer timer = meterRegistry.get("service.method")
+                .tag("class", ExoplanetService.class.getName())
+                .tag("method", "getAllExoplanets")
+                .timer();
+        assertTrue(timer.count() >= 1);
+        assertTrue(timer.takeSnapshot().histogramCounts().length > 0, "Percentile histogram not published");
+    }
+
+    @Test
+    void testCacheHitsAndMissesAreCounted() {
+        Cache cache = cacheManager.getCache("exoplanetDetails");
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        assertNull(cache.get("metrics-test"));
+        cache.put("metrics-test", "value");
+        assertNotNull(cache.get("metrics-test"));
+        cache.evict("metrics-test");
+
+        assertEquals(hits + 1, gets("hit"));
+        assertEquals(misses + 1, gets("miss"));
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "exoplanetDetails").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.exoExplorer.e2e;
 import com.example.exoExplorer.config.TestMailConfig;
 import com.example.exoExplorer.config.TestSecurityConfig;
 import com.example.exoExplorer.dto.*;
+import com.example.exoExplorer.test.QueryCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,6 +61,7 @@ class FullIntegrationTest {
 
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(resp.getBody()).isNotEmpty();
+        QueryCounter.assertQueries(1, 0);
 
         Map<String,Object> first = resp.getBody().get(0);
 
@@ -84,6 +86,8 @@ class FullIntegrationTest {
         ResponseEntity<Void> resp = restTemplate.postForEntity(url("/auth/signup"), rq, Void.class);
 
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // The OTP row is updated if one exists, inserted otherwise
+        QueryCounter.assertQueries(2, 4, 1, 0);
     }
 
     @Test @Order(3)
@@ -92,6 +96,8 @@ class FullIntegrationTest {
         ResponseEntity<Void> resp = restTemplate.postForEntity(url("/auth/login"), rq, Void.class);
 
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // Replaces the OTP issued at signup
+        QueryCounter.assertQueries(1, 1, 1, 0);
     }
 
     @Test @Order(4)
@@ -103,6 +109,8 @@ class FullIntegrationTest {
         ResponseEntity<String> resp = restTemplate.postForEntity(url("/auth/verify-otp"), rq, String.class);
 
         assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        // The OTP attempt is claimed, read, then the row deleted
+        QueryCounter.assertQueries(2, 0, 2, 1);
 
         jwtToken = new ObjectMapper()
                 .readTree(resp.getBody())
@@ -119,6 +127,7 @@ class FullIntegrationTest {
         ResponseEntity<Map> profile = restTemplate.exchange(url("/user/profile?email=" + EMAIL),
                 HttpMethod.GET, new HttpEntity<>(hdrs), Map.class);
         assertThat(profile.getStatusCode()).isEqualTo(HttpStatus.OK);
+        QueryCounter.assertQueries(1, 0);
 
         // 5-b) Update
         hdrs.setContentType(MediaType.APPLICATION_JSON);
@@ -132,6 +141,7 @@ class FullIntegrationTest {
                 new HttpEntity<>(body, hdrs), Void.class);
 
         assertThat(upd.getStatusCode()).isEqualTo(HttpStatus.OK);
+        QueryCounter.assertQueries(1, 1, 1, 0);
     }
 
     @Test @Order(6)
@@ -151,6 +161,8 @@ class FullIntegrationTest {
         assertThat(restTemplate.postForEntity(
                         url("/user/toggle-favorite"), toggleRq, Void.class)
                 .getStatusCode()).isEqualTo(HttpStatus.OK);
+        // User, exoplanet and favorites, then the favorite and outbox rows
+        QueryCounter.assertQueries(3, 2, 1, 0);
 
         /* ---------- 6-b) List ---------- */
         ParameterizedTypeReference<List<Map<String,Object>>> listType = new ParameterizedTypeReference<>() {};
@@ -163,5 +175,7 @@ class FullIntegrationTest {
 
         assertThat(favs.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(favs.getBody()).isNotEmpty();
+        // The user and its favorites in one collection load, not one query per favorite
+        QueryCounter.assertQueries(2, 0);
     }
 }
\ No newline at end of file
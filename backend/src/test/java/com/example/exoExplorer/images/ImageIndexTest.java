@@ -0,0 +1,84 @@
+package com.example.exoExplorer.images;
+
+import com.example.exoExplorer.services.ExoplanetImageService.ImageMapping;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageIndexTest {
+
+    private static final String PREFIX = "https://www.exoplanetkyoto.org/exohtml/Planets/";
+
+    private ImageIndex index;
+
+    private static ImageMapping mapping(String name, String image) {
+        ImageMapping mapping = new ImageMapping();
+        mapping.setNomExoplanete(name);
+        mapping.setImage(image);
+        return mapping;
+    }
+
+    @BeforeEach
+    void setup() throws Exception {
+        List<ImageMapping> mappings = List.of(
+                mapping("Kepler-22b", PREFIX + "EarthBrownH.bmp"),
+                mapping("TRAPPIST-1e", PREFIX + "DeepBlue1.bmp"),
+                mapping("AB Aur b", PREFIX + "ColdRedJupiter.bmp"),
+                mapping("\"PSR J0636+5129\tb\"", PREFIX + "ColdRedJupiter.bmp"),
+                mapping("Kepler-22B", PREFIX + "DeepBlue1.bmp"),
+                mapping("TRAPPIST-1e", PREFIX + "HotJupiter.bmp"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIndexCompiler.compile(mappings, 1234L, out);
+        index = ImageIndex.wrap(ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    @Test
+    void testLookupIsCaseInsensitive() {
+        assertEquals(PREFIX + "ColdRedJupiter.bmp", index.lookup("ab aur B"));
+        assertEquals(PREFIX + "ColdRedJupiter.bmp", index.lookup("\"psr j0636+5129\tb\""));
+    }
+
+    @Test
+    void testExactSpellingWinsOverCaseInsensitiveMatch() {
+        assertEquals(PREFIX + "EarthBrownH.bmp", index.lookup("Kepler-22b"));
+        assertEquals(PREFIX + "DeepBlue1.bmp", index.lookup("Kepler-22B"));
+        assertEquals(PREFIX + "DeepBlue1.bmp", index.lookup("KEPLER-22B"), "Last spelling seen is the fallback");
+    }
+
+    @Test
+    void testLastDuplicateWins() {
+        assertEquals(PREFIX + "HotJupiter.bmp", index.lookup("TRAPPIST-1e"));
+    }
+
+    @Test
+    void testUnknownNameReturnsNull() {
+        assertNull(index.lookup("NonExistentExoplanet"));
+        assertNull(index.lookup(""));
+        assertNull(index.lookup(null));
+    }
+
+    @Test
+    void testHeaderAndDeduplication() {
+        assertEquals(1234L, index.getSourceChecksum());
+        assertEquals(4, index.size(), "Names differing only by case share one entry");
+    }
+
+    @Test
+    void testChecksumDetectsSameSizeEdits() throws Exception {
+        long before = ImageIndex.checksum(new ByteArrayInputStream("[{\"image\":\"a.bmp\"}]".getBytes()));
+        long after = ImageIndex.checksum(new ByteArrayInputStream("[{\"image\":\"b.bmp\"}]".getBytes()));
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void testRejectsForeignData() {
+        assertThrows(IllegalArgumentException.class, () -> ImageIndex.wrap(ByteBuffer.allocate(32)));
+    }
+}
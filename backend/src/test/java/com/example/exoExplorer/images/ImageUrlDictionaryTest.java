@@ -0,0 +1,145 @@
+package com.example.exoExplorer.images;
+
+import com.example.exoExplorer.dto.ExoplanetSummaryDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageUrlDictionaryTest {
+
+    private static final String KYOTO = "https://www.exoplanetkyoto.org/exohtml/Planets/";
+    private static final String[] TEMPLATES = {
+            "DeepBlue1.bmp", "ColdRedJupiter.bmp", "EarthBrownH.bmp", "HotNeptuneH3.bmp",
+            "HotSuperEarthR2.bmp", "HotJupiterH3.bmp", "WarmNeptune.bmp", "IceGiant2.bmp"
+    };
+
+    /**
+     * Mirrors the summary DTO layout before dictionary encoding.
+     */
+    private record RawSummary(Integer id, String name, String imageExo) {
+    }
+
+    @Test
+    void testRoundTripThroughSummaryDto() {
+        String kyoto = KYOTO + "DeepBlue1.bmp";
+        String picsum = "https://picsum.photos/seed/exotest42/200";
+        String other = "https://example.com/kepler.png";
+
+        assertEquals(kyoto, new ExoplanetSummaryDTO(1, "a", kyoto).getImageExo());
+        assertEquals(picsum, new ExoplanetSummaryDTO(2, "b", picsum).getImageExo());
+        assertEquals(other, new ExoplanetSummaryDTO(3, "c", other).getImageExo());
+        assertNull(new ExoplanetSummaryDTO(4, "d", null).getImageExo());
+    }
+
+    @Test
+    void testTemplateUrlsAreCanonicalized() {
+        ImageUrlDictionary dictionary = ImageUrlDictionary.shared();
+        String first = dictionary.canonicalize(new String(KYOTO + "HotJupiterH3.bmp"));
+        String second = dictionary.canonicalize(new String(KYOTO + "HotJupiterH3.bmp"));
+        assertSame(first, second);
+
+        String seeded = new String("https://picsum.photos/seed/unique/200");
+        assertSame(seeded, dictionary.canonicalize(seeded), "Per-planet URLs are not interned");
+    }
+
+    @Test
+    void testLongestPrefixWins() {
+        ImageUrlDictionary dictionary = new ImageUrlDictionary();
+        int shortId = dictionary.registerPrefix("https://cdn.example.com/", false);
+        int longId = dictionary.registerPrefix("https://cdn.example.com/planets/", true);
+
+        assertEquals(longId, dictionary.prefixIdOf("https://cdn.example.com/planets/x.png"));
+        assertEquals(shortId, dictionary.prefixIdOf("https://cdn.example.com/stars/y.png"));
+        assertEquals(ImageUrlDictionary.NO_PREFIX, dictionary.prefixIdOf("ftp://elsewhere/z.png"));
+        assertEquals(shortId, dictionary.registerPrefix("https://cdn.example.com/", false));
+    }
+
+    /**
+     * Compares retained heap of raw and dictionary-encoded summaries using the JVM class histogram.
+     * Rows mimic the catalog: mostly Kyoto templates, one in five unique picsum seeds.
+     * Each raw URL is a distinct String, as materialized from a JDBC result set.
+     * Each size runs full GCs, so the test is left out of the default run: mvn -Pheap test
+     */
+    @Tag("heap")
+    @ParameterizedTest
+    @ValueSource(ints = {100_000, 1_000_000})
+    void testHeapHistogramSavings(int rows) throws Exception {
+        Random random = new Random(42);
+        String[] urls = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            urls[i] = i % 5 == 0
+                    ? "https://picsum.photos/seed/exotest" + i + "/200"
+                    : KYOTO + TEMPLATES[random.nextInt(TEMPLATES.length)];
+        }
+
+        long rawBytes = retainedBytes(() -> {
+            RawSummary[] raw = new RawSummary[rows];
+            for (int i = 0; i < rows; i++) {
+                raw[i] = new RawSummary(i, null, copyOf(urls[i]));
+            }
+            return raw;
+        });
+        long encodedBytes = retainedBytes(() -> {
+            ExoplanetSummaryDTO[] encoded = new ExoplanetSummaryDTO[rows];
+            for (int i = 0; i < rows; i++) {
+                encoded[i] = new ExoplanetSummaryDTO(i, null, copyOf(urls[i]));
+            }
+            return encoded;
+        });
+        Reference.reachabilityFence(urls);
+
+        assertTrue(encodedBytes < rawBytes / 2,
+                "Dictionary encoding should at least halve summary heap for " + rows + " rows: "
+                        + encodedBytes + " vs " + rawBytes + " bytes");
+    }
+
+    private static String copyOf(String value) {
+        return new String(value.toCharArray());
+    }
+
+    /**
+     * Measures the live bytes added to the heap by the object graph a supplier builds.
+     * Takes the median of five runs, since other threads (Spring contexts cached by
+     * earlier test classes) may retain memory of their own during a single run.
+     */
+    private static long retainedBytes(Supplier<Object> supplier) throws Exception {
+        long[] runs = new long[5];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = measureOnce(supplier);
+        }
+        Arrays.sort(runs);
+        return runs[runs.length / 2];
+    }
+
+    private static long measureOnce(Supplier<Object> supplier) throws Exception {
+        long before = histogramBytes();
+        Object retained = supplier.get();
+        long after = histogramBytes();
+        Reference.reachabilityFence(retained);
+        return after - before;
+    }
+
+    /**
+     * Runs a full GC and returns the total live bytes reported by the class histogram.
+     */
+    private static long histogramBytes() throws Exception {
+        String histogram = (String) ManagementFactory.getPlatformMBeanServer().invoke(
+                new ObjectName("com.sun.management:type=DiagnosticCommand"),
+                "gcClassHistogram",
+                new Object[]{new String[0]},
+                new String[]{String[].class.getName()});
+        String[] lines = histogram.strip().split("\n");
+        String[] total = lines[lines.length - 1].trim().split("\\s+");
+        return Long.parseLong(total[total.length - 1]);
+    }
+}
@@ -2,6 +2,7 @@ package com.example.exoExplorer.integration;
 
 import com.example.exoExplorer.entities.Exoplanet;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import com.example.exoExplorer.test.QueryCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -45,6 +46,22 @@ class ExoplanetIntegrationTest {
         mockMvc.perform(get("/api/exoplanets"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].name").value(insertedName));
+        QueryCounter.assertQueries(1, 0);
+    }
+
+    @Test
+    void testGetAllExoplanets_queryCountDoesNotGrowWithRows() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            Exoplanet exo = new Exoplanet();
+            exo.setName(insertedName + "-" + i);
+            exoplanetRepository.save(exo);
+        }
+
+        mockMvc.perform(get("/api/exoplanets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(6));
+        // One select whatever the number of rows: no lazy relation is loaded per exoplanet
+        QueryCounter.assertQueries(1, 0);
     }
 
     @Test
@@ -52,5 +69,6 @@ class ExoplanetIntegrationTest {
         mockMvc.perform(get("/api/exoplanets/" + insertedId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value(insertedName));
+        QueryCounter.assertQueries(1, 0);
     }
 }
@@ -0,0 +1,122 @@
+package com.example.exoExplorer.integration;
+
+import com.example.exoExplorer.dto.ExoplanetSummaryDTO;
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory;
+import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import com.example.exoExplorer.services.ExoplanetService;
+import com.example.exoExplorer.services.TokenService;
+import com.example.exoExplorer.test.AllocationBudget;
+import com.example.exoExplorer.test.AllocationBudgetExtension;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Allocation budgets of the request hot paths, per call. GC pressure follows allocation,
+ * so these fail on allocation regressions long before they show as latency.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HotPathAllocationTest {
+
+    private static final String PREFIX = "Alloc-";
+    private static final Pageable PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Autowired
+    private ExoplanetService exoplanetService;
+
+    @Autowired
+    private ExoplaneteRepository exoplanetRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Integer exoplanetId;
+
+    @BeforeEach
+    void setUp() {
+        if (exoplanetRepository.findByNameIgnoreCase(PREFIX + 0).isEmpty()) {
+            List<Exoplanet> exoplanets = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                Exoplanet exoplanet = SyntheticExoplanetFactory.create(SyntheticExoplanetFactory.Distribution.REALISTIC, 7, i);
+                exoplanet.setName(PREFIX + i);
+                exoplanets.add(exoplanet);
+            }
+            exoplanetRepository.saveAll(exoplanets);
+        }
+        exoplanetId = exoplanetRepository.findByNameIgnoreCase(PREFIX + 0).orElseThrow().getId();
+    }
+
+    @Test
+    @AllocationBudget(bytes = 192 * 1024)
+    void testSummaryPageQuery(AllocationBudgetExtension.Meter meter) throws Throwable {
+        String prefix = PREFIX;
+        // A new specification per call, as the controller builds one per request: the summary cache misses
+        meter.measure(() -> exoplanetService.getExoplanetSummaries(
+                (Specification<Exoplanet>) (root, query, cb) -> cb.like(root.get("name"), prefix + "%"), PAGE));
+    }
+
+    @Test
+    @AllocationBudget(bytes = 48 * 1024)
+    void testDetailsCacheMiss(AllocationBudgetExtension.Meter meter) throws Throwable {
+        Cache details = cacheManager.getCache("exoplanetDetails");
+        meter.measure(() -> {
+            details.evict(exoplanetId);
+            return exoplanetService.getExoplanetWithDetails(exoplanetId);
+        });
+    }
+
+    @Test
+    @AllocationBudget(bytes = 4 * 1024)
+    void testDetailsCacheHit(AllocationBudgetExtension.Meter meter) throws Throwable {
+        meter.measure(() -> exoplanetService.getExoplanetWithDetails(exoplanetId));
+    }
+
+    @Test
+    @AllocationBudget(bytes = 12 * 1024)
+    void testTokenParsing(AllocationBudgetExtension.Meter meter) throws Throwable {
+        // A single verified-token slot for two tokens: every call parses and checks a signature
+        TokenService tokenService = new TokenService();
+        ReflectionTestUtils.setField(tokenService, "secretKey", "AllocationSecretKeyWithAtLeast256BitsForHMACSHA256");
+        ReflectionTestUtils.setField(tokenService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(tokenService, "cacheMaxSize", 1);
+        String[] tokens = {
+                tokenService.generateToken(Map.of("n", 0), "alloc@example.com"),
+                tokenService.generateToken(Map.of("n", 1), "alloc@example.com")};
+        int[] next = {0};
+
+        meter.measure(() -> tokenService.extractUsername(tokens[next[0]++ & 1]));
+        assertEquals("alloc@example.com", tokenService.extractUsername(tokens[0]));
+    }
+
+    @Test
+    @AllocationBudget(bytes = 4 * 1024)
+    void testSummaryPageSerialization(AllocationBudgetExtension.Meter meter) throws Throwable {
+        Page<ExoplanetSummaryDTO> page = exoplanetService.getExoplanetSummaries(
+                (root, query, cb) -> cb.like(root.get("name"), PREFIX + "%"), PAGE);
+        assertEquals(10, page.getNumberOfElements());
+
+        meter.measure(() -> objectMapper.writeValueAsBytes(page));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.exoExplorer.integration;
 
 import com.example.exoExplorer.entities.User;
 import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.test.QueryCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,6 +57,7 @@ class UserIntegrationTest {
                 .andExpect(jsonPath("$.firstName").exists())
                 .andExpect(jsonPath("$.firstName").value("Test"))
                 .andExpect(jsonPath("$.lastName").value("User"));
+        QueryCounter.assertQueries(1, 0);
     }
 
     @Test
@@ -70,6 +72,8 @@ class UserIntegrationTest {
                         ))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Profile updated successfully"));
+        // The user, its update and the outbox row of the profile event
+        QueryCounter.assertQueries(1, 1, 1, 0);
     }
 
     @Test
@@ -91,6 +95,7 @@ class UserIntegrationTest {
                         ))))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.message").value("Password changed successfully"));
+        QueryCounter.assertQueries(1, 1, 1, 0);
 
         // Verify password was changed
         User updatedUser = userRepository.findByEmail("user@test.com").orElseThrow();
@@ -115,5 +120,6 @@ class UserIntegrationTest {
         mockMvc.perform(get("/api/user/profile")
                         .param("email", "nonexistent@test.com"))
                 .andExpect(status().isNotFound()); // Should fail with 404
+        QueryCounter.assertQueries(1, 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.example.exoExplorer.jfr;
+
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingsTest {
+
+    private final FlightRecordings recordings = new FlightRecordings(60, 16, "default");
+
+    @AfterEach
+    void tearDown() {
+        recordings.shutdown();
+    }
+
+    @Test
+    void testRecordingContainsApplicationEvents() throws Exception {
+        assertTrue(recordings.start(Duration.ofSeconds(30)));
+        assertEquals("RUNNING", recordings.status().get("state"));
+
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        event.operation = "verify";
+        event.secrets = 1;
+        event.commit();
+
+        Path file = recordings.stop().orElseThrow();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent recorded = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("exoexplorer.PasswordHash"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("verify", recorded.getString("operation"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        assertEquals("NONE", recordings.status().get("state"));
+    }
+
+    @Test
+    void testOneRecordingAtATime() {
+        assertTrue(recordings.start(Duration.ofSeconds(30)));
+        assertFalse(recordings.start(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void testDurationIsBounded() {
+        assertThrows(InvalidRequestException.class, () -> recordings.start(Duration.ofSeconds(61)));
+        assertThrows(InvalidRequestException.class, () -> recordings.start(Duration.ZERO));
+        assertTrue(recordings.stop().isEmpty());
+    }
+
+    @Test
+    void testEventsAreDisabledWithoutRecording() {
+        assertFalse(new JwtVerifyEvent().isEnabled());
+    }
+}
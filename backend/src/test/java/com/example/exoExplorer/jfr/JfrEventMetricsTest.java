@@ -0,0 +1,54 @@
+package com.example.exoExplorer.jfr;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEventMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JfrEventMetrics metrics = new JfrEventMetrics(meterRegistry, true);
+
+    @AfterEach
+    void tearDown() {
+        metrics.shutdown();
+    }
+
+    @Test
+    void testStreamedEventsBecomeTimersTaggedByDetail() throws Exception {
+        metrics.start();
+
+        for (int i = 0; i < 3; i++) {
+            CacheMissEvent event = new CacheMissEvent();
+            event.cache = "exoplanetDetails";
+            event.commit();
+        }
+        JwtVerifyEvent verify = new JwtVerifyEvent();
+        verify.begin();
+        verify.outcome = "cached";
+        verify.commit();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (count("CacheMiss", "exoplanetDetails") < 3 || count("JwtVerify", "cached") < 1) {
+            assertTrue(System.nanoTime() < deadline, "Events not streamed in time");
+            Thread.sleep(50);
+        }
+    }
+
+    @Test
+    void testDisabledStreamingLeavesEventsOff() {
+        new JfrEventMetrics(meterRegistry, false).start();
+
+        assertFalse(new CacheMissEvent().isEnabled());
+    }
+
+    private long count(String event, String detail) {
+        Timer timer = meterRegistry.find("jfr.events").tag("event", event).tag("detail", detail).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
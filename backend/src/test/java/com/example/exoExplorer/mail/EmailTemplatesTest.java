@@ -0,0 +1,74 @@
+package com.example.exoExplorer.mail;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplatesTest {
+
+    private TemplateEngine templateEngine;
+    private EmailTemplates emailTemplates;
+
+    @BeforeEach
+    void setUp() {
+        templateEngine = newTemplateEngine();
+        emailTemplates = new EmailTemplates(templateEngine, new DefaultResourceLoader());
+        emailTemplates.precompile();
+    }
+
+    @Test
+    void testOtpTemplateIsPrecompiled() {
+        assertTrue(emailTemplates.isCompiled("otp-email"));
+    }
+
+    @Test
+    void testCompiledOutputMatchesThymeleaf() {
+        Map<String, Object> variables = Map.of("otp", "482913", "expiration", "5 minutes");
+
+        String compiled = emailTemplates.render("otp-email", variables);
+
+        assertEquals(templateEngine.process("otp-email", new Context(Locale.getDefault(), variables)), compiled);
+        assertTrue(compiled.contains(">482913</div>"));
+        assertFalse(compiled.contains("th:text"));
+    }
+
+    @Test
+    void testSlotValuesAreEscapedLikeThTextAndMissingOnesAreEmpty() {
+        String compiled = emailTemplates.render("otp-email", Map.of("otp", "<b>&'\"</b>"));
+
+        assertTrue(compiled.contains("&lt;b&gt;&amp;&#39;&quot;&lt;/b&gt;"));
+        assertTrue(compiled.contains("<strong></strong>"));
+    }
+
+    @Test
+    void testComplexTemplateFallsBackToThymeleaf() {
+        Map<String, Object> variables = Map.of("name", "Ada", "planets", List.of("Kepler-22 b", "TRAPPIST-1 e"));
+
+        String rendered = emailTemplates.render("favorites-digest-test", variables);
+
+        assertFalse(emailTemplates.isCompiled("favorites-digest-test"));
+        assertTrue(rendered.contains("<li>Kepler-22 b</li>"));
+        assertTrue(rendered.contains("<li>TRAPPIST-1 e</li>"));
+    }
+
+    static TemplateEngine newTemplateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        TemplateEngine engine = new TemplateEngine();
+        engine.setTemplateResolver(resolver);
+        return engine;
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.exoExplorer.mail;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailOutboxTest {
+
+    private SmtpStub smtp;
+    private JavaMailSenderImpl mailSender;
+    private SimpleMeterRegistry meterRegistry;
+    private MailOutbox outbox;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        smtp = new SmtpStub();
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.port());
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (outbox != null) {
+            outbox.shutdown();
+        }
+        smtp.close();
+    }
+
+    @Test
+    void testQueuedEmailsShareOneConnection() throws Exception {
+        // Keep the first connection busy so the rest of the emails pile up behind it
+        smtp.delayGreeting(300);
+        outbox = newOutbox(1, 3, null);
+
+        for (int i = 0; i < 40; i++) {
+            outbox.enqueue(OutboundMail.text("user" + i + "@example.com", "Sujet", "Contenu"));
+        }
+        awaitDrained();
+
+        assertEquals(40, smtp.messages());
+        assertTrue(smtp.connections() <= 3, "Expected batched sends, got " + smtp.connections() + " connections");
+        assertEquals(40, meterRegistry.get("mail.outbox.sent").counter().count());
+    }
+
+    @Test
+    void testRefusedEmailIsRetriedWithBackoff() throws Exception {
+        smtp.refuseNext(1);
+        outbox = newOutbox(1, 3, null);
+
+        outbox.enqueue(OutboundMail.text("retry@example.com", "Sujet", "Contenu"));
+        awaitDrained();
+
+        assertEquals(1, smtp.messages());
+        assertEquals(1, meterRegistry.get("mail.outbox.retried").counter().count());
+        assertEquals(0, meterRegistry.get("mail.outbox.failed").counter().count());
+    }
+
+    @Test
+    void testEmailIsDroppedAfterLastAttempt() throws Exception {
+        smtp.refuseForGood("bounce@example.com");
+        outbox = newOutbox(1, 3, null);
+
+        outbox.enqueue(OutboundMail.text("bounce@example.com", "Sujet", "Contenu"));
+        outbox.enqueue(OutboundMail.text("ok@example.com", "Sujet", "Contenu"));
+        awaitDrained();
+
+        assertEquals(1, smtp.messages());
+        assertEquals(2, meterRegistry.get("mail.outbox.retried").counter().count());
+        assertEquals(1, meterRegistry.get("mail.outbox.failed").counter().count());
+    }
+
+    @Test
+    void testEmailWaitsForTransactionCommit() throws Exception {
+        outbox = newOutbox(1, 3, null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            outbox.enqueue(OutboundMail.text("commit@example.com", "Sujet", "Contenu"));
+            assertEquals(0, outbox.pending());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        awaitDrained();
+
+        assertEquals(1, smtp.messages());
+    }
+
+    @Test
+    void testPersistentOutboxRecoversUnsentEmails() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:mailoutbox;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE mail_outbox (id VARCHAR(36) PRIMARY KEY, recipient VARCHAR(255), "
+                + "subject VARCHAR(255), body CLOB, html BOOLEAN, created_at TIMESTAMP)");
+        try {
+            jdbcTemplate.update("INSERT INTO mail_outbox VALUES ('left-over', 'old@example.com', 'Sujet', 'Contenu', FALSE, ?)",
+                    Timestamp.valueOf(LocalDateTime.now()));
+            outbox = newOutbox(1, 3, jdbcTemplate);
+
+            outbox.recover();
+            outbox.enqueue(OutboundMail.html("new@example.com", "Sujet", "<p>Contenu</p>"));
+            awaitDrained();
+
+            assertEquals(2, smtp.messages());
+            assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM mail_outbox", Integer.class));
+        } finally {
+            jdbcTemplate.execute("DROP TABLE mail_outbox");
+        }
+    }
+
+    private MailOutbox newOutbox(int workers, int maxAttempts, JdbcTemplate jdbcTemplate) {
+        return new MailOutbox(mailSender, jdbcTemplate, meterRegistry, workers, 50, 1000,
+                maxAttempts, 10, 100, jdbcTemplate != null);
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (outbox.pending() > 0) {
+            assertTrue(System.nanoTime() < deadline, "Outbox not drained in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.exoExplorer.mail;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP server for tests, counting connections and accepted messages.
+ * Recipients can be refused, either once or for good, to exercise retries.
+ */
+class SmtpStub implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger messages = new AtomicInteger();
+    private final AtomicInteger refuseNext = new AtomicInteger();
+    private final Set<String> refusedForGood = ConcurrentHashMap.newKeySet();
+    private volatile long greetingDelayMillis;
+
+    SmtpStub() throws IOException {
+        serverSocket = new ServerSocket(0);
+        Thread acceptor = new Thread(this::acceptLoop, "smtp-stub");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    int messages() {
+        return messages.get();
+    }
+
+    void refuseNext(int count) {
+        refuseNext.set(count);
+    }
+
+    void refuseForGood(String address) {
+        refusedForGood.add(address);
+    }
+
+    void delayGreeting(long millis) {
+        greetingDelayMillis = millis;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                Thread session = new Thread(() -> serve(socket), "smtp-stub-session");
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            Thread.sleep(greetingDelayMillis);
+            reply(out, "220 stub ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO", "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "RCPT" -> reply(out, refuse(line) ? "451 try again later" : "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 end with .");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            // Message content is not kept
+                        }
+                        messages.incrementAndGet();
+                        reply(out, "250 queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 bye");
+                        return;
+                    }
+                    default -> reply(out, "500 unknown command");
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // Session dropped by the client
+        }
+    }
+
+    private boolean refuse(String rcptLine) {
+        if (refusedForGood.stream().anyMatch(rcptLine::contains)) {
+            return true;
+        }
+        return refuseNext.getAndUpdate(left -> Math.max(0, left - 1)) > 0;
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.exoExplorer.observer;
+
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A database of its own, so relays of other cached test contexts cannot claim these rows
+@SpringBootTest(properties = {"spring.datasource.url=jdbc:h2:mem:outboxtest;DB_CLOSE_DELAY=-1;MODE=Oracle",
+        "app.events.outbox.handle-timeout-ms=200"})
+@ActiveProfiles("test")
+class UserActionOutboxTest {
+
+    private record Delivery(UserActionEvent event, String email, Thread thread) {
+    }
+
+    @Autowired
+    private UserActionSubject subject;
+
+    @Autowired
+    private UserActionOutbox outbox;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final BlockingQueue<Delivery> deliveries = new LinkedBlockingQueue<>();
+    private final UserActionObserver recorder = (event, user, data) ->
+            deliveries.add(new Delivery(event, user.getEmail(), Thread.currentThread()));
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        subject.addObserver(recorder);
+        userRepository.findByEmail("outbox@example.com").ifPresent(userRepository::delete);
+        User newUser = new User();
+        newUser.setEmail("outbox@example.com");
+        newUser.setPassword("hash");
+        user = userRepository.save(newUser);
+    }
+
+    @AfterEach
+    void tearDown() {
+        subject.removeObserver(recorder);
+    }
+
+    @Test
+    void testCommittedEventIsWrittenWithTheTransactionAndRelayed() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                subject.notifyObservers(UserActionEvent.PROFILE_UPDATED, user, null));
+
+        Delivery delivery = deliveries.poll(10, TimeUnit.SECONDS);
+        assertNotNull(delivery, "Event not relayed");
+        assertEquals(UserActionEvent.PROFILE_UPDATED, delivery.event());
+        assertEquals("outbox@example.com", delivery.email());
+        awaitDrained();
+        assertTrue(meterRegistry.get("user.events.outbox.lag").timer().count() >= 1);
+    }
+
+    @Test
+    void testRolledBackEventIsNeitherStoredNorRelayed() throws Exception {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            subject.notifyObservers(UserActionEvent.PASSWORD_CHANGED, user, null);
+            assertEquals(1, pendingRows());
+            status.setRollbackOnly();
+        });
+
+        assertNull(deliveries.poll(700, TimeUnit.MILLISECONDS));
+        assertEquals(0, pendingRows());
+    }
+
+    @Test
+    void testRowIsKeptUntilEveryObserverHasHandledIt() throws Exception {
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        UserActionObserver slow = (event, user, data) -> {
+            handling.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        subject.addObserver(slow);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    subject.notifyObservers(UserActionEvent.PROFILE_UPDATED, user, null));
+
+            assertTrue(handling.await(10, TimeUnit.SECONDS), "Event not relayed");
+            assertNotNull(deliveries.poll(10, TimeUnit.SECONDS), "Event not relayed to the fast observer");
+            // Several handle timeouts and leases go by without a replay to the fast observer
+            assertNull(deliveries.poll(1, TimeUnit.SECONDS), "Event replayed while the slow observer was busy");
+            assertEquals(1, pendingRows(), "Row deleted before the slow observer handled it");
+
+            release.countDown();
+            awaitDrained();
+        } finally {
+            release.countDown();
+            subject.removeObserver(slow);
+        }
+    }
+
+    @Test
+    void testRowsLeftByAnotherRunAreRelayedInBatches() throws Exception {
+        List<Object[]> rows = List.of(
+                new Object[]{"left-1", "USER_REGISTERED", user.getId(), Timestamp.valueOf(LocalDateTime.now().minusMinutes(2))},
+                new Object[]{"left-2", "USER_LOGGED_IN", user.getId(), Timestamp.valueOf(LocalDateTime.now().minusMinutes(1))},
+                new Object[]{"left-3", "USER_LOGGED_IN", -1L, Timestamp.valueOf(LocalDateTime.now())});
+        jdbcTemplate.batchUpdate("INSERT INTO user_action_outbox (id, event, user_id, created_at) VALUES (?, ?, ?, ?)", rows);
+
+        Delivery first = deliveries.poll(10, TimeUnit.SECONDS);
+        Delivery second = deliveries.poll(10, TimeUnit.SECONDS);
+        assertNotNull(second, "Events not relayed");
+        assertEquals(UserActionEvent.USER_REGISTERED, first.event());
+        assertEquals(UserActionEvent.USER_LOGGED_IN, second.event());
+        assertNotSame(Thread.currentThread(), first.thread());
+        // The third row belongs to no user and is dropped, not retried forever
+        assertNull(deliveries.poll(300, TimeUnit.MILLISECONDS));
+        awaitDrained();
+        assertEquals(0, outbox.relayBatch());
+    }
+
+    /**
+     * Waits for the relay to commit, which it does after handing the events over.
+     */
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pendingRows() > 0) {
+            assertTrue(System.nanoTime() < deadline, "Outbox not drained in time");
+            Thread.sleep(10);
+        }
+    }
+
+    private int pendingRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_action_outbox", Integer.class);
+    }
+}
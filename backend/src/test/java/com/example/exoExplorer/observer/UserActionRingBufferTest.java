@@ -0,0 +1,222 @@
+package com.example.exoExplorer.observer;
+
+import com.example.exoExplorer.entities.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserActionRingBufferTest {
+
+    private UserActionRingBuffer ringBuffer;
+
+    @AfterEach
+    void tearDown() {
+        if (ringBuffer != null) {
+            ringBuffer.shutdown(Duration.ofSeconds(5));
+        }
+    }
+
+    /**
+     * Observer recording the data of every event, in delivery order.
+     */
+    private static class Recorder implements UserActionObserver {
+        final List<Object> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onUserAction(UserActionEvent event, User user, Object data) {
+            received.add(data);
+        }
+    }
+
+    /**
+     * Observer stuck on its first event until released.
+     */
+    private static class StuckObserver extends Recorder {
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void onUserAction(UserActionEvent event, User user, Object data) {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.onUserAction(event, user, data);
+        }
+    }
+
+    @Test
+    void testConcurrentPublishersReachEveryObserverInOrder() throws Exception {
+        ringBuffer = new UserActionRingBuffer(64, 16, WaitStrategy.YIELDING, OverflowPolicy.BLOCK);
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        ringBuffer.subscribe(first);
+        ringBuffer.subscribe(second);
+
+        int publishers = 3;
+        int perPublisher = 5_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < publishers; p++) {
+            int publisher = p;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perPublisher; i++) {
+                    assertTrue(ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), new int[]{publisher, i}));
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        awaitSize(first, publishers * perPublisher);
+        awaitSize(second, publishers * perPublisher);
+
+        for (Recorder recorder : List.of(first, second)) {
+            Map<Integer, Integer> lastSeen = new ConcurrentHashMap<>();
+            for (Object data : recorder.received) {
+                int[] event = (int[]) data;
+                int previous = lastSeen.getOrDefault(event[0], -1);
+                assertEquals(previous + 1, event[1], "Events of one publisher must stay in order");
+                lastSeen.put(event[0], event[1]);
+            }
+        }
+    }
+
+    @Test
+    void testDropPolicyRefusesEventsOnceSlowestObserverIsARingBehind() throws Exception {
+        ringBuffer = new UserActionRingBuffer(8, 4, WaitStrategy.SLEEPING, OverflowPolicy.DROP);
+        StuckObserver slow = new StuckObserver();
+        Recorder fast = new Recorder();
+        ringBuffer.subscribe(slow);
+        ringBuffer.subscribe(fast);
+
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), i)) {
+                accepted++;
+            }
+        }
+        assertEquals(8, accepted);
+
+        slow.release.countDown();
+        awaitSize(slow, 8);
+        awaitSize(fast, 8);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7), fast.received);
+    }
+
+    @Test
+    void testBlockPolicyMakesPublishersWait() throws Exception {
+        ringBuffer = new UserActionRingBuffer(8, 4, WaitStrategy.BLOCKING, OverflowPolicy.BLOCK);
+        StuckObserver slow = new StuckObserver();
+        ringBuffer.subscribe(slow);
+
+        Thread publisher = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < 20; i++) {
+                ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), i);
+            }
+        });
+        publisher.join(200);
+        assertTrue(publisher.isAlive(), "Publisher should wait for the stuck observer");
+
+        slow.release.countDown();
+        publisher.join(5_000);
+        assertFalse(publisher.isAlive());
+        awaitSize(slow, 20);
+    }
+
+    @Test
+    void testFailingObserverKeepsReceivingEvents() throws Exception {
+        ringBuffer = new UserActionRingBuffer(16, 4, WaitStrategy.SLEEPING, OverflowPolicy.DROP);
+        Recorder recorder = new Recorder() {
+            @Override
+            public void onUserAction(UserActionEvent event, User user, Object data) {
+                super.onUserAction(event, user, data);
+                if ((int) data == 0) {
+                    throw new IllegalStateException("observer failure");
+                }
+            }
+        };
+        ringBuffer.subscribe(recorder);
+
+        ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), 0);
+        ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), 1);
+
+        awaitSize(recorder, 2);
+    }
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.class)
+    void testEveryWaitStrategyDeliversAllEvents(WaitStrategy waitStrategy) throws Exception {
+        ringBuffer = new UserActionRingBuffer(32, 8, waitStrategy, OverflowPolicy.BLOCK);
+        Recorder recorder = new Recorder();
+        ringBuffer.subscribe(recorder);
+
+        for (int i = 0; i < 1_000; i++) {
+            ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), i);
+        }
+
+        awaitSize(recorder, 1_000);
+        assertEquals(0, ringBuffer.lag(recorder));
+    }
+
+    @Test
+    void testTimedPublishWaitsForRoomWhateverThePolicy() {
+        ringBuffer = new UserActionRingBuffer(2, 1, WaitStrategy.BLOCKING, OverflowPolicy.DROP);
+        StuckObserver stuck = new StuckObserver();
+        ringBuffer.subscribe(stuck);
+
+        assertEquals(0, ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), 0, Duration.ofSeconds(5)));
+        assertEquals(1, ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), 1, Duration.ofSeconds(5)));
+        assertEquals(-1, ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), 2, Duration.ofMillis(50)));
+        assertFalse(ringBuffer.awaitHandled(1, Duration.ofMillis(50)));
+
+        stuck.release.countDown();
+        assertEquals(2, ringBuffer.publish(UserActionEvent.USER_LOGGED_IN, user(), 2, Duration.ofSeconds(5)));
+        assertTrue(ringBuffer.awaitHandled(2, Duration.ofSeconds(5)));
+        assertEquals(List.of(0, 1, 2), stuck.received);
+    }
+
+    @Test
+    void testSleepingParkBacksOffUpToTenMillis() {
+        assertEquals(100_000, WaitStrategy.parkNanos(0));
+        assertEquals(200_000, WaitStrategy.parkNanos(1));
+        assertEquals(6_400_000, WaitStrategy.parkNanos(6));
+        assertEquals(10_000_000, WaitStrategy.parkNanos(7));
+        assertEquals(10_000_000, WaitStrategy.parkNanos(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testCapacityIsRoundedToPowerOfTwo() {
+        ringBuffer = new UserActionRingBuffer(1000, 8, WaitStrategy.SLEEPING, OverflowPolicy.DROP);
+
+        assertEquals(1024, ringBuffer.capacity());
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setEmail("ring@example.com");
+        return user;
+    }
+
+    private static void awaitSize(Recorder recorder, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (recorder.received.size() < expected) {
+            assertTrue(System.nanoTime() < deadline,
+                    "Expected " + expected + " events, got " + recorder.received.size());
+            Thread.sleep(5);
+        }
+        Thread.sleep(20);
+        assertEquals(expected, recorder.received.size());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.exoExplorer.observer;
+
+import com.example.exoExplorer.entities.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserActionSubjectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserActionSubject subject =
+            new UserActionSubject(16, 4, WaitStrategy.BLOCKING, OverflowPolicy.DROP, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        subject.shutdown();
+    }
+
+    @Test
+    void testObserversRunAfterCommitOffTheCallingThread() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(1);
+        AtomicReference<Thread> observerThread = new AtomicReference<>();
+        subject.addObserver((event, user, data) -> {
+            observerThread.set(Thread.currentThread());
+            delivered.countDown();
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            subject.notifyObservers(UserActionEvent.USER_REGISTERED, user(), null);
+            assertFalse(delivered.await(100, TimeUnit.MILLISECONDS), "Nothing should be delivered before commit");
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertNotSame(Thread.currentThread(), observerThread.get());
+        assertEquals(1, meterRegistry.get("user.events.published").counter().count());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        // Recorded once the observer returns, just after the latch opens
+        while (meterRegistry.get("user.events.dispatch").timer().count() == 0) {
+            assertTrue(System.nanoTime() < deadline, "Dispatch latency not recorded");
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void testRolledBackTransactionPublishesNothing() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            subject.notifyObservers(UserActionEvent.USER_REGISTERED, user(), null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(0, meterRegistry.get("user.events.published").counter().count());
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setEmail("subject@example.com");
+        return user;
+    }
+}
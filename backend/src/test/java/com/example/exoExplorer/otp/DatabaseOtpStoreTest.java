@@ -0,0 +1,91 @@
+package com.example.exoExplorer.otp;
+
+import com.example.exoExplorer.exceptions.InvalidOtpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"app.otp.store=database", "app.otp.max-attempts=2"})
+@ActiveProfiles("test")
+class DatabaseOtpStoreTest {
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM otp_challenge");
+    }
+
+    @Test
+    void testDatabaseStoreIsSelected() {
+        assertInstanceOf(DatabaseOtpStore.class, otpStore);
+    }
+
+    @Test
+    void testVerifyConsumesCode() {
+        otpStore.put("db@example.com", "123456", Duration.ofMinutes(5));
+        otpStore.put("db@example.com", "654321", Duration.ofMinutes(5));
+
+        assertThrows(InvalidOtpException.class, () -> otpStore.verify("db@example.com", "123456"));
+        assertDoesNotThrow(() -> otpStore.verify("db@example.com", "654321"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM otp_challenge", Integer.class));
+    }
+
+    @Test
+    void testCodeIsDiscardedWhenLoginRollsBack() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            otpStore.put("db@example.com", "123456", Duration.ofMinutes(5));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM otp_challenge", Integer.class));
+    }
+
+    @Test
+    void testFailedAttemptIsCountedWhenCallerRollsBack() {
+        otpStore.put("db@example.com", "123456", Duration.ofMinutes(5));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThrows(InvalidOtpException.class, () -> otpStore.verify("db@example.com", "000000"));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM otp_challenge WHERE email = 'db@example.com'", Integer.class));
+    }
+
+    @Test
+    void testAttemptsAreLimited() {
+        otpStore.put("db@example.com", "123456", Duration.ofMinutes(5));
+        assertThrows(InvalidOtpException.class, () -> otpStore.verify("db@example.com", "000000"));
+        assertThrows(InvalidOtpException.class, () -> otpStore.verify("db@example.com", "000000"));
+
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> otpStore.verify("db@example.com", "123456"));
+        assertEquals("Trop de tentatives, veuillez demander un nouvel OTP", exception.getMessage());
+    }
+
+    @Test
+    void testExpiredCodeIsRejected() {
+        otpStore.put("db@example.com", "123456", Duration.ofMinutes(-1));
+
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> otpStore.verify("db@example.com", "123456"));
+        assertEquals("OTP expiré", exception.getMessage());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.exoExplorer.otp;
+
+import com.example.exoExplorer.exceptions.InvalidOtpException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryOtpStoreTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private InMemoryOtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOtpStore(new OtpDigester("test-secret"), 3, clock::get);
+    }
+
+    @Test
+    void testVerifyConsumesCode() {
+        store.put("a@example.com", "123456", Duration.ofMinutes(5));
+
+        assertDoesNotThrow(() -> store.verify("a@example.com", "123456"));
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> store.verify("a@example.com", "123456"));
+        assertEquals("Aucun OTP généré pour cet utilisateur", exception.getMessage());
+    }
+
+    @Test
+    void testDigestIsSharedAcrossInstancesAndNeedsASecret() {
+        assertArrayEquals(new OtpDigester("test-secret").digest("a@example.com", "123456"),
+                new OtpDigester("test-secret").digest("a@example.com", "123456"));
+        assertThrows(IllegalStateException.class, () -> new OtpDigester(""));
+        assertThrows(IllegalStateException.class, () -> new OtpDigester(null));
+    }
+
+    @Test
+    void testWrongCodeIsRejected() {
+        store.put("a@example.com", "123456", Duration.ofMinutes(5));
+
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> store.verify("a@example.com", "654321"));
+        assertEquals("OTP invalide", exception.getMessage());
+        assertDoesNotThrow(() -> store.verify("a@example.com", "123456"));
+    }
+
+    @Test
+    void testCodeIsBoundToItsUser() {
+        store.put("a@example.com", "123456", Duration.ofMinutes(5));
+        store.put("b@example.com", "999999", Duration.ofMinutes(5));
+
+        assertThrows(InvalidOtpException.class, () -> store.verify("b@example.com", "123456"));
+    }
+
+    @Test
+    void testAttemptsAreLimited() {
+        store.put("a@example.com", "123456", Duration.ofMinutes(5));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(InvalidOtpException.class, () -> store.verify("a@example.com", "000000"));
+        }
+
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> store.verify("a@example.com", "123456"));
+        assertEquals("Trop de tentatives, veuillez demander un nouvel OTP", exception.getMessage());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void testExpiredCodeIsRejected() {
+        store.put("a@example.com", "123456", Duration.ofMinutes(5));
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        InvalidOtpException exception = assertThrows(InvalidOtpException.class,
+                () -> store.verify("a@example.com", "123456"));
+        assertEquals("OTP expiré", exception.getMessage());
+    }
+
+    @Test
+    void testNewCodeReplacesPendingOne() {
+        store.put("a@example.com", "111111", Duration.ofMinutes(5));
+        store.put("a@example.com", "222222", Duration.ofMinutes(5));
+
+        assertThrows(InvalidOtpException.class, () -> store.verify("a@example.com", "111111"));
+        assertDoesNotThrow(() -> store.verify("a@example.com", "222222"));
+    }
+
+    @Test
+    void testWheelEvictsOnlyExpiredCodes() {
+        store.put("short@example.com", "123456", Duration.ofSeconds(30));
+        // Longer than one revolution of the wheel
+        store.put("long@example.com", "123456", Duration.ofMinutes(20));
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        store.evictExpired();
+        assertEquals(1, store.size());
+
+        for (int minute = 1; minute <= 19; minute++) {
+            clock.addAndGet(Duration.ofMinutes(1).toNanos());
+            store.evictExpired();
+        }
+        assertEquals(1, store.size());
+
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+        store.evictExpired();
+        assertEquals(0, store.size());
+    }
+}
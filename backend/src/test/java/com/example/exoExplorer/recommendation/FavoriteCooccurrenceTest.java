@@ -0,0 +1,123 @@
+package com.example.exoExplorer.recommendation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FavoriteCooccurrenceTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:cooccurrence;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE user_favorites (user_id BIGINT, exoplanet_id INT, PRIMARY KEY (user_id, exoplanet_id))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE user_favorites");
+    }
+
+    @Test
+    void testCountsUsersWhoSavedBoth() {
+        FavoriteCooccurrence cooccurrence = new FavoriteCooccurrence(jdbcTemplate, 3, 200);
+        cooccurrence.favoriteAdded(1, 10);
+        cooccurrence.favoriteAdded(1, 20);
+        cooccurrence.favoriteAdded(1, 30);
+        cooccurrence.favoriteAdded(2, 10);
+        cooccurrence.favoriteAdded(2, 30);
+        cooccurrence.favoriteAdded(3, 30);
+        cooccurrence.favoriteAdded(3, 10);
+
+        assertEquals(List.of(new AlsoFavorited(30, 3), new AlsoFavorited(20, 1)), cooccurrence.alsoFavorited(10, 5));
+        assertEquals(List.of(new AlsoFavorited(30, 3)), cooccurrence.alsoFavorited(10, 1));
+
+        cooccurrence.favoriteRemoved(1, 20);
+        assertEquals(List.of(new AlsoFavorited(30, 3)), cooccurrence.alsoFavorited(10, 5));
+        assertEquals(List.of(), cooccurrence.alsoFavorited(20, 5));
+
+        // Replayed events change nothing
+        cooccurrence.favoriteAdded(2, 10);
+        cooccurrence.favoriteRemoved(1, 20);
+        assertEquals(List.of(new AlsoFavorited(30, 3)), cooccurrence.alsoFavorited(10, 5));
+    }
+
+    @Test
+    void testIncrementalUpdatesMatchRebuild() {
+        Random random = new Random(11);
+        FavoriteCooccurrence incremental = new FavoriteCooccurrence(jdbcTemplate, 5, 200);
+        List<Set<Integer>> favorites = new ArrayList<>();
+        for (int user = 0; user < 300; user++) {
+            favorites.add(new HashSet<>());
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            int user = random.nextInt(300);
+            // Skewed towards low ids so some pairs are popular
+            int exoplanet = (int) Math.abs(random.nextGaussian() * 15);
+            if (favorites.get(user).add(exoplanet)) {
+                incremental.favoriteAdded(user, exoplanet);
+            } else {
+                favorites.get(user).remove(exoplanet);
+                incremental.favoriteRemoved(user, exoplanet);
+            }
+        }
+        for (int user = 0; user < 300; user++) {
+            for (int exoplanet : favorites.get(user)) {
+                jdbcTemplate.update("INSERT INTO user_favorites VALUES (?, ?)", user, exoplanet);
+            }
+        }
+        FavoriteCooccurrence rebuilt = new FavoriteCooccurrence(jdbcTemplate, 5, 200);
+        rebuilt.rebuild();
+
+        for (int exoplanet = 0; exoplanet < 60; exoplanet++) {
+            assertEquals(rebuilt.alsoFavorited(exoplanet, 5), incremental.alsoFavorited(exoplanet, 5), "Exoplanet " + exoplanet);
+        }
+        assertFalse(rebuilt.alsoFavorited(0, 5).isEmpty());
+    }
+
+    @Test
+    void testFavoritesBeyondTheCapAreNotPaired() {
+        jdbcTemplate.update("INSERT INTO user_favorites VALUES (1, 10), (1, 20), (1, 30), (2, 10), (2, 30)");
+        FavoriteCooccurrence cooccurrence = new FavoriteCooccurrence(jdbcTemplate, 5, 2);
+        cooccurrence.rebuild();
+
+        // User 1 only pairs 10 and 20, its third favorite is past the cap
+        assertEquals(List.of(new AlsoFavorited(20, 1), new AlsoFavorited(30, 1)), cooccurrence.alsoFavorited(10, 5));
+
+        cooccurrence.favoriteAdded(2, 40);
+        assertEquals(List.of(new AlsoFavorited(10, 1)), cooccurrence.alsoFavorited(30, 5));
+        assertEquals(List.of(), cooccurrence.alsoFavorited(40, 5));
+    }
+
+    @Test
+    void testPeriodicRebuildPicksUpFavoritesRelayedElsewhere() throws InterruptedException {
+        FavoriteCooccurrence cooccurrence = new FavoriteCooccurrence(jdbcTemplate, 5, 200, Duration.ofMillis(50));
+        try {
+            cooccurrence.start();
+            assertEquals(List.of(), cooccurrence.alsoFavorited(10, 5));
+
+            // Saved through another replica: this one never sees the events
+            jdbcTemplate.update("INSERT INTO user_favorites VALUES (1, 10), (1, 20)");
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (cooccurrence.alsoFavorited(10, 5).isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals(List.of(new AlsoFavorited(20, 1)), cooccurrence.alsoFavorited(10, 5));
+        } finally {
+            cooccurrence.shutdown();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.exoExplorer.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntIntHashMapTest {
+
+    @Test
+    void testMatchesHashMapUnderRandomUpdates() {
+        IntIntHashMap map = new IntIntHashMap(2);
+        Map<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Few keys and small deltas, so entries keep reaching zero and being removed
+            int key = random.nextInt(500) - 250;
+            int delta = random.nextInt(5) - 2;
+            int value = map.add(key, delta);
+            expected.merge(key, delta, Integer::sum);
+            expected.remove(key, 0);
+            assertEquals(expected.getOrDefault(key, 0), value);
+        }
+
+        assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test
+    void testPutAndRemove() {
+        IntIntHashMap map = new IntIntHashMap(4);
+        map.put(Integer.MAX_VALUE, 3);
+        map.put(-7, 1);
+
+        assertEquals(3, map.remove(Integer.MAX_VALUE));
+        assertEquals(0, map.remove(Integer.MAX_VALUE));
+        map.put(-7, 0);
+        assertEquals(0, map.size());
+    }
+}
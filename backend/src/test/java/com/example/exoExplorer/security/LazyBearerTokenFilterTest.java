@@ -0,0 +1,113 @@
+package com.example.exoExplorer.security;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LazyBearerTokenFilterTest {
+
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    private final JwtDecoder decoder = token -> {
+        decodes.incrementAndGet();
+        if (!token.equals("good-token")) {
+            throw new BadJwtException("bad signature");
+        }
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS256")
+                .subject("lazy@example.com")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+    };
+
+    private final LazyBearerTokenFilter filter = new LazyBearerTokenFilter(decoder, new JwtAuthenticationConverter());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testTokenIsNotDecodedWhenPrincipalIsNotRead() throws Exception {
+        run("good-token", false);
+
+        assertEquals(0, decodes.get());
+    }
+
+    @Test
+    void testPrincipalIsDecodedOnceOnFirstRead() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        run("good-token", true, seen);
+
+        assertEquals(1, decodes.get());
+        assertNotNull(seen.get());
+        assertEquals("lazy@example.com", seen.get().getName());
+        assertTrue(seen.get().isAuthenticated());
+    }
+
+    @Test
+    void testInvalidTokenLeavesRequestAnonymous() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        MockHttpServletResponse response = run("forged-token", true, seen);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, decodes.get());
+        assertNull(seen.get());
+    }
+
+    @Test
+    void testRequestWithoutTokenIsUntouched() throws Exception {
+        AtomicReference<Authentication> seen = new AtomicReference<>();
+
+        run(null, true, seen);
+
+        assertEquals(0, decodes.get());
+        assertNull(seen.get());
+    }
+
+    private MockHttpServletResponse run(String token, boolean readPrincipal) throws Exception {
+        return run(token, readPrincipal, new AtomicReference<>());
+    }
+
+    private MockHttpServletResponse run(String token, boolean readPrincipal, AtomicReference<Authentication> seen)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/exoplanets/summary");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet endpoint = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+                if (readPrincipal) {
+                    // Read twice: the second read must not decode again
+                    SecurityContextHolder.getContext().getAuthentication();
+                    seen.set(SecurityContextHolder.getContext().getAuthentication());
+                }
+                resp.setStatus(200);
+            }
+        };
+        filter.doFilter(request, response, new MockFilterChain(endpoint));
+        return response;
+    }
+}
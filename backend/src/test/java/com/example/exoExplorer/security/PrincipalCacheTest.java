@@ -0,0 +1,79 @@
+package com.example.exoExplorer.security;
+
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.PrincipalCache.CachedPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PrincipalCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+    private final PrincipalCache cache = new PrincipalCache(userRepository, 60_000, 100, clock::get);
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setId(7L);
+        admin.setEmail("admin@example.com");
+        admin.setPassword("hash-v1");
+        admin.setAdmin(true);
+        when(userRepository.findByEmail("admin@example.com")).thenReturn(Optional.of(admin));
+    }
+
+    @Test
+    void testRepeatedLookupsHitMemory() {
+        CachedPrincipal first = cache.get("admin@example.com").orElseThrow();
+        CachedPrincipal second = cache.get("admin@example.com").orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), first.roles());
+        assertEquals(7L, first.id());
+        verify(userRepository, times(1)).findByEmail("admin@example.com");
+    }
+
+    @Test
+    void testPrimedUserNeedsNoQuery() {
+        cache.put(admin);
+
+        assertTrue(cache.get("admin@example.com").isPresent());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        cache.get("admin@example.com");
+        admin.setPassword("hash-v2");
+        clock.addAndGet(60_000);
+
+        assertEquals("hash-v2", cache.get("admin@example.com").orElseThrow().passwordHash());
+        verify(userRepository, times(2)).findByEmail("admin@example.com");
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        cache.get("admin@example.com");
+        admin.setAdmin(false);
+        cache.invalidate("admin@example.com");
+
+        assertEquals(List.of("ROLE_USER"), cache.get("admin@example.com").orElseThrow().roles());
+    }
+
+    @Test
+    void testUnknownEmailIsNotCached() {
+        when(userRepository.findByEmail("ghost@example.com")).thenReturn(Optional.empty());
+
+        assertTrue(cache.get("ghost@example.com").isEmpty());
+        assertTrue(cache.get("ghost@example.com").isEmpty());
+        verify(userRepository, times(2)).findByEmail("ghost@example.com");
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.exoExplorer.security;
+
+import com.example.exoExplorer.services.TokenService;
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routing of anonymous catalog reads carrying a bearer token. Both chains are driven
+ * directly with mock requests, without a servlet container.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PublicCatalogFilterChainTest {
+
+    private static final String PATH = "/api/exoplanets/summary";
+
+    private static final HttpServlet ENDPOINT = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest req, HttpServletResponse resp) {
+            resp.setStatus(200);
+        }
+    };
+
+    @Autowired
+    private FilterChainProxy springSecurityFilterChain;
+
+    @Autowired
+    @Qualifier("filterChain")
+    private SecurityFilterChain mainChain;
+
+    @Autowired
+    @Qualifier("publicCatalogFilterChain")
+    private SecurityFilterChain publicCatalogChain;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Test
+    void testCatalogReadsUseTheLazyChain() throws Exception {
+        List<Filter> filters = springSecurityFilterChain.getFilters(PATH);
+
+        assertEquals(publicCatalogChain.getFilters(), filters);
+        assertTrue(filters.stream().noneMatch(BearerTokenAuthenticationFilter.class::isInstance));
+
+        // A bad token is only an anonymous request on the catalog, not a 401
+        assertEquals(200, run(publicCatalogChain, "invalid.jwt.token").getStatus());
+        assertEquals(401, run(mainChain, "invalid.jwt.token").getStatus());
+    }
+
+    @Test
+    void testValidTokenPassesBothChains() throws Exception {
+        String token = tokenService.generateToken(Map.of("roles", List.of("ROLE_USER")), "chain@example.com");
+
+        assertEquals(200, run(mainChain, token).getStatus());
+        assertEquals(200, run(publicCatalogChain, token).getStatus());
+    }
+
+    private static MockHttpServletResponse run(SecurityFilterChain chain, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.setServletPath(PATH);
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(ENDPOINT, chain.getFilters().toArray(new Filter[0])).doFilter(request, response);
+        return response;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.exoExplorer.security;
+
+import com.example.exoExplorer.security.VerifiedTokenCache.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(
+            "TestSecretKeyWithAtLeast256BitsForHMACSHA256Security".getBytes(StandardCharsets.UTF_8));
+    private static final SecretKey OTHER_KEY = Keys.hmacShaKeyFor(
+            "AnotherSecretKeyWithAtLeast256BitsForHMACSHA256Tests".getBytes(StandardCharsets.UTF_8));
+
+    private static final long SKEW_SECONDS = 60;
+
+    private final AtomicLong clock = new AtomicLong(System.currentTimeMillis());
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(
+            Jwts.parserBuilder().setSigningKey(KEY).setAllowedClockSkewSeconds(SKEW_SECONDS).build(),
+            Duration.ofSeconds(SKEW_SECONDS), 3, clock::get);
+
+    @Test
+    void testRepeatedTokenIsServedFromCache() {
+        String token = token("a@example.com", KEY, 60_000);
+
+        VerifiedToken first = cache.verify(token);
+        VerifiedToken second = cache.verify(token);
+
+        assertSame(first, second);
+        assertEquals("a@example.com", first.claims().getSubject());
+        assertEquals("a@example.com", first.jwt().getSubject());
+        assertEquals(List.of("ROLE_USER"), first.jwt().getClaimAsStringList("roles"));
+        assertNotNull(first.jwt().getExpiresAt());
+    }
+
+    @Test
+    void testCachedTokenExpiresWithItsExpClaim() {
+        String token = token("a@example.com", KEY, 60_000);
+        cache.verify(token);
+
+        clock.addAndGet(121_000);
+
+        // The real clock has not moved, so the parser accepts it again and re-caches
+        assertNotNull(cache.verify(token));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testInvalidTokensAreNeverCached() {
+        assertThrows(JwtException.class, () -> cache.verify(token("a@example.com", OTHER_KEY, 60_000)));
+        assertThrows(ExpiredJwtException.class, () -> cache.verify(token("a@example.com", KEY, -90_000)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testClockSkewIsTolerated() {
+        long now = System.currentTimeMillis();
+        String justExpired = Jwts.builder()
+                .setSubject("a@example.com")
+                .setIssuedAt(new Date(now - 10 * 60_000))
+                .setExpiration(new Date(now - 30_000))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+
+        VerifiedToken verified = cache.verify(justExpired);
+        assertEquals("a@example.com", verified.claims().getSubject());
+
+        clock.addAndGet(20_000);
+        assertSame(verified, cache.verify(justExpired), "Still within the skew");
+    }
+
+    @Test
+    void testTokenIsRejectedBeforeNotBefore() {
+        long now = System.currentTimeMillis();
+        String premature = Jwts.builder()
+                .setSubject("a@example.com")
+                .setNotBefore(new Date(now + 5 * 60_000))
+                .setExpiration(new Date(now + 10 * 60_000))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+        String withinSkew = Jwts.builder()
+                .setSubject("a@example.com")
+                .setNotBefore(new Date(now + 30_000))
+                .setExpiration(new Date(now + 10 * 60_000))
+                .signWith(KEY, SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThrows(PrematureJwtException.class, () -> cache.verify(premature));
+        assertNotNull(cache.verify(withinSkew).jwt().getNotBefore());
+    }
+
+    @Test
+    void testCachedClaimsAreReadOnly() {
+        Claims claims = cache.verify(token("a@example.com", KEY, 60_000)).claims();
+
+        assertThrows(UnsupportedOperationException.class, () -> claims.setSubject("b@example.com"));
+        assertThrows(UnsupportedOperationException.class, () -> claims.put("roles", List.of("ROLE_ADMIN")));
+        assertThrows(UnsupportedOperationException.class, () -> claims.get("roles", List.class).add("ROLE_ADMIN"));
+        assertEquals(List.of("ROLE_USER"), claims.get("roles"));
+    }
+
+    @Test
+    void testCacheIsBounded() {
+        for (int i = 0; i < 10; i++) {
+            cache.verify(token("user" + i + "@example.com", KEY, 60_000));
+        }
+        assertTrue(cache.size() <= 3);
+    }
+
+    private static String token(String subject, SecretKey key, long ttlMillis) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(Map.of("roles", List.of("ROLE_USER")))
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
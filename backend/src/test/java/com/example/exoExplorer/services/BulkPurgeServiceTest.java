@@ -0,0 +1,145 @@
+package com.example.exoExplorer.services;
+
+import com.example.exoExplorer.analytics.TrendingExoplanets;
+import com.example.exoExplorer.analytics.TrendingWindow;
+import com.example.exoExplorer.analytics.UserAnalytics;
+import com.example.exoExplorer.builder.ExoplanetBuilder;
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.entities.TwoFactorBackupCode;
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.exceptions.InvalidOtpException;
+import com.example.exoExplorer.otp.OtpStore;
+import com.example.exoExplorer.recommendation.FavoriteCooccurrence;
+import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import com.example.exoExplorer.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "exoplanet.purge.chunk-size=7")
+@ActiveProfiles("test")
+class BulkPurgeServiceTest {
+
+    @Autowired
+    private BulkPurgeService bulkPurgeService;
+
+    @Autowired
+    private ExoplaneteRepository exoplanetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OtpStore otpStore;
+
+    @Autowired
+    private UserAnalytics userAnalytics;
+
+    @Autowired
+    private TrendingExoplanets trendingExoplanets;
+
+    @Autowired
+    private FavoriteCooccurrence favoriteCooccurrence;
+
+    @BeforeEach
+    void setUp() {
+        List<Exoplanet> exoplanets = new ArrayList<>();
+        IntStream.range(0, 40).forEach(i -> exoplanets.add(new ExoplanetBuilder()
+                .withName("Purge-" + i)
+                .withTemperature(250f)
+                .build()));
+        exoplanetRepository.saveAll(exoplanets);
+
+        User user = new User();
+        user.setEmail("purge@example.com");
+        user.setPassword("hashedpassword");
+        user.getFavorites().addAll(exoplanets.subList(0, 5));
+        user.getBackupCodes().add(new TwoFactorBackupCode(null, "codehash", false, user));
+        userRepository.save(user);
+
+        cacheManager.getCache("exoplanetSummaries").put("all", List.of());
+        cacheManager.getCache("userFavorites").put("purge@example.com", List.of());
+    }
+
+    @Test
+    void testPurgeExoplanetsRemovesFavoritesAndKeepsUsers() {
+        long deleted = bulkPurgeService.purgeExoplanets();
+
+        assertTrue(deleted >= 40);
+        assertEquals(0, count("exoplanet"));
+        assertEquals(0, count("user_favorites"));
+        assertEquals(1, count("two_factor_backup_code"));
+        assertTrue(userRepository.findByEmail("purge@example.com").isPresent());
+        assertNull(cacheManager.getCache("exoplanetSummaries").get("all"));
+        assertNull(cacheManager.getCache("userFavorites").get("purge@example.com"));
+
+        bulkPurgeService.purgeAll();
+    }
+
+    @Test
+    void testPurgeAllEmptiesEveryTable() {
+        bulkPurgeService.purgeAll();
+
+        assertEquals(0, count("exoplanet"));
+        assertEquals(0, count("users"));
+        assertEquals(0, count("user_favorites"));
+        assertEquals(0, count("two_factor_backup_code"));
+        assertNull(cacheManager.getCache("exoplanetSummaries").get("all"));
+    }
+
+    @Test
+    void testPurgeAllDiscardsPendingWork() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO mail_outbox (id, recipient, subject, body, html, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                "mail-1", "purge@example.com", "Sujet", "Corps", false, now);
+        jdbcTemplate.update("INSERT INTO user_action_outbox (id, event, user_id, exoplanet_id, created_at) VALUES (?, ?, ?, ?, ?)",
+                "event-1", "USER_LOGGED_IN", -1L, null, now);
+        otpStore.put("purge@example.com", "123456", Duration.ofMinutes(5));
+
+        bulkPurgeService.purgeAll();
+
+        assertEquals(0, count("mail_outbox"));
+        assertEquals(0, count("user_action_outbox"));
+        assertThrows(InvalidOtpException.class, () -> otpStore.verify("purge@example.com", "123456"));
+    }
+
+    @Test
+    void testPurgeResetsAggregatesKeyedByExoplanet() {
+        userAnalytics.recordFavorite(4242, true);
+        trendingExoplanets.recordView(4242);
+        favoriteCooccurrence.favoriteAdded(-1, 4242);
+        favoriteCooccurrence.favoriteAdded(-1, 4243);
+        assertFalse(favoriteCooccurrence.alsoFavorited(4242, 10).isEmpty());
+
+        bulkPurgeService.purgeExoplanets();
+
+        assertEquals(0, userAnalytics.favorites(4242).added());
+        assertTrue(trendingExoplanets.top(TrendingWindow.HOUR, 10).isEmpty());
+        assertTrue(favoriteCooccurrence.alsoFavorited(4242, 10).isEmpty());
+
+        bulkPurgeService.purgeAll();
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+}
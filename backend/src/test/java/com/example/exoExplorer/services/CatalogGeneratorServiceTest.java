@@ -0,0 +1,92 @@
+package com.example.exoExplorer.services;
+
+import com.example.exoExplorer.dto.CatalogGenerationReport;
+import com.example.exoExplorer.entities.Exoplanet;
+import com.example.exoExplorer.exceptions.InvalidRequestException;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory;
+import com.example.exoExplorer.factory.SyntheticExoplanetFactory.Distribution;
+import com.example.exoExplorer.repositories.ExoplaneteRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "exoplanet.generator.chunk-size=700",
+        "exoplanet.generator.batch-size=100"
+})
+@ActiveProfiles("test")
+class CatalogGeneratorServiceTest {
+
+    @Autowired
+    private CatalogGeneratorService generatorService;
+
+    @Autowired
+    private ExoplaneteRepository exoplanetRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        jdbcTemplate.update("DELETE FROM exoplanet WHERE name LIKE 'Synth-%'");
+    }
+
+    @Test
+    void testGenerateInsertsRequestedRowsAcrossChunks() {
+        CatalogGenerationReport report = generatorService.generate(2500, Distribution.REALISTIC, 7L, 2);
+
+        assertEquals(2500, report.getRows());
+        assertEquals(2500, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM exoplanet WHERE name LIKE 'Synth-7-%'", Integer.class));
+        assertTrue(report.getRowsPerSecond() > 0);
+    }
+
+    @Test
+    void testGeneratedRowsMatchFactoryOutput() {
+        generatorService.generate(1000, Distribution.UNIFORM, 11L, 3);
+
+        Exoplanet expected = SyntheticExoplanetFactory.create(Distribution.UNIFORM, 11L, 842);
+        Exoplanet stored = exoplanetRepository.findByNameIgnoreCase("Synth-11-842").orElseThrow();
+
+        assertEquals(expected.getTemperature(), stored.getTemperature());
+        assertEquals(expected.getImageExo(), stored.getImageExo());
+        assertEquals(expected.getYearDiscovered(), stored.getYearDiscovered());
+    }
+
+    @Test
+    void testFactoryIsDeterministic() {
+        for (Distribution distribution : Distribution.values()) {
+            Exoplanet first = SyntheticExoplanetFactory.create(distribution, 3L, 12345);
+            Exoplanet second = SyntheticExoplanetFactory.create(distribution, 3L, 12345);
+
+            assertEquals(first.getName(), second.getName());
+            assertEquals(first.getDistance(), second.getDistance());
+            assertEquals(first.getRadius(), second.getRadius());
+            assertEquals(first.getImageExo(), second.getImageExo());
+        }
+    }
+
+    @Test
+    void testRejectsOutOfRangeCount() {
+        assertThrows(InvalidRequestException.class,
+                () -> generatorService.generate(0, Distribution.UNIFORM, 1L, 1));
+        assertThrows(InvalidRequestException.class,
+                () -> generatorService.generate(CatalogGeneratorService.MAX_ROWS + 1, Distribution.UNIFORM, 1L, 1));
+    }
+
+    @Test
+    void testRejectsParallelismBeyondHalfThePool() {
+        int max = generatorService.maxParallelism();
+
+        assertEquals(5, max);
+        assertThrows(InvalidRequestException.class,
+                () -> generatorService.generate(10, Distribution.UNIFORM, 1L, 0));
+        assertThrows(InvalidRequestException.class,
+                () -> generatorService.generate(10, Distribution.UNIFORM, 1L, max + 1));
+    }
+}
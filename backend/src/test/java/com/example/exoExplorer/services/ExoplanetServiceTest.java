@@ -3,6 +3,8 @@ package com.example.exoExplorer.services;
 import com.example.exoExplorer.entities.Exoplanet;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
 import com.example.exoExplorer.services.ExternalExoplanetClient.ExoplanetDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -23,6 +25,9 @@ class ExoplanetServiceTest {
     @Mock
     private ExoplanetImageService imageService;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private ExoplanetService exoplanetService;
 
@@ -100,6 +105,32 @@ class ExoplanetServiceTest {
         assertEquals(280.0f, savedExoplanet.getTemperature(), 0.001);
     }
 
+    @Test
+    void testRefreshExoplanetData_countsRowsByResult() {
+        // GIVEN
+        Exoplanet existing = new Exoplanet();
+        existing.setName("Kepler-22b");
+        ExoplanetDTO known = new ExoplanetDTO();
+        known.setPlName("Kepler-22b");
+        ExoplanetDTO fresh = new ExoplanetDTO();
+        fresh.setPlName("TRAPPIST-1e");
+        ExoplanetDTO broken = new ExoplanetDTO();
+        broken.setPlName("Broken-1b");
+
+        when(externalClient.fetchExoplanetData()).thenReturn(List.of(known, fresh, broken));
+        when(exoplanetRepository.findByNameIgnoreCase("Kepler-22b")).thenReturn(Optional.of(existing));
+        when(exoplanetRepository.findByNameIgnoreCase("TRAPPIST-1e")).thenReturn(Optional.empty());
+        when(exoplanetRepository.findByNameIgnoreCase("Broken-1b")).thenThrow(new IllegalStateException("boom"));
+
+        // WHEN
+        exoplanetService.refreshExoplanetData();
+
+        // THEN
+        assertEquals(1, meterRegistry.get("exoplanet.refresh.rows").tag("result", "updated").counter().count());
+        assertEquals(1, meterRegistry.get("exoplanet.refresh.rows").tag("result", "inserted").counter().count());
+        assertEquals(1, meterRegistry.get("exoplanet.refresh.rows").tag("result", "failed").counter().count());
+    }
+
     @Test
     void testGetExoplanetById_Found() {
         // GIVEN
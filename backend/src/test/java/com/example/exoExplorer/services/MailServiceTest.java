@@ -1,7 +1,8 @@
 package com.example.exoExplorer.services;
 
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
+import com.example.exoExplorer.mail.EmailTemplates;
+import com.example.exoExplorer.mail.MailOutbox;
+import com.example.exoExplorer.mail.OutboundMail;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,32 +10,28 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.util.ReflectionTestUtils;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class MailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutbox mailOutbox;
 
     @Mock
-    private TemplateEngine templateEngine;
+    private EmailTemplates emailTemplates;
 
     @InjectMocks
     private MailService mailService;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(mailService, "mailSender", mailSender);
-        ReflectionTestUtils.setField(mailService, "templateEngine", templateEngine);
+        ReflectionTestUtils.setField(mailService, "mailOutbox", mailOutbox);
+        ReflectionTestUtils.setField(mailService, "emailTemplates", emailTemplates);
     }
 
     @Test
@@ -48,13 +45,14 @@ class MailServiceTest {
         mailService.sendEmail(to, subject, content);
 
         // Then
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-
-        SimpleMailMessage capturedMessage = messageCaptor.getValue();
-        assertEquals(to, capturedMessage.getTo()[0]);
-        assertEquals(subject, capturedMessage.getSubject());
-        assertEquals(content, capturedMessage.getText());
+        ArgumentCaptor<OutboundMail> messageCaptor = ArgumentCaptor.forClass(OutboundMail.class);
+        verify(mailOutbox).enqueue(messageCaptor.capture());
+
+        OutboundMail capturedMessage = messageCaptor.getValue();
+        assertEquals(to, capturedMessage.to());
+        assertEquals(subject, capturedMessage.subject());
+        assertEquals(content, capturedMessage.body());
+        assertFalse(capturedMessage.html());
     }
 
     @Test
@@ -64,46 +62,42 @@ class MailServiceTest {
         String otp = "123456";
         String processedTemplate = "<html><body>OTP: 123456</body></html>";
 
-        // Mock the template engine
-        when(templateEngine.process(eq("otp-email"), any(Context.class))).thenReturn(processedTemplate);
-
-        // Mock the MimeMessage
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        // Mock the template renderer
+        when(emailTemplates.render(eq("otp-email"), anyMap())).thenReturn(processedTemplate);
 
         // When
         mailService.sendOtpEmail(to, otp);
 
         // Then
-        verify(templateEngine).process(eq("otp-email"), any(Context.class));
-        verify(mailSender).send(eq(mimeMessage));
+        verify(emailTemplates).render(eq("otp-email"), anyMap());
+        ArgumentCaptor<OutboundMail> messageCaptor = ArgumentCaptor.forClass(OutboundMail.class);
+        verify(mailOutbox).enqueue(messageCaptor.capture());
+        assertTrue(messageCaptor.getValue().html());
+        assertEquals(processedTemplate, messageCaptor.getValue().body());
     }
 
     @Test
-    void testSendOtpEmail_withThymeleafButExceptionThrown() throws MessagingException {
+    void testSendOtpEmail_withThymeleafButExceptionThrown() {
         // Given
         String to = "test@example.com";
         String otp = "123456";
-        String processedTemplate = "<html><body>OTP: 123456</body></html>";
-
-        // Mock the template engine
-        when(templateEngine.process(eq("otp-email"), any(Context.class))).thenReturn(processedTemplate);
 
-        // Force an exception when creating the MimeMessage
-        when(mailSender.createMimeMessage()).thenThrow(new RuntimeException("Test exception"));
+        // Force an exception when rendering the template
+        when(emailTemplates.render(eq("otp-email"), anyMap())).thenThrow(new RuntimeException("Test exception"));
 
         // When
         mailService.sendOtpEmail(to, otp);
 
         // Then
         // Should fall back to simple email
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-
-        SimpleMailMessage capturedMessage = messageCaptor.getValue();
-        assertEquals(to, capturedMessage.getTo()[0]);
-        assertEquals("Votre code OTP", capturedMessage.getSubject());
-        assertTrue(capturedMessage.getText().contains(otp));
+        ArgumentCaptor<OutboundMail> messageCaptor = ArgumentCaptor.forClass(OutboundMail.class);
+        verify(mailOutbox).enqueue(messageCaptor.capture());
+
+        OutboundMail capturedMessage = messageCaptor.getValue();
+        assertEquals(to, capturedMessage.to());
+        assertEquals("Votre code OTP", capturedMessage.subject());
+        assertTrue(capturedMessage.body().contains(otp));
+        assertFalse(capturedMessage.html());
     }
 
     @Test
@@ -112,38 +106,38 @@ class MailServiceTest {
         String to = "test@example.com";
         String otp = "123456";
 
-        // Remove the Thymeleaf template engine
-        ReflectionTestUtils.setField(mailService, "templateEngine", null);
+        // Remove the template renderer
+        ReflectionTestUtils.setField(mailService, "emailTemplates", null);
 
         // When
         mailService.sendOtpEmail(to, otp);
 
         // Then
         // Should use simple email
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender).send(messageCaptor.capture());
-
-        SimpleMailMessage capturedMessage = messageCaptor.getValue();
-        assertEquals(to, capturedMessage.getTo()[0]);
-        assertEquals("Votre code OTP", capturedMessage.getSubject());
-        assertTrue(capturedMessage.getText().contains(otp));
+        ArgumentCaptor<OutboundMail> messageCaptor = ArgumentCaptor.forClass(OutboundMail.class);
+        verify(mailOutbox).enqueue(messageCaptor.capture());
+
+        OutboundMail capturedMessage = messageCaptor.getValue();
+        assertEquals(to, capturedMessage.to());
+        assertEquals("Votre code OTP", capturedMessage.subject());
+        assertTrue(capturedMessage.body().contains(otp));
+        assertFalse(capturedMessage.html());
     }
 
     @Test
-    void testSendHtmlEmail() throws MessagingException {
+    void testSendHtmlEmail() {
         // Given
         String to = "test@example.com";
         String subject = "HTML Email";
         String htmlContent = "<h1>Test</h1>";
 
-        // Mock MimeMessage
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-
         // When
         mailService.sendHtmlEmail(to, subject, htmlContent);
 
         // Then
-        verify(mailSender).send(mimeMessage);
+        ArgumentCaptor<OutboundMail> messageCaptor = ArgumentCaptor.forClass(OutboundMail.class);
+        verify(mailOutbox).enqueue(messageCaptor.capture());
+        assertTrue(messageCaptor.getValue().html());
+        assertEquals(htmlContent, messageCaptor.getValue().body());
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.exoExplorer.services;
+
+import com.example.exoExplorer.exceptions.GenericExceptionHandler;
+import com.example.exoExplorer.exceptions.HashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PasswordHashingService hashingService = new PasswordHashingService(1, 1, 10_000, 2, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        hashingService.shutdown();
+    }
+
+    @Test
+    void testHashAndMatch() {
+        String hash = hashingService.hash("secret");
+
+        assertTrue(hashingService.matches("secret", hash));
+        assertFalse(hashingService.matches("other", hash));
+        assertEquals(3, meterRegistry.get("auth.hashing.duration").timer().count());
+    }
+
+    @Test
+    void testHashAllKeepsOrder() {
+        PasswordHashingService pool = new PasswordHashingService(3, 4, 10_000, 1, new SimpleMeterRegistry());
+        try {
+            List<String> plains = List.of("a", "b", "c", "d", "e", "f", "g");
+            List<String> hashes = pool.hashAll(plains, Duration.ofSeconds(30));
+
+            assertEquals(plains.size(), hashes.size());
+            for (int i = 0; i < plains.size(); i++) {
+                assertTrue(pool.matches(plains.get(i), hashes.get(i)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testHashAllHonorsDeadline() {
+        HashingOverloadedException exception = assertThrows(HashingOverloadedException.class,
+                () -> hashingService.hashAll(List.of("a", "b", "c", "d"), Duration.ofMillis(1)));
+        assertEquals(2, exception.getRetryAfterSeconds());
+    }
+
+    @Test
+    void testSaturatedPoolRejectsInsteadOfQueueing() throws Exception {
+        int callers = 8;
+        ExecutorService clients = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(clients.submit(() -> {
+                    start.await();
+                    return hashingService.hash("secret");
+                }));
+            }
+            start.countDown();
+
+            int rejected = 0;
+            for (Future<String> result : results) {
+                try {
+                    assertNotNull(result.get());
+                } catch (ExecutionException e) {
+                    HashingOverloadedException overloaded = assertInstanceOf(HashingOverloadedException.class, e.getCause());
+                    assertEquals(2, overloaded.getRetryAfterSeconds());
+                    rejected++;
+                }
+            }
+            // One running and one queued at most while the others arrive
+            assertTrue(rejected > 0, "Expected some requests to be shed");
+            assertEquals(rejected, meterRegistry.get("auth.hashing.rejected").counter().count());
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void testOverloadMapsTo503WithRetryAfter() {
+        ResponseEntity<Map<String, Object>> response = new GenericExceptionHandler()
+                .handleHashingOverloaded(new HashingOverloadedException("surchargé", 3));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("surchargé", response.getBody().get("message"));
+    }
+}
@@ -8,10 +8,13 @@ import com.example.exoExplorer.exceptions.UserAlreadyExistsException;
 import com.example.exoExplorer.exceptions.UserNotFoundException;
 import com.example.exoExplorer.factory.UserFactory;
 import com.example.exoExplorer.observer.UserActionSubject;
+import com.example.exoExplorer.otp.OtpStore;
 import com.example.exoExplorer.repositories.ExoplaneteRepository;
 import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.security.PrincipalCache;
 import com.example.exoExplorer.strategy.OtpStrategyFactory;
 import com.example.exoExplorer.strategy.OtpVerificationStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -49,6 +52,16 @@ class UserServiceTest {
     @Mock
     private UserActionSubject userActionSubject;
 
+    @Mock
+    private OtpStore otpStore;
+
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Spy
+    private PasswordHashingService passwordHashingService =
+            new PasswordHashingService(1, 8, 5000, 1, new SimpleMeterRegistry());
+
     @InjectMocks
     private UserService userService;
 
@@ -115,13 +128,14 @@ class UserServiceTest {
 
         // Assert
         verify(userRepository).findByEmail("test@example.com");
-        verify(userRepository).save(user);
+        verify(userRepository, never()).save(any(User.class));
         verify(mailService).sendOtpEmail(eq("test@example.com"), otpCaptor.capture());
         verify(userActionSubject).notifyObservers(any(), eq(user), isNull());
 
         String otp = otpCaptor.getValue();
         assertNotNull(otp);
         assertTrue(otp.length() == 6);
+        verify(otpStore).put(eq("test@example.com"), eq(otp), any());
     }
 
     @Test
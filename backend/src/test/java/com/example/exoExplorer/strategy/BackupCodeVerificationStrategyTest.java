@@ -0,0 +1,111 @@
+package com.example.exoExplorer.strategy;
+
+import com.example.exoExplorer.entities.TwoFactorBackupCode;
+import com.example.exoExplorer.entities.User;
+import com.example.exoExplorer.exceptions.InvalidOtpException;
+import com.example.exoExplorer.otp.BackupCodeTagger;
+import com.example.exoExplorer.repositories.TwoFactorBackupCodeRepository;
+import com.example.exoExplorer.repositories.UserRepository;
+import com.example.exoExplorer.services.PasswordHashingService;
+import com.example.exoExplorer.services.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mindrot.jbcrypt.BCrypt;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class BackupCodeVerificationStrategyTest {
+
+    private static final String EMAIL = "backup@example.com";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TwoFactorBackupCodeRepository backupCodeRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setPassword("hashedpassword");
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void cleanup() {
+        userRepository.findByEmail(EMAIL).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void testGeneratedCodesAreTaggedAndSingleUse() {
+        List<String> codes = userService.generateBackupCodes(EMAIL, 10);
+        Long userId = userRepository.findByEmail(EMAIL).orElseThrow().getId();
+
+        List<TwoFactorBackupCode> stored = backupCodeRepository.findByUserId(userId);
+        assertEquals(10, stored.size());
+        assertTrue(stored.stream().allMatch(code -> code.getLookupTag() != null && code.getLookupTag().length() == 16));
+
+        assertTrue(userService.verifyBackupCode(EMAIL, codes.get(7)));
+        assertFalse(userService.verifyBackupCode(EMAIL, codes.get(7)));
+        assertFalse(userService.verifyBackupCode(EMAIL, "00000000"));
+        assertTrue(userService.verifyBackupCode(EMAIL, codes.get(2)));
+    }
+
+    @Test
+    void testUntaggedLegacyCodeIsStillAccepted() {
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+        backupCodeRepository.save(new TwoFactorBackupCode(null, BCrypt.hashpw("12345678", BCrypt.gensalt(4)), false, user));
+
+        assertTrue(userService.verifyBackupCode(EMAIL, "12345678"));
+        assertFalse(userService.verifyBackupCode(EMAIL, "12345678"));
+    }
+
+    @Test
+    void testUsersMayHoldSeveralUntaggedCodes() {
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+        backupCodeRepository.save(new TwoFactorBackupCode(null, BCrypt.hashpw("12345678", BCrypt.gensalt(4)), false, user));
+        backupCodeRepository.save(new TwoFactorBackupCode(null, BCrypt.hashpw("87654321", BCrypt.gensalt(4)), false, user));
+
+        assertEquals(2, backupCodeRepository.findUnusedUntaggedByUserId(user.getId()).size());
+        assertTrue(userService.verifyBackupCode(EMAIL, "87654321"));
+    }
+
+    @Test
+    void testUntaggedCodeIsRejectedAfterEndDate() {
+        User user = userRepository.findByEmail(EMAIL).orElseThrow();
+        backupCodeRepository.save(new TwoFactorBackupCode(null, BCrypt.hashpw("12345678", BCrypt.gensalt(4)), false, user));
+
+        BackupCodeTagger expired = new BackupCodeTagger("TestSecretKeyWithAtLeast256BitsForHMACSHA256",
+                LocalDate.now().minusDays(1), Clock.systemDefaultZone());
+        BackupCodeVerificationStrategy strategy =
+                new BackupCodeVerificationStrategy(backupCodeRepository, expired, passwordHashingService);
+
+        assertFalse(expired.acceptsUntagged());
+        assertThrows(InvalidOtpException.class, () -> strategy.verify(user, "12345678"));
+        // Rejected, not deleted
+        assertEquals(1, backupCodeRepository.findUnusedUntaggedByUserId(user.getId()).size());
+    }
+
+    @Test
+    void testTaggerRequiresADedicatedSecret() {
+        assertThrows(IllegalStateException.class,
+                () -> new BackupCodeTagger(" ", LocalDate.MAX, Clock.systemDefaultZone()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.exoExplorer.test;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of bytes a call measured by the test may allocate, on average.
+ * <p>
+ * The test takes an {@link AllocationBudgetExtension.Meter} parameter and passes it the call to
+ * measure. Budgets are scaled by the {@code allocation.budget.factor} system property, 1 by
+ * default, for JVMs whose allocation differs from the one the budgets were set on.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(AllocationBudgetExtension.class)
+public @interface AllocationBudget {
+
+    /**
+     * @return Budget per call, in bytes
+     */
+    long bytes();
+
+    /**
+     * @return Calls made before measuring, so that lazy initialization and JIT compilation are over
+     */
+    int warmup() default 500;
+
+    /**
+     * @return Calls measured, whose allocations are averaged
+     */
+    int iterations() default 200;
+}
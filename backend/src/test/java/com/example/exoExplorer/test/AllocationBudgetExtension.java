@@ -0,0 +1,80 @@
+package com.example.exoExplorer.test;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the bytes allocated by a call on the test thread, with
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}, and fails the test
+ * when they exceed its {@link AllocationBudget}. Tests are skipped on JVMs that cannot count
+ * allocations per thread.
+ */
+public class AllocationBudgetExtension implements ParameterResolver {
+    private static final double FACTOR = Double.parseDouble(System.getProperty("allocation.budget.factor", "1"));
+
+    /**
+     * Measures calls against the budget of the current test.
+     */
+    public static final class Meter {
+        private final com.sun.management.ThreadMXBean threads;
+        private final AllocationBudget budget;
+        private final long overhead;
+        private volatile Object sink;
+
+        private Meter(com.sun.management.ThreadMXBean threads, AllocationBudget budget) {
+            this.threads = threads;
+            this.budget = budget;
+            long start = threads.getCurrentThreadAllocatedBytes();
+            this.overhead = threads.getCurrentThreadAllocatedBytes() - start;
+        }
+
+        /**
+         * Measures a call and checks it against the budget.
+         *
+         * @param call The call, made {@code warmup + iterations} times
+         * @return Average bytes allocated per call
+         */
+        public long measure(ThrowingSupplier<?> call) throws Throwable {
+            for (int i = 0; i < budget.warmup(); i++) {
+                sink = call.get();
+            }
+            long start = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < budget.iterations(); i++) {
+                sink = call.get();
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - start - overhead;
+            long perCall = Math.max(0, allocated / budget.iterations());
+            long limit = (long) (budget.bytes() * FACTOR);
+            assertTrue(perCall <= limit,
+                    () -> "Allocated " + perCall + " bytes per call, over the budget of " + limit + " bytes");
+            return perCall;
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == Meter.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        AllocationBudget budget = extensionContext.getRequiredTestMethod().getAnnotation(AllocationBudget.class);
+        if (budget == null) {
+            throw new ParameterResolutionException("A Meter parameter needs an @AllocationBudget on the test method");
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "Per-thread allocation counting not supported");
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return new Meter(threads, budget);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.exoExplorer.test;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Counts the JDBC statements executed on behalf of a request, to catch N+1 queries
+ * and other query explosions in the test suite.
+ * <p>
+ * Every request is counted by {@link QueryCountingConfig}, on the thread serving it,
+ * so the statements of test fixtures and of background threads are left out. After a
+ * request, {@link #assertQueries} checks the counts of the last one. Batched statements
+ * count once per batch, and sequence increments are not counted, since the pooled id
+ * generators fetch them at varying times.
+ */
+public final class QueryCounter {
+
+    /**
+     * Statements executed during one request.
+     */
+    public static final class Counts {
+        private final AtomicInteger selects = new AtomicInteger();
+        private final AtomicInteger inserts = new AtomicInteger();
+        private final AtomicInteger updates = new AtomicInteger();
+        private final AtomicInteger deletes = new AtomicInteger();
+        private final AtomicInteger others = new AtomicInteger();
+
+        public int selects() {
+            return selects.get();
+        }
+
+        public int inserts() {
+            return inserts.get();
+        }
+
+        public int updates() {
+            return updates.get();
+        }
+
+        public int deletes() {
+            return deletes.get();
+        }
+
+        public int others() {
+            return others.get();
+        }
+
+        @Override
+        public String toString() {
+            return "select=" + selects() + ", insert=" + inserts() + ", update=" + updates()
+                    + ", delete=" + deletes() + ", other=" + others();
+        }
+    }
+
+    private static final ThreadLocal<Counts> current = new ThreadLocal<>();
+    private static volatile Counts last;
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Starts counting the statements of the current thread.
+     *
+     * @return The new counts, also returned by {@link #last()} from now on
+     */
+    public static Counts start() {
+        Counts counts = new Counts();
+        current.set(counts);
+        last = counts;
+        return counts;
+    }
+
+    /**
+     * Stops counting the statements of the current thread.
+     */
+    public static void stop() {
+        current.remove();
+    }
+
+    /**
+     * @return The counts of the last request, or null if none was served yet
+     */
+    public static Counts last() {
+        return last;
+    }
+
+    /**
+     * Checks the statements of the last request, which must not update or delete anything.
+     *
+     * @param select Expected number of selects
+     * @param insert Expected number of inserts
+     */
+    public static void assertQueries(int select, int insert) {
+        assertQueries(select, insert, 0, 0);
+    }
+
+    /**
+     * Checks every statement of the last request.
+     *
+     * @param select Expected number of selects
+     * @param insert Expected number of inserts
+     * @param update Expected number of updates
+     * @param delete Expected number of deletes
+     */
+    public static void assertQueries(int select, int insert, int update, int delete) {
+        Counts counts = last;
+        assertNotNull(counts, "No request was counted");
+        assertEquals(select, counts.selects(), () -> "Unexpected selects: " + counts);
+        assertEquals(insert, counts.inserts(), () -> "Unexpected inserts: " + counts);
+        assertEquals(update, counts.updates(), () -> "Unexpected updates: " + counts);
+        assertEquals(delete, counts.deletes(), () -> "Unexpected deletes: " + counts);
+        assertEquals(0, counts.others(), () -> "Unexpected statements: " + counts);
+    }
+
+    /**
+     * Records a statement executed by the current thread, if it is counted.
+     */
+    static void record(String sql) {
+        Counts counts = current.get();
+        if (counts == null) {
+            return;
+        }
+        String normalized = sql.stripLeading().toLowerCase(Locale.ROOT);
+        if (normalized.contains("next value for") || normalized.contains("nextval")) {
+            return;
+        }
+        if (normalized.startsWith("select") || normalized.startsWith("with")) {
+            counts.selects.incrementAndGet();
+        } else if (normalized.startsWith("insert")) {
+            counts.inserts.incrementAndGet();
+        } else if (normalized.startsWith("update")) {
+            counts.updates.incrementAndGet();
+        } else if (normalized.startsWith("delete")) {
+            counts.deletes.incrementAndGet();
+        } else {
+            counts.others.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.exoExplorer.tracing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.tracing.slow-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RequestTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TraceStore traceStore;
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testRequestTraceCoversServiceRepositoryJdbcAndSerialization() throws Exception {
+        mockMvc.perform(get("/api/exoplanets/summary").param("name", "tracing"))
+                .andExpect(status().isOk());
+
+        Trace trace = traceStore.find(0, 100).stream()
+                .filter(t -> t.spans().stream().anyMatch(s -> "/api/exoplanets/summary".equals(s.tags().get("uri"))))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Request not traced"));
+        List<String> names = trace.spans().stream().map(Span::name).toList();
+        assertTrue(names.contains("ExoplanetService#getExoplanetSummaries"), names.toString());
+        assertTrue(names.contains("cache.get"), names.toString());
+        assertTrue(names.stream().anyMatch(name -> name.startsWith("ExoplaneteRepository#")), names.toString());
+        assertTrue(names.contains("jdbc select"), names.toString());
+        assertTrue(names.contains("json.serialize"), names.toString());
+        assertNull(trace.spans().get(0).parentId());
+        assertTrue(trace.spans().stream().skip(1).allMatch(span -> span.parentId() != null));
+
+        mockMvc.perform(get("/api/admin/traces/" + trace.traceId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.traceId").value(trace.traceId()));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void testTraceListing() throws Exception {
+        mockMvc.perform(get("/api/admin/traces").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/admin/traces/unknown"))
+                .andExpect(status().isNotFound());
+    }
+}
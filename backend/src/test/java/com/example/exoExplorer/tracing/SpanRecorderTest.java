@@ -0,0 +1,117 @@
+package com.example.exoExplorer.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpanRecorderTest {
+
+    private final TraceStore store = new TraceStore(16);
+    private final OtlpTraceExporter exporter = new OtlpTraceExporter(null, new SimpleMeterRegistry(), "", "test", 1);
+
+    private SpanRecorder recorder(long slowMillis, double sampleRate, int maxSpans) {
+        return new SpanRecorder(store, exporter, new SimpleMeterRegistry(), true, slowMillis, sampleRate, maxSpans);
+    }
+
+    private static void observe(SpanRecorder recorder, String name, Runnable body) {
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(recorder);
+        Observation.createNotStarted(name, registry).observe(body);
+    }
+
+    @Test
+    void testSpansNestUnderTheCurrentObservation() {
+        SpanRecorder recorder = recorder(0, 0, 16);
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(recorder);
+
+        Observation.createNotStarted("http.server.requests", registry)
+                .contextualName("GET /api/exoplanets")
+                .lowCardinalityKeyValue("status", "200")
+                .observe(() -> {
+                    try (SpanRecorder.ActiveSpan repository = recorder.start("ExoplaneteRepository#findAll")) {
+                        recorder.start("jdbc select").tag("db.operation", "select").close();
+                    }
+                });
+
+        List<Trace> traces = store.find(0, 10);
+        assertEquals(1, traces.size());
+        Trace trace = traces.get(0);
+        assertEquals("GET /api/exoplanets", trace.name());
+        assertEquals(32, trace.traceId().length());
+        assertEquals(3, trace.spans().size());
+
+        Span root = trace.spans().get(0);
+        Span repository = trace.spans().get(1);
+        Span jdbc = trace.spans().get(2);
+        assertNull(root.parentId());
+        assertEquals("200", root.tags().get("status"));
+        assertEquals(root.spanId(), repository.parentId());
+        assertEquals(repository.spanId(), jdbc.parentId());
+        assertEquals(2, jdbc.depth());
+        assertEquals("select", jdbc.tags().get("db.operation"));
+        assertEquals(trace, store.get(trace.traceId()).orElseThrow());
+    }
+
+    @Test
+    void testFastTracesAreDiscardedAndFailedOnesKept() {
+        SpanRecorder recorder = recorder(60_000, 0, 16);
+
+        observe(recorder, "fast", () -> recorder.start("child").close());
+        assertTrue(store.find(0, 10).isEmpty());
+
+        observe(recorder, "failing", () -> {
+            try (SpanRecorder.ActiveSpan child = recorder.start("child")) {
+                child.error(new IllegalStateException("boom"));
+            }
+        });
+        Trace trace = store.find(0, 10).get(0);
+        assertTrue(trace.error());
+        assertEquals("IllegalStateException: boom", trace.spans().get(1).error());
+    }
+
+    @Test
+    void testSpansBeyondTheLimitAreCounted() {
+        SpanRecorder recorder = recorder(0, 0, 3);
+
+        observe(recorder, "root", () -> {
+            for (int i = 0; i < 5; i++) {
+                recorder.start("jdbc select").close();
+            }
+        });
+
+        Trace trace = store.find(0, 10).get(0);
+        assertEquals(3, trace.spans().size());
+        assertEquals(3, trace.droppedSpans());
+    }
+
+    @Test
+    void testSpansOutsideAnObservationAreNotRecorded() {
+        SpanRecorder recorder = recorder(0, 1, 16);
+
+        try (SpanRecorder.ActiveSpan relay = recorder.start("UserRepository#findAllById")) {
+            recorder.start("jdbc select").tag("db.operation", "select").close();
+        }
+
+        assertTrue(store.find(0, 10).isEmpty());
+    }
+
+    @Test
+    void testOtlpRequestCarriesTheSpans() {
+        SpanRecorder recorder = recorder(0, 0, 16);
+        observe(recorder, "GET /api/exoplanets", () -> recorder.start("jdbc select").close());
+        Trace trace = store.find(0, 10).get(0);
+
+        String json = exporter.toOtlp(trace).toString();
+
+        assertTrue(json.contains("service.name"));
+        assertTrue(json.contains("traceId=" + trace.traceId()));
+        assertTrue(json.contains("parentSpanId=" + trace.spans().get(0).spanId()));
+        assertTrue(json.contains("kind=3"));
+    }
+}